@@ -0,0 +1,77 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mathworks.codegen.MATLABGenerator;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Benchmarks the generation of the code for a synthetic spec end to end, like
+ * a build with the MATLAB builder: parsing the spec, processing the models and
+ * operations and writing all files, with and without rendering and writing
+ * the files in parallel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GenerationBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int schemas;
+
+    @Param({ "matlab-client", "matlab-server" })
+    public String generator;
+
+    @Param({ "false", "true" })
+    public boolean parallelRendering;
+
+    private Pipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        pipeline = Pipeline.of(schemas, "generation-" + generator);
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() throws IOException {
+        // Do not benefit from files which are already up to date
+        pipeline.clean();
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        try {
+            // Serial rendering does not require MATLABGenerator, such that
+            // the benchmark also runs against earlier versions of the codegen
+            DefaultGenerator defaultGenerator = parallelRendering ? new MATLABGenerator() : new DefaultGenerator();
+            return defaultGenerator.opts(pipeline.configurator(generator,
+                    Collections.<String, Object>singletonMap("ParallelRendering", parallelRendering))
+                    .toClientOptInput()).generate();
+        } finally {
+            GlobalSettings.reset();
+        }
+    }
+}
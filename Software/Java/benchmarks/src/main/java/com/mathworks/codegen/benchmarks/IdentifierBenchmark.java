@@ -0,0 +1,154 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mathworks.codegen.MATLABClientCodegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Sanitizes all names of a synthetic spec with the identifier hooks:
+ * toModelName for the schema names, toVarName and toParamName for the property
+ * names, toOperationId for the operationIds and toApiName for the tags.
+ *
+ * cold uses a new codegen instance for every invocation, such that every name
+ * is sanitized for the first time, like during a generation. warm reuses the
+ * codegen instance, such that the names are looked up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentifierBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Names {
+        @Param({ "100", "1000", "10000" })
+        public int schemas;
+
+        @Param({ "toModelName", "toVarName", "toParamName", "toOperationId", "toApiName" })
+        public String hook;
+
+        List<String> names;
+
+        @Setup(Level.Trial)
+        public void prepare() throws IOException {
+            OpenAPI openAPI = Pipeline.of(schemas, "identifiers").openAPI();
+            Set<String> names = new LinkedHashSet<String>();
+            switch (hook) {
+            case "toModelName":
+                names.addAll(openAPI.getComponents().getSchemas().keySet());
+                break;
+            case "toVarName":
+            case "toParamName":
+                for (Schema<?> schema : openAPI.getComponents().getSchemas().values()) {
+                    addPropertyNames(schema, names);
+                }
+                break;
+            default:
+                for (PathItem path : openAPI.getPaths().values()) {
+                    for (Operation operation : path.readOperations()) {
+                        if ("toOperationId".equals(hook)) {
+                            names.add(operation.getOperationId());
+                        } else {
+                            names.addAll(operation.getTags());
+                        }
+                    }
+                }
+            }
+            this.names = new ArrayList<String>(names);
+        }
+
+        private static void addPropertyNames(Schema<?> schema, Set<String> names) {
+            if (schema.getProperties() != null) {
+                names.addAll(schema.getProperties().keySet());
+            }
+            if (schema.getAllOf() != null) {
+                for (Schema<?> part : schema.getAllOf()) {
+                    addPropertyNames(part, names);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCodegen {
+        MATLABClientCodegen codegen;
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            codegen = new MATLABClientCodegen();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WarmCodegen {
+        MATLABClientCodegen codegen;
+
+        @Setup(Level.Trial)
+        public void prepare(Names names) {
+            codegen = new MATLABClientCodegen();
+            sanitize(codegen, names, null);
+        }
+    }
+
+    @Benchmark
+    public void cold(Names names, ColdCodegen state, Blackhole blackhole) {
+        sanitize(state.codegen, names, blackhole);
+    }
+
+    @Benchmark
+    public void warm(Names names, WarmCodegen state, Blackhole blackhole) {
+        sanitize(state.codegen, names, blackhole);
+    }
+
+    static void sanitize(MATLABClientCodegen codegen, Names names, Blackhole blackhole) {
+        for (String name : names.names) {
+            String sanitized;
+            switch (names.hook) {
+            case "toModelName":
+                sanitized = codegen.toModelName(name);
+                break;
+            case "toVarName":
+                sanitized = codegen.toVarName(name);
+                break;
+            case "toParamName":
+                sanitized = codegen.toParamName(name);
+                break;
+            case "toOperationId":
+                sanitized = codegen.toOperationId(name);
+                break;
+            default:
+                sanitized = codegen.toApiName(name);
+            }
+            if (blackhole != null) {
+                blackhole.consume(sanitized);
+            }
+        }
+    }
+}
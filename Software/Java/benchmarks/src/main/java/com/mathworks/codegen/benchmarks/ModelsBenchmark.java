@@ -0,0 +1,65 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.model.ModelsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Benchmarks postProcessAllModels, which synthesizes the inline enums and
+ * marks oneOf primitives, with the models of a synthetic spec. The models are
+ * processed again for every invocation, as postProcessAllModels modifies them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ModelsBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int schemas;
+
+    @Param({ "matlab-client", "matlab-server" })
+    public String generator;
+
+    @Param({ "false", "true" })
+    public boolean parallelModelProcessing;
+
+    private Pipeline pipeline;
+
+    private Pipeline.Captured captured;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        pipeline = Pipeline.of(schemas, "models");
+    }
+
+    @Setup(Level.Invocation)
+    public void capture() {
+        captured = pipeline.capture(generator, Pipeline.Stage.MODELS,
+                Collections.<String, Object>singletonMap("ParallelModelProcessing", parallelModelProcessing));
+    }
+
+    @Benchmark
+    public Map<String, ModelsMap> postProcessAllModels() {
+        return captured.codegen.postProcessAllModels(captured.models);
+    }
+}
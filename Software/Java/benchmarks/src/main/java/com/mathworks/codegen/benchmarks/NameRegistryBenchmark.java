@@ -0,0 +1,65 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mathworks.codegen.MATLABClientCodegen;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Sanitizes many distinct model names which are longer than 63 characters
+ * with toModelName, such that every name is added to the registry of
+ * truncated names. Every invocation uses a new codegen instance and hence
+ * starts with an empty registry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameRegistryBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int names;
+
+    private List<String> longNames;
+
+    private MATLABClientCodegen codegen;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        longNames = new ArrayList<String>(names);
+        for (int i = 0; i < names; i++) {
+            longNames.add(String.format("Schema%06dWithAVeryLongGeneratedNameAsFoundInLargeSpecsResponseBody", i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        codegen = new MATLABClientCodegen();
+    }
+
+    @Benchmark
+    public void toModelName(Blackhole blackhole) {
+        for (String name : longNames) {
+            blackhole.consume(codegen.toModelName(name));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.model.OperationsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Benchmarks postProcessOperationsWithModels for all tags of a synthetic spec.
+ * The operations are processed again for every invocation, as
+ * postProcessOperationsWithModels modifies them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OperationsBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int schemas;
+
+    @Param({ "matlab-client", "matlab-server" })
+    public String generator;
+
+    private Pipeline pipeline;
+
+    private Pipeline.Captured captured;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        pipeline = Pipeline.of(schemas, "operations");
+    }
+
+    @Setup(Level.Invocation)
+    public void capture() {
+        captured = pipeline.capture(generator, Pipeline.Stage.OPERATIONS, Collections.<String, Object>emptyMap());
+    }
+
+    @Benchmark
+    public void postProcessOperationsWithModels(Blackhole blackhole) {
+        for (OperationsMap operations : captured.operations) {
+            blackhole.consume(captured.codegen.postProcessOperationsWithModels(operations, captured.allModels));
+        }
+    }
+}
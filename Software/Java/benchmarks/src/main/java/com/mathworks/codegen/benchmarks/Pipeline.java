@@ -0,0 +1,292 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import com.mathworks.codegen.MATLABClientCodegen;
+import com.mathworks.codegen.MATLABCodegen;
+import com.mathworks.codegen.MatlabServerCodegen;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Runs the generator for a synthetic spec, in full or up to one of the hooks
+ * which are benchmarked, such that the hooks can be invoked with the exact
+ * input they get during a generation.
+ *
+ * The spec is parsed once. Every run gets its own copy of the parsed spec and
+ * its own codegen instance, as the generator modifies both.
+ *
+ * The templates and MATLAB files are by default taken from the Software
+ * directory, relative to Software/Java/benchmarks. Different locations can be
+ * specified with the system properties templateDir and openapiRoot.
+ */
+final class Pipeline {
+
+    /**
+     * Hook up to which the generator is run, see {@link #capture}
+     */
+    enum Stage {
+        MODELS, OPERATIONS
+    }
+
+    /**
+     * Codegen instance and the input of the hooks it recorded
+     */
+    static final class Captured {
+        MATLABCodegen codegen;
+        Map<String, ModelsMap> models;
+        final List<OperationsMap> operations = new ArrayList<OperationsMap>();
+        List<ModelMap> allModels;
+        // Whether the hooks only record their input, rather than process it
+        boolean recording = true;
+        Stage stop;
+    }
+
+    // Thrown to stop the generation once the input of the hook was recorded
+    private static final class Stop extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Stop() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Client codegen which records the input of the hooks
+     */
+    public static final class CapturingClientCodegen extends MATLABClientCodegen {
+        final Captured captured = new Captured();
+
+        @Override
+        public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+            if (captured.recording && captured.stop == Stage.MODELS) {
+                captured.models = objs;
+                throw new Stop();
+            }
+            return super.postProcessAllModels(objs);
+        }
+
+        @Override
+        public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+            if (captured.recording && captured.stop == Stage.OPERATIONS) {
+                captured.operations.add(objs);
+                captured.allModels = allModels;
+                return objs;
+            }
+            return super.postProcessOperationsWithModels(objs, allModels);
+        }
+
+        @Override
+        public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+            if (captured.recording) {
+                throw new Stop();
+            }
+            return super.postProcessSupportingFileData(objs);
+        }
+    }
+
+    /**
+     * Server codegen which records the input of the hooks
+     */
+    public static final class CapturingServerCodegen extends MatlabServerCodegen {
+        final Captured captured = new Captured();
+
+        @Override
+        public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+            if (captured.recording && captured.stop == Stage.MODELS) {
+                captured.models = objs;
+                throw new Stop();
+            }
+            return super.postProcessAllModels(objs);
+        }
+
+        @Override
+        public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+            if (captured.recording && captured.stop == Stage.OPERATIONS) {
+                captured.operations.add(objs);
+                captured.allModels = allModels;
+                return objs;
+            }
+            return super.postProcessOperationsWithModels(objs, allModels);
+        }
+
+        @Override
+        public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+            if (captured.recording) {
+                throw new Stop();
+            }
+            return super.postProcessSupportingFileData(objs);
+        }
+    }
+
+    private static final File SPEC_DIR = new File("target", "synthetic-specs");
+
+    private final int schemas;
+    private final File spec;
+    private final File output;
+    // Parsed spec as JSON
+    private final byte[] parsed;
+
+    private Pipeline(int schemas, File spec, File output, byte[] parsed) {
+        this.schemas = schemas;
+        this.spec = spec;
+        this.output = output;
+        this.parsed = parsed;
+    }
+
+    /**
+     * Generates the synthetic spec with the given number of schemas, unless it
+     * was generated before, and parses it.
+     *
+     * @param schemas number of schemas
+     * @param name    name of the benchmark, used for the output directory
+     * @return pipeline for the spec
+     */
+    static Pipeline of(int schemas, String name) throws IOException {
+        File spec = new File(SPEC_DIR, "synthetic-" + schemas + ".json");
+        if (!spec.isFile()) {
+            SyntheticSpec.write(schemas, SyntheticSpec.DEFAULT_SEED, spec);
+        }
+
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        OpenAPI openAPI = new OpenAPIParser().readLocation(spec.getPath(), null, options).getOpenAPI();
+        if (openAPI == null) {
+            throw new IllegalStateException("Unable to parse " + spec);
+        }
+        File output = new File("target", "benchmark-output" + File.separator + name + "-" + schemas);
+        return new Pipeline(schemas, spec, output, Json.mapper().writeValueAsBytes(openAPI));
+    }
+
+    int schemas() {
+        return schemas;
+    }
+
+    File spec() {
+        return spec;
+    }
+
+    File output() {
+        return output;
+    }
+
+    /**
+     * @return copy of the parsed spec
+     */
+    OpenAPI openAPI() {
+        try {
+            return Json.mapper().readValue(parsed, OpenAPI.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs the generator without writing any files, up to the given hook, and
+     * records the input of the hook. Operations are recorded for all tags.
+     *
+     * @param generator            matlab-client or matlab-server
+     * @param stage                hook up to which to run the generator
+     * @param additionalProperties generator options
+     * @return codegen instance, in the state in which the hook is called, and
+     *         the recorded input
+     */
+    Captured capture(String generator, Stage stage, Map<String, Object> additionalProperties) {
+        MATLABCodegen codegen = "matlab-server".equals(generator) ? new CapturingServerCodegen()
+                : new CapturingClientCodegen();
+        Captured captured = codegen instanceof CapturingServerCodegen
+                ? ((CapturingServerCodegen) codegen).captured
+                : ((CapturingClientCodegen) codegen).captured;
+        captured.codegen = codegen;
+        captured.stop = stage;
+
+        configure(codegen, additionalProperties);
+        ClientOptInput input = new ClientOptInput().openAPI(openAPI()).config(codegen);
+        try {
+            new DefaultGenerator(true).opts(input).generate();
+        } catch (Stop e) {
+            // Input was recorded
+        } finally {
+            GlobalSettings.reset();
+        }
+        captured.recording = false;
+        return captured;
+    }
+
+    /**
+     * Configures the codegen like CodegenConfigurator does for the MATLAB
+     * builder.
+     */
+    void configure(MATLABCodegen codegen, Map<String, Object> additionalProperties) {
+        codegen.setOutputDir(output.getAbsolutePath());
+        codegen.setInputSpec(spec.getPath());
+        codegen.additionalProperties().putAll(additionalProperties);
+        codegen.additionalProperties().put(CodegenConstants.PACKAGE_NAME, "Synthetic");
+        codegen.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, templateDir());
+        codegen.additionalProperties().put("openapiRoot", openapiRoot());
+    }
+
+    /**
+     * @return configurator to generate the code for the spec, like the MATLAB
+     *         builder does, such that the spec is parsed again
+     */
+    CodegenConfigurator configurator(String generator, Map<String, Object> additionalProperties) {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName(generator)
+                .setInputSpec(spec.getPath())
+                .setOutputDir(output.getAbsolutePath())
+                .setPackageName("Synthetic")
+                .setValidateSpec(false)
+                .setTemplateDir(templateDir())
+                .addAdditionalProperty("openapiRoot", openapiRoot());
+        for (Map.Entry<String, Object> entry : additionalProperties.entrySet()) {
+            configurator.addAdditionalProperty(entry.getKey(), entry.getValue());
+        }
+        return configurator;
+    }
+
+    /**
+     * Deletes the output of previous runs.
+     */
+    void clean() throws IOException {
+        if (!output.exists()) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(output.toPath())) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String templateDir() {
+        return new File(System.getProperty("templateDir", "../../Mustache")).getAbsolutePath();
+    }
+
+    private static String openapiRoot() {
+        return new File(System.getProperty("openapiRoot", "../../MATLAB")).getAbsolutePath();
+    }
+}
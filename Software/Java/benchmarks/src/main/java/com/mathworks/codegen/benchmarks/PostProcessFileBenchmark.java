@@ -0,0 +1,88 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Benchmarks postProcessFile for all files generated for a synthetic spec.
+ * With incremental generation every model and API file is fingerprinted for
+ * the generation manifest.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PostProcessFileBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int schemas;
+
+    @Param({ "false", "true" })
+    public boolean incrementalGeneration;
+
+    private Pipeline.Captured captured;
+
+    // Generated files and their types
+    private final List<File> files = new ArrayList<File>();
+    private final List<String> types = new ArrayList<String>();
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        Pipeline pipeline = Pipeline.of(schemas, "files");
+        pipeline.clean();
+        try {
+            new DefaultGenerator().opts(pipeline.configurator("matlab-client",
+                    Collections.<String, Object>emptyMap()).toClientOptInput()).generate();
+        } finally {
+            GlobalSettings.reset();
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(pipeline.output().toPath())) {
+            paths = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            String parent = path.getParent().getFileName().toString();
+            files.add(path.toFile());
+            types.add("+models".equals(parent) ? "model" : "+api".equals(parent) ? "api" : "supporting-file");
+        }
+
+        // Codegen in the state in which files are written
+        captured = pipeline.capture("matlab-client", Pipeline.Stage.MODELS,
+                Collections.<String, Object>singletonMap("IncrementalGeneration", incrementalGeneration));
+    }
+
+    @Benchmark
+    public void postProcessFile() {
+        for (int i = 0; i < files.size(); i++) {
+            captured.codegen.postProcessFile(files.get(i), types.get(i));
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.mathworks.codegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Generates synthetic OpenAPI 3.0 specs with a given number of schemas for the
+ * benchmarks. The same number of schemas and seed always result in exactly the
+ * same spec, such that results of different runs and of different
+ * openapi-generator versions can be compared.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.mathworks.codegen.benchmarks.SyntheticSpec SCHEMAS OUTPUT [SEED]
+ * </pre>
+ *
+ * The schemas resemble those of large real world specs: objects with
+ * properties of all types, references to other schemas, inline enums, maps,
+ * allOf and oneOf compositions and top level enums. References are nested at
+ * most three deep. Some names contain characters which are invalid in MATLAB,
+ * are reserved words or exceed 63 characters, such that all paths of the
+ * identifier hooks are taken. For every fifth object there is a collection and
+ * an item path with list, create, get, update and delete operations. Operations
+ * are tagged such that tags have about 40 operations.
+ */
+public final class SyntheticSpec {
+
+    static final long DEFAULT_SEED = 42;
+
+    private static final String[] WORDS = { "account", "address", "amount", "attachment", "balance", "category",
+            "channel", "comment", "config", "contact", "content", "created", "currency", "customer", "device",
+            "document", "duration", "event", "invoice", "item", "label", "limit", "location", "message", "metric",
+            "owner", "payment", "policy", "price", "profile", "quota", "region", "report", "resource", "schedule",
+            "setting", "status", "subscription", "summary", "target", "tenant", "threshold", "token", "updated",
+            "usage", "value", "version", "volume", "window", "zone" };
+
+    // Property names which are reserved words or otherwise need sanitizing
+    private static final String[] SPECIAL_NAMES = { "end", "function", "properties", "class", "2fa", "_links",
+            "@type", "x-request-id", "content.type", "$ref_id" };
+
+    private static final String[] FORMATS = { "int32", "int64", "float", "double" };
+
+    // Number of levels of schemas, see spec
+    private static final int LEVELS = 4;
+
+    private final Random random;
+
+    private SyntheticSpec(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticSpec SCHEMAS OUTPUT [SEED]");
+            System.exit(1);
+        }
+        int schemas = Integer.parseInt(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        write(schemas, seed, new File(args[1]));
+    }
+
+    /**
+     * Writes the spec as JSON.
+     *
+     * @param schemas number of schemas
+     * @param seed    seed of the random choices
+     * @param file    file to write
+     * @throws IOException
+     */
+    public static void write(int schemas, long seed, File file) throws IOException {
+        Map<String, Object> spec = new SyntheticSpec(seed).spec(schemas);
+        File parent = file.getAbsoluteFile().getParentFile();
+        Files.createDirectories(parent.toPath());
+        // Write atomically, benchmarks in other processes may read it
+        File tmp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(tmp, spec);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    Map<String, Object> spec(int count) {
+        // Schemas only refer to schemas of lower levels, such that like in real
+        // world specs references are not nested deeper than the number of levels.
+        // Element i are the schemas, or only the objects, of all levels below i.
+        List<List<String>> referableBelow = new ArrayList<List<String>>();
+        List<List<String>> objectsBelow = new ArrayList<List<String>>();
+        for (int level = 0; level < LEVELS; level++) {
+            referableBelow.add(new ArrayList<String>());
+            objectsBelow.add(new ArrayList<String>());
+        }
+
+        Map<String, Object> schemas = new LinkedHashMap<String, Object>();
+        List<String> objects = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            String name = schemaName(i);
+            int level = i % LEVELS;
+            List<String> previous = referableBelow.get(level);
+            List<String> previousObjects = objectsBelow.get(level);
+            boolean object = true;
+            int kind = random.nextInt(100);
+            if (kind < 10) {
+                schemas.put(name, enumSchema());
+                object = false;
+            } else if (kind < 15 && !previousObjects.isEmpty()) {
+                schemas.put(name, allOfSchema(previousObjects, previous));
+            } else if (kind < 18 && previousObjects.size() >= 2) {
+                schemas.put(name, oneOfSchema(previousObjects));
+                object = false;
+            } else {
+                schemas.put(name, objectSchema(previous));
+            }
+            if (object) {
+                objects.add(name);
+            }
+            for (int above = level + 1; above < LEVELS; above++) {
+                referableBelow.get(above).add(name);
+                if (object) {
+                    objectsBelow.get(above).add(name);
+                }
+            }
+        }
+
+        Map<String, Object> paths = new LinkedHashMap<String, Object>();
+        int tags = Math.max(1, objects.size() / 5 / 8);
+        for (int i = 0; i < objects.size(); i += 5) {
+            addPaths(paths, objects.get(i), i, "group" + (i / 5) % tags);
+        }
+
+        Map<String, Object> spec = new LinkedHashMap<String, Object>();
+        spec.put("openapi", "3.0.3");
+        spec.put("info", map("title", "Synthetic " + count, "version", "1.0.0"));
+        spec.put("servers", Collections.singletonList(map("url", "http://localhost:8080")));
+        spec.put("paths", paths);
+        spec.put("components", map("schemas", schemas));
+        return spec;
+    }
+
+    private String schemaName(int i) {
+        String word = WORDS[i % WORDS.length];
+        switch (i % 20) {
+        case 0:
+            // Longer than 63 characters
+            return "Very" + capitalize(word) + "DetailedResourceRepresentationWithManyQualifiersAndSuffix" + i;
+        case 1:
+            return word + "_item_" + i;
+        case 2:
+            return word + "-entry." + i;
+        default:
+            return capitalize(word) + capitalize(WORDS[(i / WORDS.length) % WORDS.length]) + i;
+        }
+    }
+
+    private Map<String, Object> objectSchema(List<String> previous) {
+        Map<String, Object> properties = new LinkedHashMap<String, Object>();
+        int n = 3 + random.nextInt(10);
+        List<String> required = new ArrayList<String>();
+        for (int i = 0; i < n; i++) {
+            String name = propertyName(i);
+            if (!properties.containsKey(name)) {
+                properties.put(name, property(previous));
+                if (random.nextInt(4) == 0) {
+                    required.add(name);
+                }
+            }
+        }
+        Map<String, Object> schema = map("type", "object", "properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        return schema;
+    }
+
+    private String propertyName(int i) {
+        if (random.nextInt(15) == 0) {
+            return SPECIAL_NAMES[random.nextInt(SPECIAL_NAMES.length)];
+        }
+        String first = WORDS[random.nextInt(WORDS.length)];
+        String second = WORDS[random.nextInt(WORDS.length)];
+        switch (random.nextInt(3)) {
+        case 0:
+            return first + capitalize(second);
+        case 1:
+            return first + "_" + second;
+        default:
+            return first + "-" + second;
+        }
+    }
+
+    private Map<String, Object> property(List<String> previous) {
+        int kind = random.nextInt(100);
+        if (kind < 25) {
+            return random.nextBoolean() ? map("type", "string") : map("type", "string", "format", "date-time");
+        } else if (kind < 40) {
+            String format = FORMATS[random.nextInt(FORMATS.length)];
+            return map("type", format.startsWith("int") ? "integer" : "number", "format", format);
+        } else if (kind < 45) {
+            return map("type", "boolean");
+        } else if (kind < 55) {
+            return map("type", "array", "items", map("type", "string"));
+        } else if (kind < 65) {
+            return enumSchema();
+        } else if (kind < 70) {
+            return map("type", "object", "additionalProperties", map("type", "string"));
+        } else if (previous.isEmpty()) {
+            return map("type", "string");
+        } else if (kind < 90) {
+            return ref(previous.get(random.nextInt(previous.size())));
+        } else {
+            return map("type", "array", "items", ref(previous.get(random.nextInt(previous.size()))));
+        }
+    }
+
+    private Map<String, Object> enumSchema() {
+        int n = 2 + random.nextInt(6);
+        List<String> values = new ArrayList<String>(n);
+        for (int i = 0; i < n; i++) {
+            String value = WORDS[random.nextInt(WORDS.length)] + (random.nextInt(5) == 0 ? "-v" + i : "");
+            if (!values.contains(value)) {
+                values.add(value);
+            }
+        }
+        return map("type", "string", "enum", values);
+    }
+
+    private Map<String, Object> allOfSchema(List<String> objects, List<String> previous) {
+        Map<String, Object> extension = objectSchema(previous);
+        return map("allOf", Arrays.asList(ref(objects.get(random.nextInt(objects.size()))), extension));
+    }
+
+    private Map<String, Object> oneOfSchema(List<String> objects) {
+        String first = objects.get(random.nextInt(objects.size()));
+        String second = objects.get(random.nextInt(objects.size()));
+        if (first.equals(second)) {
+            return map("oneOf", Arrays.asList(ref(first), map("type", "string")));
+        }
+        return map("oneOf", Arrays.asList(ref(first), ref(second)));
+    }
+
+    private void addPaths(Map<String, Object> paths, String schema, int i, String tag) {
+        String resource = "/" + WORDS[i % WORDS.length] + "s" + i;
+        Map<String, Object> idParameter = map("name", "id", "in", "path", "required", true,
+                "schema", map("type", "string"));
+
+        Map<String, Object> list = operation("list" + capitalize(WORDS[i % WORDS.length]) + i, tag,
+                map("200", response(map("type", "array", "items", ref(schema)))));
+        list.put("parameters", Arrays.asList(
+                map("name", "limit", "in", "query", "schema", map("type", "integer", "format", "int32")),
+                map("name", "page-token", "in", "query", "schema", map("type", "string")),
+                map("name", "X-Request-Id", "in", "header", "schema", map("type", "string"))));
+        Map<String, Object> create = operation("create_" + WORDS[i % WORDS.length] + "_" + i, tag,
+                map("201", response(ref(schema))));
+        create.put("requestBody", map("required", true, "content",
+                map("application/json", map("schema", ref(schema)))));
+        paths.put(resource, map("get", list, "post", create));
+
+        Map<String, Object> get = operation("get" + capitalize(WORDS[i % WORDS.length]) + i, tag,
+                map("200", response(ref(schema)), "404", map("description", "Not found")));
+        get.put("parameters", Collections.singletonList(idParameter));
+        Map<String, Object> update = operation("update" + capitalize(WORDS[i % WORDS.length]) + i, tag,
+                map("200", response(ref(schema))));
+        update.put("parameters", Collections.singletonList(idParameter));
+        update.put("requestBody", map("content", map("application/json", map("schema", ref(schema)))));
+        Map<String, Object> delete = operation("delete-" + WORDS[i % WORDS.length] + "-" + i, tag,
+                map("204", map("description", "Deleted")));
+        delete.put("parameters", Collections.singletonList(idParameter));
+        paths.put(resource + "/{id}", map("get", get, "put", update, "delete", delete));
+    }
+
+    private static Map<String, Object> operation(String operationId, String tag, Map<String, Object> responses) {
+        return map("operationId", operationId, "tags", Collections.singletonList(tag), "responses", responses);
+    }
+
+    private static Map<String, Object> response(Map<String, Object> schema) {
+        return map("description", "OK", "content", map("application/json", map("schema", schema)));
+    }
+
+    private static Map<String, Object> ref(String schema) {
+        return map("$ref", "#/components/schemas/" + schema);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static Map<String, Object> map(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
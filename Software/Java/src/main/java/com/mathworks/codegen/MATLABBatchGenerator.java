@@ -0,0 +1,375 @@
+package com.mathworks.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.config.MergedSpecBuilder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Generates the code for multiple specs on a pool of workers in a single JVM,
+ * such that generating many specs does not start a JVM per spec and uses all
+ * cores.
+ *
+ * <pre>
+ * java -cp openapi-generator-cli.jar:MATLAB-openapi-generator-3.0.0.jar \
+ *     com.mathworks.codegen.MATLABBatchGenerator MANIFEST [--workers N] [--report FILE]
+ * </pre>
+ *
+ * The manifest is a JSON file with the jobs and defaults for all jobs:
+ *
+ * <pre>
+ * {
+ *   "templateDir": "Software/Mustache",
+ *   "openapiRoot": "Software/MATLAB",
+ *   "specCache": "specCache",
+ *   "jobs": [
+ *     {"name": "pets", "inputSpec": "pets.yaml", "packageName": "Pets",
+ *      "generator": "matlab-client", "output": "out/pets",
+ *      "additionalProperties": {"DeduplicateModels": true}}
+ *   ]
+ * }
+ * </pre>
+ *
+ * Relative paths are relative to the directory of the manifest. Every job
+ * uses its own generator instance and its templateDir and openapiRoot are
+ * always passed explicitly, such that jobs do not share state or depend on the
+ * working directory. Jobs may not write to the same output directory. Jobs
+ * with the same input spec root directory are merged one at a time, as the
+ * merged spec is written into that directory.
+ *
+ * A report with the status and durations of every job is written to the
+ * report file and summarized on stdout. The exit code is 1 if any job failed.
+ */
+public final class MATLABBatchGenerator {
+
+    private static final List<String> GENERATORS = Arrays.asList("matlab-client", "matlab-server");
+
+    static final class Manifest {
+        public String templateDir;
+        public String openapiRoot;
+        public String specCache;
+        public Integer workers;
+        public List<Job> jobs = new ArrayList<Job>();
+    }
+
+    static final class Job {
+        public String name;
+        public String generator = "matlab-client";
+        public String inputSpec;
+        public String inputSpecRootDirectory;
+        public String packageName;
+        public String output;
+        public String templateDir;
+        public String openapiRoot;
+        public boolean skipValidateSpec = true;
+        public Map<String, Object> additionalProperties = new LinkedHashMap<String, Object>();
+        public Map<String, String> globalProperties = new LinkedHashMap<String, String>();
+    }
+
+    static final class JobReport {
+        public String name;
+        public String generator;
+        public String packageName;
+        public String output;
+        public String status;
+        public boolean specCacheHit;
+        // Parsing the spec and processing the options
+        public double prepareSeconds;
+        // Processing the models and operations and writing the files
+        public double generateSeconds;
+        public double durationSeconds;
+        public String error;
+    }
+
+    static final class Report {
+        public int workers;
+        public int succeeded;
+        public int failed;
+        public double durationSeconds;
+        public List<JobReport> jobs = new ArrayList<JobReport>();
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Manifest manifest;
+    private final File baseDir;
+    private final MATLABSpecCache specCache;
+    // Locks by input spec root directory
+    private final Map<String, Object> mergeLocks = new ConcurrentHashMap<String, Object>();
+
+    MATLABBatchGenerator(Manifest manifest, File baseDir) {
+        this.manifest = manifest;
+        this.baseDir = baseDir;
+        this.specCache = manifest.specCache == null ? null
+                : new MATLABSpecCache(resolve(manifest.specCache).toPath());
+    }
+
+    public static void main(String[] args) throws IOException {
+        File manifestFile = null;
+        Integer workers = null;
+        File reportFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--workers":
+                workers = Integer.valueOf(args[++i]);
+                break;
+            case "--report":
+                reportFile = new File(args[++i]);
+                break;
+            default:
+                if (manifestFile != null || args[i].startsWith("-")) {
+                    System.err.println("[error] Unknown option " + args[i]);
+                    System.exit(1);
+                }
+                manifestFile = new File(args[i]);
+            }
+        }
+        if (manifestFile == null) {
+            System.err.println("[error] Manifest not specified");
+            System.exit(1);
+        }
+        Manifest manifest = MAPPER.readValue(manifestFile, Manifest.class);
+        if (workers != null) {
+            manifest.workers = workers;
+        }
+        MATLABBatchGenerator batch = new MATLABBatchGenerator(manifest,
+                manifestFile.getAbsoluteFile().getParentFile());
+        String invalid = batch.validate();
+        if (invalid != null) {
+            System.err.println("[error] " + invalid);
+            System.exit(1);
+        }
+
+        Report report = batch.run();
+        if (reportFile != null) {
+            MAPPER.writeValue(reportFile, report);
+        }
+        System.out.println(summary(report));
+        System.exit(report.failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * @return description of why the manifest is invalid, null if it is valid
+     */
+    String validate() {
+        if (manifest.jobs.isEmpty()) {
+            return "Manifest does not contain any jobs";
+        }
+        Map<String, String> outputs = new HashMap<String, String>();
+        for (int i = 0; i < manifest.jobs.size(); i++) {
+            Job job = manifest.jobs.get(i);
+            if (job.name == null) {
+                job.name = job.packageName != null ? job.packageName : "job" + (i + 1);
+            }
+            if (!GENERATORS.contains(job.generator)) {
+                return "Generator of job " + job.name + " has to be one of " + GENERATORS;
+            }
+            if (job.inputSpec == null && job.inputSpecRootDirectory == null) {
+                return "Job " + job.name + " has neither inputSpec nor inputSpecRootDirectory";
+            }
+            if (job.packageName == null || job.output == null) {
+                return "Job " + job.name + " has to specify packageName and output";
+            }
+            String output = resolve(job.output).toPath().normalize().toString();
+            String other = outputs.put(output, job.name);
+            if (other != null) {
+                return "Jobs " + other + " and " + job.name + " have the same output " + output;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs all jobs, waiting for them to finish.
+     *
+     * @return report of all jobs, in the order of the manifest
+     */
+    Report run() {
+        Report report = new Report();
+        report.workers = Math.max(1, Math.min(manifest.jobs.size(), manifest.workers != null ? manifest.workers
+                : Runtime.getRuntime().availableProcessors()));
+        long start = System.nanoTime();
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(report.workers, r -> {
+            Thread thread = new Thread(r, "batch-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<JobReport>> futures = new ArrayList<Future<JobReport>>();
+            for (Job job : manifest.jobs) {
+                futures.add(pool.submit(() -> runJob(job)));
+            }
+            for (Future<JobReport> future : futures) {
+                try {
+                    report.jobs.add(future.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for jobs", e);
+                } catch (ExecutionException e) {
+                    // runJob reports all failures itself
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (JobReport job : report.jobs) {
+            if ("ok".equals(job.status)) {
+                report.succeeded++;
+            } else {
+                report.failed++;
+            }
+        }
+        report.durationSeconds = seconds(System.nanoTime() - start);
+        return report;
+    }
+
+    private JobReport runJob(Job job) {
+        JobReport report = new JobReport();
+        report.name = job.name;
+        report.generator = job.generator;
+        report.packageName = job.packageName;
+        report.output = resolve(job.output).getPath();
+        long start = System.nanoTime();
+        long generateStart = start;
+        try {
+            ClientOptInput input;
+            if (job.inputSpecRootDirectory != null) {
+                // The merged spec is written into the directory
+                String root = resolve(job.inputSpecRootDirectory).getCanonicalPath();
+                synchronized (mergeLocks.computeIfAbsent(root, k -> new Object())) {
+                    input = prepare(job, root, report);
+                }
+            } else {
+                input = prepare(job, null, report);
+            }
+            generateStart = System.nanoTime();
+            new MATLABGenerator().opts(input).generate();
+            report.status = "ok";
+        } catch (Exception | LinkageError e) {
+            report.status = "error";
+            StringWriter trace = new StringWriter();
+            e.printStackTrace(new PrintWriter(trace));
+            report.error = trace.toString();
+        } finally {
+            // Global settings are per thread, do not leak them into the next
+            // job of this worker
+            GlobalSettings.reset();
+        }
+        long end = System.nanoTime();
+        report.prepareSeconds = seconds(generateStart - start);
+        report.generateSeconds = "ok".equals(report.status) ? seconds(end - generateStart) : 0;
+        report.durationSeconds = seconds(end - start);
+        return report;
+    }
+
+    /**
+     * Configures the generator of job and parses its spec.
+     *
+     * @param root canonical input spec root directory, null if the job has
+     *             a single input spec
+     */
+    private ClientOptInput prepare(Job job, String root, JobReport report) throws IOException {
+        String spec = root != null ? root : resolveSpec(job.inputSpec);
+        CodegenConfigurator configurator = null;
+        if (specCache != null) {
+            MATLABSpecCache.Configurator cached = specCache.configurator(root == null ? spec : null, root, null,
+                    !job.skipValidateSpec, null);
+            if (cached != null) {
+                report.specCacheHit = cached.isHit();
+                configurator = cached;
+            }
+        }
+        if (configurator == null) {
+            configurator = new CodegenConfigurator();
+        }
+        if (root != null && !report.specCacheHit) {
+            spec = new MergedSpecBuilder(root, "_merged_spec").buildMergedSpec();
+        }
+        configurator.setGeneratorName(job.generator);
+        configurator.setInputSpec(spec);
+        configurator.setOutputDir(resolve(job.output).getPath());
+        configurator.setPackageName(job.packageName);
+        configurator.setValidateSpec(!job.skipValidateSpec);
+        // Never depend on the working directory of the JVM
+        configurator.setTemplateDir(resolve(first(job.templateDir, manifest.templateDir, "Mustache")).getPath());
+        for (Map.Entry<String, Object> e : job.additionalProperties.entrySet()) {
+            // Like on the command line, all values are strings
+            configurator.addAdditionalProperty(e.getKey(), String.valueOf(e.getValue()));
+        }
+        if (!job.additionalProperties.containsKey("openapiRoot")) {
+            configurator.addAdditionalProperty("openapiRoot",
+                    resolve(first(job.openapiRoot, manifest.openapiRoot, "MATLAB")).getPath());
+        }
+        for (Map.Entry<String, String> e : job.globalProperties.entrySet()) {
+            configurator.addGlobalProperty(e.getKey(), e.getValue());
+        }
+        return configurator.toClientOptInput();
+    }
+
+    private String resolveSpec(String spec) {
+        if (spec.matches("^https?://.*")) {
+            return spec;
+        }
+        return resolve(spec).getPath();
+    }
+
+    private File resolve(String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(baseDir, path);
+    }
+
+    private static String first(String... values) {
+        for (String value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static double seconds(long nanos) {
+        return Math.round(nanos / 1e6) / 1e3;
+    }
+
+    static String summary(Report report) {
+        StringBuilder sb = new StringBuilder();
+        for (JobReport job : report.jobs) {
+            sb.append(String.format("%-5s %-30s %8.1f s%s%n", job.status, job.name, job.durationSeconds,
+                    job.specCacheHit ? " (cached spec)" : ""));
+            if (job.error != null) {
+                // First line of the stack trace
+                sb.append("      ").append(job.error.split("\\R", 2)[0]).append(System.lineSeparator());
+            }
+        }
+        sb.append(String.format("%d succeeded, %d failed, %.1f s on %d workers", report.succeeded,
+                report.failed, report.durationSeconds, report.workers));
+        return sb.toString();
+    }
+}
@@ -3,12 +3,15 @@ package com.mathworks.codegen;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.CodegenOperation;
 import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenResponse;
 import org.openapitools.codegen.CodegenSecurity;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.SupportingFile;
@@ -23,7 +26,7 @@ import io.swagger.v3.oas.models.security.OAuthFlows;
 import io.swagger.v3.oas.models.security.Scopes;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 
-// Copyright 2022-2025 The MathWorks, Inc.
+// Copyright 2022-2026 The MathWorks, Inc.
 
 public class MATLABClientCodegen extends MATLABCodegen {
 
@@ -31,6 +34,15 @@ public class MATLABClientCodegen extends MATLABCodegen {
   
   String ADD_AUTH = "AddOAuth";
   String OBJECT_PARAMS = "ObjectParams";
+  String COOKIE_FLUSH_INTERVAL = "CookieFlushInterval";
+  String HTTP_TRANSPORT = "HttpTransport";
+  String BATCH_OPERATIONS = "BatchOperations";
+  String ASYNC_OPERATIONS = "AsyncOperations";
+  String STREAMING_RESPONSES = "StreamingResponses";
+  String COMPRESSION = "Compression";
+  String COMPRESSION_THRESHOLD = "CompressionThreshold";
+  String CACHE_EXTENSION = "x-matlab-cache";
+  String API_METHOD_FILES = "ApiMethodFiles";
 
   // source folder where to write the files
   protected String sourceFolder = "src";
@@ -77,6 +89,12 @@ public class MATLABClientCodegen extends MATLABCodegen {
   }
 
   List<CodegenParameter> objectParams = new ArrayList<CodegenParameter>();
+  boolean streamingResponses = false;
+  boolean responseCache = false;
+  // API classes with at least this many operations are generated as class
+  // folder, 0 if none are
+  int methodFilesThreshold = 0;
+  Set<String> classFolders = new HashSet<String>();
   @Override
   public void postProcessParameter(CodegenParameter parameter) {
     for (CodegenParameter p : objectParams) {
@@ -88,6 +106,7 @@ public class MATLABClientCodegen extends MATLABCodegen {
 
   @Override
   public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+    objs = super.postProcessOperationsWithModels(objs, allModels);
     this.additionalProperties.put("x-error-identifier", packageName.replace(".", ":"));
 
     // If ADD_AUTH is specified, do add this auth method to all operations
@@ -102,6 +121,24 @@ public class MATLABClientCodegen extends MATLABCodegen {
     for (CodegenOperation op : operationList) {
       // And add a customized x-error-identifier value, used in errors and warnings
       op.vendorExtensions.put("x-error-identifier", (apiPackage + "." + op.operationId).replace(".", ":"));
+      if (streamingResponses) {
+        addStreamedResponse(op);
+      }
+      // Operations with x-matlab-cache use the response cache of BaseClient,
+      // which is only generated if there are such operations
+      if (isCached(op)) {
+        op.vendorExtensions.put(CACHE_EXTENSION, true);
+        if (!responseCache) {
+          responseCache = true;
+          additionalProperties.put("ResponseCache", true);
+          supportingFiles.add(new SupportingFile(
+              fullfile(openapiRoot, "app", "system", "ResponseCache.m"),
+              fullfile(outputPackageRoot, "ResponseCache.m")));
+          supportingFilesChanged();
+        }
+      } else {
+        op.vendorExtensions.remove(CACHE_EXTENSION);
+      }
       // If ADD_AUTH is specified, do add this auth method to all operation
       // Just add it once though, the first time postProcessOperationsWithModels is
       // called.
@@ -110,9 +147,45 @@ public class MATLABClientCodegen extends MATLABCodegen {
         op.authMethods.add(cgs);
       }
     }
+
+    // Generate API classes with many operations as class folder with a file
+    // per method, MATLAB then only parses the methods which are actually
+    // called rather than the whole class. The method files are registered as
+    // API templates for this class only, the generator renders the API
+    // templates after this method returns.
+    apiTemplateFiles.keySet().removeIf(MATLABMethodFiles::isMethod);
+    if (methodFilesThreshold > 0 && operationList.size() >= methodFilesThreshold) {
+      classFolders.add(operations.getClassname());
+      objs.put("methodFiles", true);
+      boolean helpers = additionalProperties.containsKey("OperationHelpers");
+      for (CodegenOperation op : operationList) {
+        for (String templateFile : MATLABMethodFiles.templateFiles(op,
+            Boolean.TRUE.equals(additionalProperties.get(BATCH_OPERATIONS)),
+            Boolean.TRUE.equals(additionalProperties.get(ASYNC_OPERATIONS)),
+            streamingResponses, helpers)) {
+          apiTemplateFiles.put(templateFile, ".m");
+        }
+      }
+    }
     return objs;
   }
 
+  /**
+   * API classes which are generated as class folder are written to
+   * +api/@Class/Class.m, and their methods to +api/@Class/method.m.
+   */
+  @Override
+  public String apiFilename(String templateName, String tag) {
+    if (!classFolders.contains(toApiName(tag))) {
+      return super.apiFilename(templateName, tag);
+    }
+    String folder = apiFileFolder() + File.separator + "@" + toApiFilename(tag) + File.separator;
+    if (MATLABMethodFiles.isMethod(templateName)) {
+      return folder + MATLABMethodFiles.methodName(templateName) + apiTemplateFiles().get(templateName);
+    }
+    return folder + toApiFilename(tag) + apiTemplateFiles().get(templateName);
+  }
+
   @Override
   public void processOpts() {
     super.processOpts();
@@ -133,6 +206,20 @@ public class MATLABClientCodegen extends MATLABCodegen {
       }
     }
 
+    /* Handle cookie jar flush interval, in seconds */
+    if (additionalProperties.containsKey(COOKIE_FLUSH_INTERVAL)) {
+      String interval = additionalProperties.get(COOKIE_FLUSH_INTERVAL).toString().trim();
+      try {
+        if (Double.parseDouble(interval) < 0) {
+          throw new NumberFormatException("Negative interval");
+        }
+        additionalProperties.put(COOKIE_FLUSH_INTERVAL, interval);
+      } catch (NumberFormatException e) {
+        LOGGER.error("Invalid " + COOKIE_FLUSH_INTERVAL + " " + interval + ", cookies will be saved immediately");
+        additionalProperties.remove(COOKIE_FLUSH_INTERVAL);
+      }
+    }
+
     /**
      * Supporting Files. You can write single files for the generator with the
      * entire object tree available. If the input file has a suffix of `.mustache
@@ -154,10 +241,134 @@ public class MATLABClientCodegen extends MATLABCodegen {
     // which package it was placed
     additionalProperties.put("cookiejarPackage", packageName);
 
+    // Optionally send requests using java.net.http.HttpClient
+    boolean javaClasses = false;
+    if ("java".equals(additionalProperties.get(HTTP_TRANSPORT))) {
+      additionalProperties.put("JavaHttpTransport", true);
+      supportingFiles.add(new SupportingFile(
+          fullfile(openapiRoot, "app", "system", "HttpTransport.m"),
+          fullfile(outputPackageRoot, "HttpTransport.m")));
+      javaClasses = true;
+    } else if (additionalProperties.containsKey(HTTP_TRANSPORT)
+        && !"matlab".equals(additionalProperties.get(HTTP_TRANSPORT))) {
+      LOGGER.error("Invalid " + HTTP_TRANSPORT + " " + additionalProperties.get(HTTP_TRANSPORT)
+          + ", using matlab");
+    }
+
+    /* Optionally generate batch and asynchronous variants of all operations */
+    boolean batch = false;
+    boolean async = false;
+    if (additionalProperties.containsKey(BATCH_OPERATIONS)) {
+      batch = convertPropertyToBooleanAndWriteBack(BATCH_OPERATIONS);
+    }
+    if (additionalProperties.containsKey(ASYNC_OPERATIONS)) {
+      async = convertPropertyToBooleanAndWriteBack(ASYNC_OPERATIONS);
+    }
+    if (async && !additionalProperties.containsKey("JavaHttpTransport")) {
+      // matlab.net.http.RequestMessage.send blocks MATLAB and cannot be used
+      // on thread-based workers, the request could only be sent right away
+      throw new IllegalArgumentException(ASYNC_OPERATIONS + " requires " + HTTP_TRANSPORT
+          + " java, requests cannot be sent in the background with matlab.net.http");
+    }
+    if (batch && !additionalProperties.containsKey("JavaHttpTransport")) {
+      // Likewise requests could only be sent one after another
+      throw new IllegalArgumentException(BATCH_OPERATIONS + " requires " + HTTP_TRANSPORT
+          + " java, requests cannot be sent concurrently with matlab.net.http");
+    }
+    if (async) {
+      supportingFiles.add(new SupportingFile(
+          fullfile(openapiRoot, "app", "system", "ResponseFuture.m"),
+          fullfile(outputPackageRoot, "ResponseFuture.m")));
+    }
+
+    /* Optionally generate variants which decode array responses in chunks */
+    if (additionalProperties.containsKey(STREAMING_RESPONSES)) {
+      streamingResponses = convertPropertyToBooleanAndWriteBack(STREAMING_RESPONSES);
+    }
+    if (streamingResponses) {
+      supportingFiles.add(new SupportingFile(
+          fullfile(openapiRoot, "app", "system", "JSONArrayStream.m"),
+          fullfile(outputPackageRoot, "JSONArrayStream.m")));
+      javaClasses = true;
+    }
+
+    /* Optionally negotiate compressed responses and compress large requests */
+    if (additionalProperties.containsKey(COMPRESSION)
+        && convertPropertyToBooleanAndWriteBack(COMPRESSION)) {
+      // Request bodies of at least this many bytes are compressed, by default
+      // none as not all servers accept compressed requests
+      String threshold = additionalProperties.getOrDefault(COMPRESSION_THRESHOLD, "Inf").toString().trim();
+      try {
+        if (!"Inf".equals(threshold) && Double.parseDouble(threshold) < 0) {
+          throw new NumberFormatException("Negative threshold");
+        }
+      } catch (NumberFormatException e) {
+        LOGGER.error("Invalid " + COMPRESSION_THRESHOLD + " " + threshold + ", requests will not be compressed");
+        threshold = "Inf";
+      }
+      additionalProperties.put(COMPRESSION_THRESHOLD, threshold);
+    }
+
+    // The variants share private methods which create the request and
+    // handle the response of each operation
+    if (batch || async || streamingResponses) {
+      additionalProperties.put("OperationHelpers", true);
+    }
+
+    /* Optionally generate API classes as class folder with a file per method,
+       either true for all classes or the minimum number of operations */
+    if (additionalProperties.containsKey(API_METHOD_FILES)) {
+      String value = additionalProperties.get(API_METHOD_FILES).toString().trim();
+      if (value.matches("\\d+")) {
+        methodFilesThreshold = Integer.parseInt(value);
+      } else if (Boolean.parseBoolean(value)) {
+        methodFilesThreshold = 1;
+      } else if (!"false".equalsIgnoreCase(value)) {
+        LOGGER.error("Invalid " + API_METHOD_FILES + " " + value + ", generating API classes as single file");
+      }
+    }
+
+    // Ship the jar with the Java classes used by the generated client, which
+    // is built next to the generator jar, in the package
+    if (javaClasses) {
+      File jar = new File(fullfile(openapiRoot, "lib", "jar", "MATLABClient.jar"));
+      if (!jar.isFile()) {
+        throw new IllegalStateException(jar + " does not exist, it is built by running mvn package in Software/Java");
+      }
+      supportingFiles.add(new SupportingFile(jar.getPath(), fullfile(outputPackageRoot, "MATLABClient.jar")));
+    }
+
     modelPackage = packageName + "." + modelPackage;
     apiPackage = packageName + "." + apiPackage;
   }
 
+  /**
+   * Marks the first successful response of op which is an array of models as
+   * the response which is decoded in chunks by the streaming variant of op.
+   */
+  private static void addStreamedResponse(CodegenOperation op) {
+    for (CodegenResponse r : op.responses) {
+      if (r.is2xx && !r.isRange() && r.isArray && !r.primitiveType && r.items != null && r.items.isModel) {
+        op.vendorExtensions.put("x-matlab-stream-code", r.code);
+        op.vendorExtensions.put("x-matlab-stream-model", r.items.dataType);
+        return;
+      }
+    }
+  }
+
+  private boolean isCached(CodegenOperation op) {
+    Object cache = op.vendorExtensions.get(CACHE_EXTENSION);
+    if (cache == null || !Boolean.parseBoolean(cache.toString())) {
+      return false;
+    }
+    if (!"GET".equalsIgnoreCase(op.httpMethod)) {
+      LOGGER.warn("Ignoring " + CACHE_EXTENSION + " of " + op.httpMethod + " operation " + op.operationId
+          + ", only GET operations are cached");
+      return false;
+    }
+    return true;
+  }
+
   @Override
   public List<CodegenSecurity> fromSecurity(Map<String, SecurityScheme> securitySchemeMap) {
     // If ADD_AUTH is specified do add this method to the security scheme map
@@ -259,6 +470,12 @@ public class MATLABClientCodegen extends MATLABCodegen {
     cliOptions.add(new CliOption("openapiRoot",
         "Location of Software/MATLAB directory"));
 
+    CliOption transport = new CliOption(HTTP_TRANSPORT,
+        "HTTP transport used by the generated client.").defaultValue("matlab");
+    transport.addEnum("matlab", "matlab.net.http.RequestMessage.send");
+    transport.addEnum("java", "Pooled java.net.http.HttpClient, requires MATLAB to run on Java 11 or newer");
+    cliOptions.add(transport);
+
   }
 
 
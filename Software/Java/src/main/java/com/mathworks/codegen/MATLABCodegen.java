@@ -1,35 +1,47 @@
 package com.mathworks.codegen;
 
-import static org.openapitools.codegen.utils.StringUtils.camelize;
-
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CodegenComposedSchemas;
 import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
 import org.openapitools.codegen.CodegenParameter;
 import org.openapitools.codegen.CodegenProperty;
 import org.openapitools.codegen.DefaultCodegen;
 import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.model.ModelMap;
 import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.servers.Server;
 
 // Copyright 2022-2025 The MathWorks, Inc.
 
@@ -39,6 +51,16 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
     public String packageName; // e.g. petstore_api
     public String packageVersion;
 
+    String NAME_REGISTRY = "NameRegistry";
+    String PARALLEL_MODEL_PROCESSING = "ParallelModelProcessing";
+    String INCREMENTAL_GENERATION = "IncrementalGeneration";
+    String BULK_DECODE = "BulkDecode";
+    String GENERATION_METRICS = "GenerationMetrics";
+    String PARALLEL_RENDERING = "ParallelRendering";
+    String DEDUPLICATE_MODELS = "DeduplicateModels";
+
+    protected boolean parallelModelProcessing = false;
+
     MATLABCodegen() {
         super();
         
@@ -95,6 +117,8 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
          */
         embeddedTemplateDir = "embeddedMustacheDirectory";
 
+        // Replaces the default Mustache engine
+        setTemplatingEngine(getTemplatingEngine());
     }
 
     public void setTemplateDir() {
@@ -105,6 +129,8 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
 
     @Override
     public void processOpts() {
+        metrics = new MATLABGenerationMetrics();
+        metrics.enter(MATLABGenerationMetrics.Phase.PREPROCESS);
         super.processOpts();
         if (additionalProperties.containsKey(CodegenConstants.PACKAGE_NAME)) {
             setPackageName((String) additionalProperties.get(CodegenConstants.PACKAGE_NAME));
@@ -178,6 +204,192 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
         // name
         setEnablePostProcessFile(true);
 
+        // Optionally determine model names concurrently in postProcessAllModels
+        if (additionalProperties.containsKey(PARALLEL_MODEL_PROCESSING)) {
+            parallelModelProcessing = convertPropertyToBooleanAndWriteBack(PARALLEL_MODEL_PROCESSING);
+        }
+
+        // Optionally have models deserialize JSON text using jsondecode
+        if (additionalProperties.containsKey(BULK_DECODE)) {
+            convertPropertyToBooleanAndWriteBack(BULK_DECODE);
+        }
+
+        // Optionally render and write files on a pool of workers, either true
+        // for one worker per processor or the number of workers
+        renderingWorkers = 0;
+        if (additionalProperties.containsKey(PARALLEL_RENDERING)) {
+            String value = additionalProperties.get(PARALLEL_RENDERING).toString().trim();
+            if (value.matches("\\d+")) {
+                renderingWorkers = Integer.parseInt(value);
+            } else if (Boolean.parseBoolean(value)) {
+                renderingWorkers = Runtime.getRuntime().availableProcessors();
+            }
+            // Does not affect the generated code, keep it out of the bundles
+            // such that they are the same as in serial mode
+            additionalProperties.remove(PARALLEL_RENDERING);
+        }
+        if (renderingWorkers > 1 && renderer == null) {
+            if (!serialRendering) {
+                // DefaultGenerator writes the files itself, which would
+                // silently ignore the option
+                throw new IllegalArgumentException(PARALLEL_RENDERING + " requires the generator to be run as "
+                        + "com.mathworks.codegen.MATLABGenerator instead of org.openapitools.codegen.OpenAPIGenerator, "
+                        + "or of DefaultGenerator when generating programmatically");
+            }
+            renderingWorkers = 1;
+        }
+        if (renderingWorkers > 1) {
+            // Supporting files are looked up while rendering, and may still be
+            // added while processing operations
+            supportingFiles = new CopyOnWriteArrayList<SupportingFile>(supportingFiles);
+        }
+
+        // Load previously truncated names such that their suffixes remain stable
+        if (additionalProperties.containsKey(NAME_REGISTRY)) {
+            nameRegistryFile = new File((String) additionalProperties.get(NAME_REGISTRY));
+            if (!nameRegistryFile.isAbsolute()) {
+                nameRegistryFile = new File(outputFolder, nameRegistryFile.getPath());
+            }
+            try {
+                nameRegistry.load(nameRegistryFile);
+            } catch (IOException e) {
+                LOGGER.error("Unable to load name registry: " + nameRegistryFile, e);
+            }
+        }
+
+        // Reserved words may have been reconfigured, do not reuse any names
+        // which may have been determined before
+        nameSanitizer.clear();
+
+        // Only regenerate model and API files whose input changed
+        if (isIncrementalGeneration()) {
+            additionalProperties.put(INCREMENTAL_GENERATION, true);
+            generationManifest = new MATLABGenerationManifest(outputFolder, templateDir);
+            try {
+                generationManifest.load();
+            } catch (IOException e) {
+                LOGGER.error("Unable to load generation manifest, regenerating all files", e);
+            }
+        }
+
+        // Optionally merge structurally identical models and inline enums
+        deduplicator = null;
+        if (additionalProperties.containsKey(DEDUPLICATE_MODELS)
+                && convertPropertyToBooleanAndWriteBack(DEDUPLICATE_MODELS)) {
+            deduplicator = new MATLABModelDeduplicator();
+        }
+
+        // Timers and counters are reported unless disabled
+        if (additionalProperties.containsKey(GENERATION_METRICS)) {
+            convertPropertyToBooleanAndWriteBack(GENERATION_METRICS);
+        }
+    }
+
+    @Override
+    public void preprocessOpenAPI(OpenAPI openAPI) {
+        super.preprocessOpenAPI(openAPI);
+        // All options are processed, so the supporting files are known
+        supportingFilesChanged();
+        metrics.enter(MATLABGenerationMetrics.Phase.PROCESS_MODELS);
+    }
+
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        // Incremental generation relies on unchanged files not being written.
+        // This is queried before processOpts is called so the additional
+        // property is checked directly.
+        return super.isEnableMinimalUpdate() || isIncrementalGeneration();
+    }
+
+    private boolean isIncrementalGeneration() {
+        Object value = additionalProperties.get(INCREMENTAL_GENERATION);
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    /**
+     * @return manifest of the previous generation if generating incrementally,
+     *         null otherwise
+     */
+    MATLABGenerationManifest getGenerationManifest() {
+        return generationManifest;
+    }
+
+    /**
+     * @return timers and counters of the current generation
+     */
+    MATLABGenerationMetrics getGenerationMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return number of workers which render and write files, at most 1 if
+     *         files are rendered serially
+     */
+    int getRenderingWorkers() {
+        return renderingWorkers;
+    }
+
+    /**
+     * Called by the renderer which writes the files of this codegen, see
+     * {@link MATLABGenerator}.
+     */
+    void setParallelRenderer(MATLABParallelRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Called by {@link MATLABGenerator} in dry run mode, in which files are
+     * rendered serially even if ParallelRendering is set.
+     */
+    void setSerialRendering() {
+        this.serialRendering = true;
+    }
+
+    private boolean isGenerationMetrics() {
+        Object value = additionalProperties.get(GENERATION_METRICS);
+        return value == null || Boolean.parseBoolean(value.toString());
+    }
+
+    @Override
+    public void postProcess() {
+        // Wait for files which are still being written
+        metrics.enter(MATLABGenerationMetrics.Phase.AWAIT_FILES);
+        if (renderer != null) {
+            renderer.flush();
+        }
+        // Save truncated names for the next generation
+        if (nameRegistryFile != null) {
+            try {
+                nameRegistry.save(nameRegistryFile);
+            } catch (IOException e) {
+                LOGGER.error("Unable to save name registry: " + nameRegistryFile, e);
+            }
+        }
+        // Report what was regenerated and save the manifest for the next
+        // generation
+        if (generationManifest != null) {
+            for (String key : generationManifest.regenerated()) {
+                LOGGER.info("Regenerated: " + key);
+            }
+            LOGGER.info("Incremental generation: " + generationManifest.regenerated().size()
+                    + " model and API files regenerated, " + generationManifest.unchangedCount() + " unchanged");
+            try {
+                generationManifest.save();
+            } catch (IOException e) {
+                LOGGER.error("Unable to save generation manifest", e);
+            }
+        }
+        // Report timers and counters next to the build log
+        metrics.finish();
+        if (isGenerationMetrics()) {
+            File file = new File(outputFolder, MATLABGenerationMetrics.filename(packageName));
+            try {
+                MATLABGenerationMetrics.save(metrics.report(getName(), packageName, nameRegistry.size()), file);
+            } catch (IOException e) {
+                LOGGER.error("Unable to save generation metrics: " + file, e);
+            }
+        }
+        super.postProcess();
     }
 
     public String openapiRoot;
@@ -201,32 +413,108 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
 
     private String[] supportedEnumNameExtensions = { "x-enumNames" };
 
-    private Map<String, Object> sanitizeEnumValues(Map<String, Object> allowableValues,
+    private List<String> enumValueNames(Map<String, Object> allowableValues,
             Map<String, Object> vendorExtensions) {
-        // Add enum values as allowableValues
-        ArrayList<Object> allEnumValues = new ArrayList<Object>();
-        ArrayList<Object> vals = (ArrayList<Object>) allowableValues.get("values");
-        ArrayList<String> nameList = null;
+        List<?> vals = (List<?>) allowableValues.get("values");
+        List<?> nameList = null;
         for (String pn : supportedEnumNameExtensions) {
             if (vendorExtensions.containsKey(pn)) {
-                nameList = (ArrayList<String>) vendorExtensions.get(pn);
+                nameList = (List<?>) vendorExtensions.get(pn);
                 break;
             }
         }
+        ArrayList<String> names = new ArrayList<String>(vals.size());
         for (int i = 0; i < vals.size(); i++) {
-            HashMap<String, Object> enumVal = new HashMap<String, Object>();
-            enumVal.put("baseName", vals.get(i));
             if (nameList != null) {
-                enumVal.put("name", ensureNotEmpty(toVarName(nameList.get(i))));
+                names.add((String) nameList.get(i));
             } else {
-                enumVal.put("name", ensureNotEmpty(toVarName(vals.get(i).toString())));
+                names.add(vals.get(i).toString());
             }
+        }
+        return names;
+    }
+
+    private Map<String, Object> sanitizeEnumValues(Map<String, Object> allowableValues, List<String> names) {
+        // Add enum values as allowableValues
+        ArrayList<Object> allEnumValues = new ArrayList<Object>();
+        List<?> vals = (List<?>) allowableValues.get("values");
+        for (int i = 0; i < vals.size(); i++) {
+            HashMap<String, Object> enumVal = new HashMap<String, Object>();
+            enumVal.put("baseName", vals.get(i));
+            enumVal.put("name", ensureNotEmpty(toVarName(names.get(i))));
 
             allEnumValues.add(enumVal);
         }
         return Collections.singletonMap("values", allEnumValues);
     }
 
+    /**
+     * Work on a single model in postProcessAllModels which does not depend on
+     * any other model, see {@link #prepareModel}.
+     */
+    private static final class PreparedModel {
+        // Names of the enum values of the model itself
+        List<String> enumNames;
+        // Names of the enum values of every inline enum, in the order of vars
+        final List<List<String>> inlineEnumNames = new ArrayList<List<String>>();
+        // Properties which are a oneOf of which a schema is primitive or array
+        final List<CodegenProperty> oneOfPrimitives = new ArrayList<CodegenProperty>();
+    }
+
+    /**
+     * Collects the enum values of a model and its inline enums and applies
+     * the MATLAB naming rules to them without truncating them yet, and finds
+     * the oneOf properties which refer to primitives. Does not modify the
+     * model, and is thus safe to be called concurrently for different models.
+     */
+    private PreparedModel prepareModel(CodegenModel mo, Map<String, CodegenModel> modelIndex) {
+        PreparedModel prepared = new PreparedModel();
+        if (mo.isEnum) {
+            prepared.enumNames = prepareEnumValueNames(mo.allowableValues, mo.vendorExtensions);
+        } else if (mo.hasVars) {
+            for (CodegenProperty prop : mo.vars) {
+                if (prop.isEnum) {
+                    prepared.inlineEnumNames.add(prepareEnumValueNames(prop.allowableValues, prop.vendorExtensions));
+                }
+                // For the oneOf check we want to check both properties which are oneOf directly
+                // as well
+                // as properties which are an array of oneOfs
+                if (prop.isArray) {
+                    prop = prop.items;
+                }
+                // If the property is indeed a oneOf
+                if (prop.vendorExtensions.containsKey("x-one-of-name")) {
+                    // Get the Model which was generated for the OneOf
+                    CodegenModel oo = modelIndex.get(prop.complexType);
+                    // And get the list of schemas of which it is composed
+                    CodegenComposedSchemas c = oo.getComposedSchemas();
+                    if (c != null) {
+                        List<CodegenProperty> l = c.getOneOf();
+                        // Check whether any is primitive or an array
+                        Boolean ip = false;
+                        for (CodegenProperty p : l) {
+                            ip = ip || p.isPrimitiveType || p.isArray;
+                        }
+                        // If so, add x-is-one-of-primitives tag
+                        if (ip) {
+                            prepared.oneOfPrimitives.add(prop);
+                        }
+                    }
+                }
+            }
+        }
+        return prepared;
+    }
+
+    private List<String> prepareEnumValueNames(Map<String, Object> allowableValues,
+            Map<String, Object> vendorExtensions) {
+        List<String> names = enumValueNames(allowableValues, vendorExtensions);
+        for (String name : names) {
+            nameSanitizer.prepare(MATLABNameSanitizer.Kind.VAR, name);
+        }
+        return names;
+    }
+
     @Override
     public void postProcessModelProperty(CodegenModel model, CodegenProperty property) {
         super.postProcessModelProperty(model, property);
@@ -238,118 +526,256 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
 
     @Override
     public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        metrics.enter(MATLABGenerationMetrics.Phase.POST_PROCESS_MODELS);
+        metrics.models(objs.size());
+
         // Call super
         Map<String, ModelsMap> models = super.postProcessAllModels(objs);
 
+        // Look up all models once, rather than for every oneOf property
+        Map<String, CodegenModel> modelIndex = new HashMap<String, CodegenModel>();
+        for (final String key : models.keySet()) {
+            modelIndex.put(key, ModelUtils.getModelByName(key, models));
+        }
+        // Properties refer to models by class name, which differs from the
+        // schema name if that is not a valid MATLAB name
+        for (final String key : models.keySet()) {
+            CodegenModel model = modelIndex.get(key);
+            if (model != null) {
+                modelIndex.putIfAbsent(model.classname, model);
+            }
+        }
+
+        // Optionally remove models which are identical to other models before
+        // synthesizing their inline enums
+        if (deduplicator != null) {
+            deduplicator.deduplicate(models, modelIndex);
+        }
+
+        // Models which are generated, in order, merged models are skipped
+        List<String> keys = new ArrayList<String>(objs.keySet());
+        if (deduplicator != null) {
+            keys.removeIf(key -> !models.containsKey(key));
+        }
+        // First do all work on the individual models which does not depend on
+        // other models, in parallel mode concurrently. The results are
+        // collected in the order of the models, and the loop below, which
+        // truncates and allocates names, still visits all models in order such
+        // that the generated code is exactly the same as in serial mode.
+        List<PreparedModel> preparedModels = (parallelModelProcessing ? keys.parallelStream() : keys.stream())
+                .map(key -> prepareModel(modelIndex.get(key), modelIndex))
+                .collect(Collectors.toList());
+
+        // All newly defined enum models share the global additionalProperties
+        // (like jsonmapperPackage) rather than each holding a copy
+        Map<String, Object> sharedProperties = Collections.unmodifiableMap(additionalProperties);
+        if (renderingWorkers > 1) {
+            // The enum models are rendered while operations are processed,
+            // which may add properties, so they get the properties as they
+            // are now, which is what they are rendered with in serial mode
+            sharedProperties = Collections.unmodifiableMap(new HashMap<String, Object>(additionalProperties));
+        }
+
         // Pull out inline enums and turn into actual models and
         // for OneOf check whether they are a oneOf primitives
 
-        // Models to be added
-        Map<String, ModelsMap> enumModels = new HashMap<String, ModelsMap>();
+        // Models to be added, in the order in which they were defined
+        Map<String, ModelsMap> enumModels = new LinkedHashMap<String, ModelsMap>();
         // For all original models
-        for (final String key : objs.keySet()) {
+        for (int i = 0; i < keys.size(); i++) {
             // Get the model
-            CodegenModel mo = ModelUtils.getModelByName(key, models);
+            CodegenModel mo = modelIndex.get(keys.get(i));
+            PreparedModel prepared = preparedModels.get(i);
 
             if (mo.isEnum) {
                 // If the model is already an enum, just escape the names
-                mo.setAllowableValues(sanitizeEnumValues(mo.allowableValues, mo.vendorExtensions));
+                mo.setAllowableValues(sanitizeEnumValues(mo.allowableValues, prepared.enumNames));
             } else if (mo.hasVars) {
                 // If the model is not an enum but has variables
 
                 // Go through all variables
+                int inlineEnum = 0;
                 for (CodegenProperty prop : mo.vars) {
                     // If the variable is an enum
                     if (prop.isEnum) {
-                        // Form an unique enum name based on the class and inline enum
-                        String newEnumName = truncateto63(mo.classname, prop.enumName);
+                        List<String> names = prepared.inlineEnumNames.get(inlineEnum++);
+                        // When deduplicating, reuse the enum of an earlier
+                        // inline enum with the same type and values
+                        Map<String, Object> allowableValues = null;
+                        String newEnumName = null;
+                        if (deduplicator != null) {
+                            allowableValues = sanitizeEnumValues(prop.allowableValues, names);
+                            newEnumName = deduplicator.inlineEnum(prop, allowableValues);
+                        }
+                        if (newEnumName == null) {
+                            // Form an unique enum name based on the class and inline enum
+                            newEnumName = truncateto63(mo.classname, prop.enumName);
+
+                            // Actually define a new model for the new enum
+                            ModelsMap mosMap = new MATLABModelsMap(sharedProperties);
+                            ModelMap moMap = new ModelMap();
+                            CodegenModel cgm = new CodegenModel();
+
+                            // Set the relevant properties
+                            // TODO investigate what else to set
+                            cgm.setName(newEnumName);
+                            cgm.isEnum = true;
+
+                            if (allowableValues == null) {
+                                allowableValues = sanitizeEnumValues(prop.allowableValues, names);
+                            } else {
+                                deduplicator.addInlineEnum(prop, allowableValues, newEnumName);
+                            }
+                            cgm.setAllowableValues(allowableValues);
+
+                            cgm.setClassname(newEnumName);
+
+                            // Add to the model map
+                            moMap.setModel(cgm);
+                            mosMap.setModels(Collections.singletonList(moMap));
+                            enumModels.put(newEnumName, mosMap);
+                        }
 
                         // Update the existing variable to refer to the newly generated enum
                         prop.complexType = newEnumName;
                         prop.isPrimitiveType = false;
-
-                        // Actually define a new model for the new enum
-                        ModelsMap mosMap = new ModelsMap();
-                        ModelMap moMap = new ModelMap();
-                        CodegenModel cgm = new CodegenModel();
-
-                        // Set the relevant properties
-                        // TODO investigate what else to set
-                        cgm.setName(newEnumName);
-                        cgm.isEnum = true;
-
-                        cgm.setAllowableValues(sanitizeEnumValues(prop.allowableValues, prop.vendorExtensions));
-
-                        cgm.setClassname(newEnumName);
-                        // Include all global additionalProperties (like jsonmapperPackage)
-                        moMap.putAll(additionalProperties);
-
-                        // Add to the model map
-                        moMap.setModel(cgm);
-                        mosMap.setModels(Collections.singletonList(moMap));
-                        enumModels.put(newEnumName, mosMap);
-                    }
-
-                    // For the oneOf check we want to check both properties which are oneOf directly
-                    // as well
-                    // as properties which are an array of oneOfs
-                    if (prop.isArray) {
-                        prop = prop.items;
-                    }
-                    // If the property is indeed a oneOf
-                    if (prop.vendorExtensions.containsKey("x-one-of-name")) {
-                        // Get the Model which was generated for the OneOf
-                        CodegenModel oo = ModelUtils.getModelByName(prop.complexType, models);
-                        // And get the list of schemas of which it is composed
-                        CodegenComposedSchemas c = oo.getComposedSchemas();
-                        if (c != null) {
-                            List<CodegenProperty> l = c.getOneOf();
-                            // Check whether any is primitive or an array
-                            Boolean ip = false;
-                            for (CodegenProperty p : l) {
-                                ip = ip || p.isPrimitiveType || p.isArray;
-                            }
-                            // If so, add x-is-one-of-primitives tag
-                            if (ip) {
-                                prop.vendorExtensions.put("x-is-one-of-primitives", true);
-                            }
-                        }
                     }
                 }
             }
+            for (CodegenProperty prop : prepared.oneOfPrimitives) {
+                prop.vendorExtensions.put("x-is-one-of-primitives", true);
+            }
         }
 
         // Add all newly defined enum models
         models.putAll(enumModels);
+        metrics.synthesizedEnums(enumModels.size());
+        if (deduplicator != null) {
+            LOGGER.info("Merged " + deduplicator.mergedModels() + " models and "
+                    + deduplicator.mergedInlineEnums() + " inline enums into identical classes");
+            metrics.mergedModels(deduplicator.mergedModels(), deduplicator.mergedInlineEnums());
+        }
+        metrics.enter(MATLABGenerationMetrics.Phase.WRITE_MODELS);
 
         return models;
 
     }
 
+    @Override
+    public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+        metrics.enter(MATLABGenerationMetrics.Phase.PROCESS_OPERATIONS);
+        return super.fromOperation(path, httpMethod, operation, servers);
+    }
+
+    @Override
+    public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        metrics.enter(MATLABGenerationMetrics.Phase.WRITE_APIS);
+        metrics.api(objs.getOperations().getOperation().size());
+        return super.postProcessOperationsWithModels(objs, allModels);
+    }
+
+    @Override
+    public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+        metrics.enter(MATLABGenerationMetrics.Phase.WRITE_SUPPORTING_FILES);
+        return super.postProcessSupportingFileData(objs);
+    }
+
     public String fullfile(CharSequence... elements) {
         return String.join(File.separator, elements);
     }
 
+    @Override
+    public void setTemplatingEngine(TemplatingEngineAdapter templatingEngine) {
+        // Use the MATLAB specific Mustache engine which rewrites the supporting
+        // files while they are emitted
+        if (templatingEngine instanceof MustacheEngineAdapter
+                && !(templatingEngine instanceof MATLABTemplatingEngineAdapter)) {
+            templatingEngine = new MATLABTemplatingEngineAdapter(this);
+        }
+        super.setTemplatingEngine(templatingEngine);
+    }
+
     @Override
     public void postProcessFile(File file, String fileType) {
+        // Files written by a worker are post processed by the worker
+        if (renderer != null && renderer.isScheduled(file)) {
+            return;
+        }
+        postProcessWrittenFile(file, fileType);
+    }
+
+    /**
+     * Post processes a file once it is written.
+     */
+    void postProcessWrittenFile(File file, String fileType) {
         super.postProcessFile(file, fileType);
-        // Inside the JSONMapper helper files
-        if ("supporting-file".equals(fileType) && file.getName().endsWith("m")) {
-            String contents;
+        metrics.fileWritten(fileType, file);
+        if (generationManifest != null && ("model".equals(fileType) || "api".equals(fileType))) {
+            generationManifest.written(file);
+        }
+        // Supporting files are normally already rewritten by
+        // MATLABTemplatingEngineAdapter, only when a different templating engine
+        // was configured do they need to be rewritten here
+        if ("supporting-file".equals(fileType) && file.getName().endsWith("m")
+                && !(getTemplatingEngine() instanceof MATLABTemplatingEngineAdapter)) {
             try {
-                // Replace JSONEnum|JSONMapper|JSONPropertyInfo with packaged names
-                // (Except of course when in classdef definition or as constructor name)
-                contents = FileUtils.readFileToString(file, "UTF-8");
-                java.util.regex.Pattern p = java.util.regex.Pattern.compile(
-                        "(?<!(classdef|function|error|warning).*)(JSONMapper|JSONPropertyInfo|JSONDiscriminator)");
-                java.util.regex.Matcher m = p.matcher(contents);
-                contents = m.replaceAll(additionalProperties.get("jsonmapperPackage") + ".$2");
-                FileUtils.write(file, contents, "UTF-8");
+                String contents;
+                try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                    contents = new MATLABTemplatingEngineAdapter(this).rewrite(reader);
+                }
+                Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
             } catch (IOException e) {
-                e.printStackTrace();
+                LOGGER.error("Unable to rewrite supporting file: " + file, e);
             }
+        }
+    }
+
+    /**
+     * Lets the templating engine determine again which supporting files it
+     * rewrites, to be called when supporting files are added after the
+     * options were processed.
+     */
+    void supportingFilesChanged() {
+        if (getTemplatingEngine() instanceof MATLABTemplatingEngineAdapter) {
+            ((MATLABTemplatingEngineAdapter) getTemplatingEngine()).indexSupportingFiles();
+        }
+    }
 
+    // Names of the JSONMapper helper classes
+    private static final Pattern JSONMAPPER_CLASS = Pattern.compile("JSONMapper|JSONPropertyInfo|JSONDiscriminator");
+    // Keywords after which, on the same line, JSONMapper helper classes are not
+    // qualified, i.e. in classdef definitions, constructor names and error IDs
+    private static final String[] JSONMAPPER_UNQUALIFIED_AFTER = { "classdef", "function", "error", "warning" };
+
+    /**
+     * Rewrites a single line of a .m supporting file. Replaces JSONMapper,
+     * JSONPropertyInfo and JSONDiscriminator with their packaged names, except
+     * of course when in classdef definition or as constructor name.
+     *
+     * @param line line without line terminator
+     * @return rewritten line
+     */
+    protected String rewriteSupportingFileLine(String line) {
+        // Only occurrences before the end of the first keyword are qualified
+        int end = line.length();
+        for (String keyword : JSONMAPPER_UNQUALIFIED_AFTER) {
+            int i = line.indexOf(keyword);
+            if (i >= 0 && i + keyword.length() < end) {
+                end = i + keyword.length();
+            }
+        }
+        Matcher m = JSONMAPPER_CLASS.matcher(line);
+        if (!m.find() || m.start() >= end) {
+            return line;
         }
+        String prefix = additionalProperties.get("jsonmapperPackage") + ".";
+        StringBuilder sb = new StringBuilder(line.length() + 2 * prefix.length());
+        int last = 0;
+        do {
+            sb.append(line, last, m.start()).append(prefix).append(m.group());
+            last = m.end();
+        } while (m.find() && m.start() < end);
+        return sb.append(line, last, line.length()).toString();
     }
 
     /**
@@ -393,264 +819,82 @@ public class MATLABCodegen extends DefaultCodegen implements CodegenConfig {
         return toApiName(name);
     }
 
-    private HashMap<String, String> truncatedNames = new HashMap<String, String>();
+    private final MATLABNameRegistry nameRegistry = new MATLABNameRegistry();
+
+    private MATLABGenerationMetrics metrics = new MATLABGenerationMetrics();
+
+    private int renderingWorkers;
+
+    private MATLABParallelRenderer renderer;
+
+    private boolean serialRendering;
+
+    private MATLABModelDeduplicator deduplicator;
+
+    private File nameRegistryFile;
+
+    private MATLABGenerationManifest generationManifest;
 
     /**
      * Truncates names to 63 characters, the maximum length for variable, function
      * and class names in MATLAB. As this method may get called multiple times for
-     * a given name, it tracks previously truncated names in a HashMap and ensures
-     * the same name it returned each time.
+     * a given name, it tracks previously truncated names in a registry and ensures
+     * the same name is returned each time.
      * 
      * @param name input name
      * @return truncated name
      */
-    private String truncateto63(String name) {
+    String truncateto63(String name) {
         return truncateto63(name, "");
     }
 
-    private String truncateto63(String name, String suffix) {
-        int suffixLen = suffix.length();
-        // If shorter than 64 characters just return as is
-        if (name.length() + suffixLen < 64) {
-            return name + suffix;
-        }
-
-        // If truncated before, return the previously determined name
-        if (truncatedNames.containsKey(name + suffix)) {
-            return truncatedNames.get(name + suffix);
-        }
-        // If first time, append truncate and append _0000 to the name
-        int counter = 0;
-        String newName = name.substring(0, 58 - suffixLen) + suffix + "_" + String.format("%04d", counter++);
-        // Verify that this is unique and not used before for another name with the same
-        // prefix
-        while (truncatedNames.containsValue(newName)) {
-            // Keep increasing the counter until a unique name is formed
-            newName = name.substring(0, 58 - suffixLen) + suffix + "_" + String.format("%04d", counter++);
-        }
-        // Store the new truncated name in the hashmap
-        truncatedNames.put(name + suffix, newName);
-        // Return the new truncated name
-        return newName;
+    String truncateto63(String name, String suffix) {
+        return nameRegistry.truncate(name, suffix);
     }
 
+    private final MATLABNameSanitizer nameSanitizer = new MATLABNameSanitizer(this);
+
     @Override
     public String toModelName(String name) {
-        String origName = name;
-
-        // sanitize name for Java
-        name = sanitizeName(name);
-        // remove dollar sign
-        name = name.replaceAll("$", "");
-
-        // model name cannot use reserved keyword, e.g. return
-        if (isReservedWord(name)) {
-            LOGGER.info(
-                    "Cannot use reserved word as model name: " + name + " renaming to: "
-                            + camelize("model" + name));
-            name = camelize("model" + name); // e.g. return => ModelReturn (after camelize)
-        }
-
-        // model name starts with number
-        if (name.matches("^\\d.*")) {
-            LOGGER.info(
-                    "Model name cannot start with a number: " + name + " renaming to: "
-                            + camelize("model" + name));
-            name = camelize("model" + name); // e.g. 200Response => Model200Response (after camelize)
-        }
-
-        // if model name starts with underscore prefix with x
-        if (name.matches("^\\_.*")) {
-            name = "x" + name;
-        }
+        String classname = nameSanitizer.sanitize(MATLABNameSanitizer.Kind.MODEL, name);
+        // Operations refer to merged models by their original name
+        return deduplicator == null ? classname : deduplicator.canonical(classname);
+    }
 
-        // remove any hypens from names, replace with underscores
-        if (name.contains("-")) {
-            LOGGER.info("Model name cannot contain - : " + name + " replacing with _");
-            name.replaceAll("-", "_");
+    @Override
+    protected void updateRequestBodyForObject(CodegenParameter codegenParameter, Schema schema, String name,
+            Set<String> imports, String bodyParameterName) {
+        super.updateRequestBodyForObject(codegenParameter, schema, name, imports, bodyParameterName);
+        // Body parameters named after a merged model keep the name of the
+        // model they refer to, only their type is the model which is kept
+        if (deduplicator != null && StringUtils.isNotBlank(name) && StringUtils.isEmpty(bodyParameterName)) {
+            String original = nameSanitizer.sanitize(MATLABNameSanitizer.Kind.MODEL, name);
+            if (!original.equals(codegenParameter.baseName)
+                    && codegenParameter.baseName.equals(deduplicator.canonical(original))) {
+                codegenParameter.baseName = original;
+                codegenParameter.paramName = toParamName(original);
+            }
         }
-
-        // if (!name.equals(origName)) {
-        // LOGGER.info("Model name changed from: " + origName + " to: "
-        // + name);
-        // }
-
-        name = truncateto63(name);
-
-        return name;
     }
 
     @Override
     public String toParamName(String name) {
-        String origName = name;
-
-        // sanitize name for Java
-        name = sanitizeName(name);
-
-        // remove dollar sign
-        name = name.replaceAll("$", "");
-
-        // remove any hypens from names, replace with underscores
-        if (name.matches("-")) {
-            name.replaceAll("-", "_");
-        }
-
-        // if model name starts with number prefix with x
-        if (name.matches("^\\d.*")) {
-            name = "x" + name;
-        }
-
-        // if model name starts with underscore prefix with x
-        if (name.matches("^\\_.*")) {
-            name = "x" + name;
-        }
-
-        // for reserved word or prefix with _
-        if (isReservedWord(name)) {
-            name = "x" + name;
-        }
-
-        if (!name.matches(origName)) {
-            LOGGER.info("Variable name changed from: " + origName + " to: " + name);
-        }
-
-        name = truncateto63(name);
-
-        return name;
+        return nameSanitizer.sanitize(MATLABNameSanitizer.Kind.PARAM, name);
     }
 
-    // In addition, words which are not valid property names
-    HashSet<String> reservedVarWords = new HashSet<String>(
-            Arrays.asList(
-                    "properties", "methods", "events", "enumerators"));
-
     @Override
     public String toVarName(String name) {
-        String origName = name;
-
-        // remove dollar sign
-        name = name.replace("$", "");
-
-        // remove any logical style operators replace with MATLAB equivalents
-        name = name.replace("!", "not");
-        name = name.replace("=", "eq");
-        name = name.replace(">", "gt");
-        name = name.replace("<", "lt");
-        name = name.replace("~", "tilde");
-
-        // sanitize name for Java
-        name = sanitizeName(name);
-
-        // remove any hyphens from names, replace with underscores
-        name = name.replace("-", "_");
-
-        // if model name starts with number prefix with x
-        if (name.matches("^\\d.*")) {
-            name = "x" + name;
-        }
-
-        // if model name starts with underscore prefix with x
-        if (name.matches("^\\_.*")) {
-            name = "x" + name;
-        }
-
-        // for reserved word or prefix with _
-        if (name != null && (reservedWords.contains(name.toLowerCase(Locale.ROOT))
-                || reservedVarWords.contains(name.toLowerCase(Locale.ROOT)))) {
-            name = "x" + name;
-        }
-
-        name = truncateto63(name);
-
-        if (!name.matches(origName)) {
-            LOGGER.info("Variable name changed from: " + origName + " to: " + name);
-        }
-
-        return name;
+        return nameSanitizer.sanitize(MATLABNameSanitizer.Kind.VAR, name);
     }
 
     @Override
     public String toApiName(String name) {
-        String origName = name;
-
-        // sanitize name for Java
-        name = sanitizeName(name);
-        // remove dollar sign
-        name = name.replaceAll("$", "");
-
-        // model name cannot use reserved keyword, e.g. return
-        if (isReservedWord(name)) {
-
-            LOGGER.info(
-                    "Cannot use reserved word as model name: " + name + " renaming to: "
-                            + camelize("api" + name));
-            name = camelize("api" + name); // e.g. return => ModelReturn (after camelize)
-        }
-
-        // model name starts with number
-        if (name.matches("^\\d.*")) {
-            System.out
-                    .println("api name cannot start with a number: " + name + " renaming to: "
-                            + camelize("api" + name));
-            name = camelize("api" + name); // e.g. 200Response => Model200Response (after camelize)
-        }
-
-        // remove any hyphens from names, replace with underscores
-        if (name.matches("-")) {
-            LOGGER.info("api name cannot contain - : " + name + " replacing with _");
-            name.replaceAll("-", "_");
-        }
-
-        if (!name.matches(origName)) {
-            LOGGER.info("api name changed from: " + origName + " to: " + name);
-        }
-
-        name = truncateto63(name);
-
-        return camelize(name);
+        return nameSanitizer.sanitize(MATLABNameSanitizer.Kind.API, name);
     }
 
     @Override
     public String toOperationId(String name) {
-
-        String origName = name;
-
-        // sanitize name for Java
-        name = sanitizeName(name);
-
-        // if model name starts with number prefix with _
-        if (name.matches("^\\d.*")) {
-            name = "_" + name;
-        }
-
-        // remove any hyphens from names, replace with underscores
-        if (name.matches("-")) {
-            name.replaceAll("-", "_");
-        }
-
-        // remove dollar sign
-        name = name.replaceAll("$", "");
-
-        // check for empty method name
-        if (StringUtils.isEmpty(name)) {
-            LOGGER.info("Error: Empty method name / operationId not permitted");
-        }
-
-        // method name cannot be a reserved keyword
-        if (isReservedWord(name)) {
-            LOGGER.info(
-                    "Method name cannot be a reserved word: " + name + " renaming to: "
-                            + sanitizeName("call_" + name));
-            name = "call_" + name;
-        }
-
-        if (!name.matches(origName)) {
-            LOGGER.info("Method name changed from: " + origName + " to: " + name);
-        }
-
-        name = truncateto63(name);
-
-        return name;
+        return nameSanitizer.sanitize(MATLABNameSanitizer.Kind.OPERATION, name);
     }
 
     @Override
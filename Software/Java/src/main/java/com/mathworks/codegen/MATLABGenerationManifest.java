@@ -0,0 +1,371 @@
+package com.mathworks.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.samskivert.mustache.Mustache;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Manifest of the model and API files written in a previous generation, used
+ * for incremental generation.
+ *
+ * For every model and API file the manifest records a fingerprint of the
+ * input to its template, i.e. the CodegenModel or CodegenOperation content and
+ * all other values in the template bundle, combined with a hash of all
+ * templates. When regenerating, a file whose fingerprint did not change is not
+ * rendered again; its existing contents are used instead, which combined with
+ * minimal update means the file is not written either and keeps its
+ * modification time. The manifest also records a hash of every written file,
+ * files which were changed since, e.g. edited by hand, are rendered again.
+ */
+final class MATLABGenerationManifest {
+
+    /**
+     * Location of the manifest relative to the output folder
+     */
+    static final String FILENAME = ".openapi-generator" + File.separator + "MATLAB_MANIFEST.json";
+
+    // Bundle entries which change on every run without affecting the output
+    private static final List<String> IGNORED_KEYS = Arrays.asList("generatedDate");
+
+    static final class Entry {
+        public String fingerprint;
+        public String file;
+        // Hash of the contents of file as written
+        public String output;
+    }
+
+    private final File outputFolder;
+    private final String templateHash;
+
+    // Entries read from a previous generation
+    private Map<String, Entry> previous = new TreeMap<String, Entry>();
+    // Entries of the current generation
+    private final Map<String, Entry> current = new ConcurrentHashMap<String, Entry>();
+    // Entry of the file which was last compiled by a thread, its file is set
+    // once written by that same thread
+    private final ThreadLocal<Entry> pending = new ThreadLocal<Entry>();
+
+    private int unchanged = 0;
+    private final List<String> regenerated = new ArrayList<String>();
+
+    /**
+     * @param outputFolder output folder of the generation
+     * @param templateDir  directory with the templates, all files in this
+     *                     directory are included in the fingerprints
+     */
+    MATLABGenerationManifest(String outputFolder, String templateDir) {
+        this.outputFolder = new File(outputFolder);
+        this.templateHash = hashDirectory(templateDir);
+    }
+
+    /**
+     * Loads the manifest of a previous generation from the output folder.
+     * Does nothing if there is no such manifest.
+     *
+     * @throws IOException if the manifest exists but cannot be read
+     */
+    void load() throws IOException {
+        File file = new File(outputFolder, FILENAME);
+        if (file.isFile()) {
+            previous = new ObjectMapper().readValue(file, new TypeReference<TreeMap<String, Entry>>() {
+            });
+        }
+    }
+
+    /**
+     * Saves the entries of the current generation to the output folder.
+     * Entries of files which were not generated in the current generation are
+     * dropped.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    void save() throws IOException {
+        File file = new File(outputFolder, FILENAME);
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file, new TreeMap<String, Entry>(current));
+    }
+
+    /**
+     * Determines whether the file rendered from template with bundle is
+     * unchanged since the previous generation.
+     *
+     * @param templateFile template to be rendered
+     * @param bundle       data to render the template with
+     * @return contents of the previously generated file if unchanged, null if
+     *         the template needs to be rendered
+     * @throws IOException if the previously generated file cannot be read
+     */
+    String unchanged(String templateFile, Map<String, Object> bundle) throws IOException {
+        pending.remove();
+        String key = keyOf(templateFile, bundle);
+        if (key == null) {
+            // Not a model or API file
+            return null;
+        }
+        Entry entry = new Entry();
+        entry.fingerprint = fingerprint(templateFile, bundle);
+        current.put(key, entry);
+        pending.set(entry);
+
+        Entry before = previous.get(key);
+        if (before != null && before.fingerprint.equals(entry.fingerprint) && before.output != null) {
+            File file = new File(outputFolder, before.file);
+            if (file.isFile()) {
+                byte[] bytes = Files.readAllBytes(file.toPath());
+                // Files which were changed since they were written are
+                // rendered again
+                if (before.output.equals(hash(bytes))) {
+                    entry.output = before.output;
+                    synchronized (this) {
+                        unchanged++;
+                    }
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+        }
+        synchronized (this) {
+            regenerated.add(key);
+        }
+        return null;
+    }
+
+    /**
+     * Records the file to which the model or API which was last compiled by
+     * the calling thread was written, and a hash of its contents.
+     *
+     * @param file written file
+     */
+    void written(File file) {
+        Entry entry = pending.get();
+        if (entry != null) {
+            entry.file = outputFolder.getAbsoluteFile().toPath()
+                    .relativize(file.getAbsoluteFile().toPath()).toString();
+            // Contents of unchanged files were compared with the hash already
+            if (entry.output == null) {
+                try {
+                    entry.output = hash(Files.readAllBytes(file.toPath()));
+                } catch (IOException e) {
+                    // Left unset, such that the file is rendered again
+                }
+            }
+            pending.remove();
+        }
+    }
+
+    /**
+     * @return number of model and API files which were not rendered again
+     */
+    synchronized int unchangedCount() {
+        return unchanged;
+    }
+
+    /**
+     * @return keys of the model and API files which were rendered
+     */
+    synchronized List<String> regenerated() {
+        return regenerated;
+    }
+
+    private static String keyOf(String templateFile, Map<String, Object> bundle) {
+        if (bundle instanceof ModelsMap) {
+            List<ModelMap> models = ((ModelsMap) bundle).getModels();
+            if (models == null || models.size() != 1) {
+                return null;
+            }
+            return templateFile + ":" + models.get(0).getModel().classname;
+        }
+        Object operations = bundle.get("operations");
+        if (operations instanceof OperationMap) {
+            return templateFile + ":" + ((OperationMap) operations).getClassname();
+        }
+        return null;
+    }
+
+    private String fingerprint(String templateFile, Map<String, Object> bundle) {
+        Fingerprint fp = new Fingerprint();
+        fp.add(templateHash);
+        fp.add(templateFile);
+        addEntries(fp, bundle);
+        if (bundle instanceof MATLABModelsMap) {
+            addEntries(fp, ((MATLABModelsMap) bundle).getDefaults());
+        }
+        return fp.digest();
+    }
+
+    private static void addEntries(Fingerprint fp, Map<String, Object> map) {
+        for (Map.Entry<String, Object> e : map.entrySet()) {
+            if (!IGNORED_KEYS.contains(e.getKey())) {
+                fp.add(e.getKey());
+                fp.addValue(e.getValue());
+            }
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        Fingerprint fp = new Fingerprint();
+        fp.digest.update(bytes);
+        return fp.digest();
+    }
+
+    private static String hashDirectory(String dir) {
+        Fingerprint fp = new Fingerprint();
+        if (dir != null && new File(dir).isDirectory()) {
+            try (Stream<Path> paths = Files.walk(new File(dir).toPath())) {
+                for (Path p : paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    fp.add(p.getFileName().toString());
+                    fp.digest.update(Files.readAllBytes(p));
+                }
+            } catch (IOException e) {
+                // Templates will not be found either, never consider files
+                // unchanged
+                fp.add(String.valueOf(System.nanoTime()));
+            }
+        }
+        return fp.digest();
+    }
+
+    /**
+     * Digest of an object graph. Codegen objects are walked field by field,
+     * objects which were visited before are only referred to such that cyclic
+     * graphs (e.g. parent and child models) terminate.
+     */
+    private static final class Fingerprint {
+        private final MessageDigest digest;
+        private final Map<Object, Integer> visited = new IdentityHashMap<Object, Integer>();
+
+        // Declared fields per codegen class
+        private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<Class<?>, Field[]>();
+
+        Fingerprint() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(String s) {
+            digest.update(s.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        void addValue(Object o) {
+            if (o == null) {
+                add("null");
+            } else if (o instanceof CharSequence || o instanceof Number || o instanceof Boolean
+                    || o instanceof Character || o instanceof Enum) {
+                add(o.toString());
+            } else if (o instanceof Mustache.Lambda) {
+                // Lambdas are part of the generator, not of its input
+                add("lambda");
+            } else if (visited.containsKey(o)) {
+                add("ref" + visited.get(o));
+            } else {
+                visited.put(o, visited.size());
+                if (o instanceof Map) {
+                    add("{");
+                    for (Map.Entry<?, ?> e : ((Map<?, ?>) o).entrySet()) {
+                        addValue(e.getKey());
+                        addValue(e.getValue());
+                    }
+                    add("}");
+                } else if (o instanceof Collection) {
+                    add("[");
+                    for (Object item : (Collection<?>) o) {
+                        addValue(item);
+                    }
+                    add("]");
+                } else if (o.getClass().isArray()) {
+                    add("[");
+                    for (int i = 0; i < Array.getLength(o); i++) {
+                        addValue(Array.get(o, i));
+                    }
+                    add("]");
+                } else if (o.getClass().getName().startsWith("org.openapitools.codegen.")) {
+                    add(o.getClass().getName());
+                    for (Field f : fieldsOf(o.getClass())) {
+                        try {
+                            add(f.getName());
+                            addValue(f.get(o));
+                        } catch (IllegalAccessException e) {
+                            add("?");
+                        }
+                    }
+                } else {
+                    add(o.getClass().getName());
+                    // The default toString includes the identity hash code
+                    // which differs on every run
+                    if (!hasIdentityToString(o.getClass())) {
+                        add(o.toString());
+                    }
+                }
+            }
+        }
+
+        String digest() {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+
+        private static boolean hasIdentityToString(Class<?> c) {
+            if (c.isSynthetic()) {
+                // e.g. lambdas
+                return true;
+            }
+            try {
+                return c.getMethod("toString").getDeclaringClass() == Object.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+
+        private static Field[] fieldsOf(Class<?> c) {
+            return FIELDS.computeIfAbsent(c, k -> {
+                List<Field> fields = new ArrayList<Field>();
+                for (Class<?> t = k; t != null && t != Object.class; t = t.getSuperclass()) {
+                    for (Field f : t.getDeclaredFields()) {
+                        if (!Modifier.isStatic(f.getModifiers()) && !f.isSynthetic()) {
+                            f.setAccessible(true);
+                            fields.add(f);
+                        }
+                    }
+                }
+                fields.sort(Comparator.comparing(Field::getName));
+                return fields.toArray(new Field[0]);
+            });
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.mathworks.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Timers and counters of a single generation, written as a JSON report into
+ * the output folder when the generation completes.
+ *
+ * The generator does not tell the codegen when it moves from one phase to the
+ * next, the phases are therefore derived from the hooks which the generator
+ * calls in a fixed order, see {@link Phase}. Time spent in a phase includes
+ * everything the generator does in between, e.g. the model phase includes
+ * fromModel for all schemas. Parsing the spec happens before the codegen is
+ * even created and is not included.
+ *
+ * Counters and template render times may be updated concurrently.
+ */
+final class MATLABGenerationMetrics {
+
+    /**
+     * Phases in the order in which the generator runs them
+     */
+    enum Phase {
+        /** processOpts and preprocessOpenAPI, including normalizing the spec */
+        PREPROCESS("preprocess"),
+        /** fromModel for all schemas */
+        PROCESS_MODELS("processModels"),
+        /** postProcessAllModels, including synthesizing inline enums */
+        POST_PROCESS_MODELS("postProcessAllModels"),
+        /** Rendering and writing the model files */
+        WRITE_MODELS("writeModels"),
+        /** fromOperation for all operations */
+        PROCESS_OPERATIONS("processOperations"),
+        /** postProcessOperationsWithModels, rendering and writing the API files */
+        WRITE_APIS("writeApis"),
+        /** Rendering and writing the supporting files */
+        WRITE_SUPPORTING_FILES("writeSupportingFiles"),
+        /** Waiting for files which are rendered and written in parallel */
+        AWAIT_FILES("awaitFiles");
+
+        final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Name of the report relative to the output folder, next to the build
+     * log written by the MATLAB builder
+     */
+    static String filename(String packageName) {
+        return packageName + "_metrics.json";
+    }
+
+    // Report as written to JSON
+    static final class Report {
+        public String generator;
+        public String packageName;
+        public double totalSeconds;
+        public Map<String, Double> phases = new LinkedHashMap<String, Double>();
+        public Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        public Map<String, FileStats> files = new TreeMap<String, FileStats>();
+        // Slowest templates first
+        public List<TemplateStats> templates = new ArrayList<TemplateStats>();
+    }
+
+    static final class FileStats {
+        public long files;
+        public long bytes;
+    }
+
+    static final class TemplateStats {
+        public String template;
+        public long renders;
+        public double seconds;
+    }
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private Phase phase;
+    private long phaseStart;
+    private long start;
+    private long end;
+
+    private int models;
+    private int synthesizedEnums;
+    private int mergedModels;
+    private int mergedInlineEnums;
+    private final LongAdder apis = new LongAdder();
+    private final LongAdder operations = new LongAdder();
+
+    // File type -> {files, bytes}
+    private final Map<String, LongAdder[]> files = new ConcurrentHashMap<String, LongAdder[]>();
+    // Template -> {renders, nanoseconds}
+    private final Map<String, LongAdder[]> templates = new ConcurrentHashMap<String, LongAdder[]>();
+
+    /**
+     * Ends the current phase and starts the given one. Phases only move
+     * forward, entering the current or an earlier phase again does nothing.
+     */
+    synchronized void enter(Phase next) {
+        long now = System.nanoTime();
+        if (phase == null) {
+            start = now;
+        } else if (next.ordinal() <= phase.ordinal()) {
+            return;
+        } else {
+            phaseNanos[phase.ordinal()] += now - phaseStart;
+        }
+        phase = next;
+        phaseStart = now;
+    }
+
+    /**
+     * Ends the current phase and with it the generation.
+     */
+    synchronized void finish() {
+        long now = System.nanoTime();
+        if (phase != null) {
+            phaseNanos[phase.ordinal()] += now - phaseStart;
+            phase = null;
+        }
+        end = now;
+    }
+
+    void models(int count) {
+        models = count;
+    }
+
+    void synthesizedEnums(int count) {
+        synthesizedEnums = count;
+    }
+
+    /**
+     * Counts the models and inline enums which were merged into identical
+     * classes.
+     */
+    void mergedModels(int models, int inlineEnums) {
+        mergedModels = models;
+        mergedInlineEnums = inlineEnums;
+    }
+
+    /**
+     * Counts an API class and its operations.
+     */
+    void api(int operationCount) {
+        apis.increment();
+        operations.add(operationCount);
+    }
+
+    void fileWritten(String fileType, File file) {
+        LongAdder[] stats = files.computeIfAbsent(fileType, k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+        stats[0].increment();
+        stats[1].add(file.length());
+    }
+
+    void templateRendered(String templateFile, long nanos) {
+        // Plain supporting files are referred to by their full path
+        LongAdder[] stats = templates.computeIfAbsent(new File(templateFile).getName(),
+                k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+        stats[0].increment();
+        stats[1].add(nanos);
+    }
+
+    /**
+     * @param generator      name of the generator
+     * @param packageName    generated package
+     * @param truncatedNames number of names in the name registry
+     * @return report of the generation so far
+     */
+    synchronized Report report(String generator, String packageName, int truncatedNames) {
+        Report report = new Report();
+        report.generator = generator;
+        report.packageName = packageName;
+        report.totalSeconds = seconds((phase == null ? end : System.nanoTime()) - start);
+        for (Phase p : Phase.values()) {
+            report.phases.put(p.key, seconds(phaseNanos[p.ordinal()]));
+        }
+
+        long filesWritten = 0;
+        long bytesWritten = 0;
+        for (Map.Entry<String, LongAdder[]> e : files.entrySet()) {
+            FileStats stats = new FileStats();
+            stats.files = e.getValue()[0].sum();
+            stats.bytes = e.getValue()[1].sum();
+            filesWritten += stats.files;
+            bytesWritten += stats.bytes;
+            report.files.put(e.getKey(), stats);
+        }
+        report.counts.put("models", (long) models);
+        report.counts.put("synthesizedEnums", (long) synthesizedEnums);
+        report.counts.put("mergedModels", (long) mergedModels);
+        report.counts.put("mergedInlineEnums", (long) mergedInlineEnums);
+        report.counts.put("apis", apis.sum());
+        report.counts.put("operations", operations.sum());
+        report.counts.put("truncatedNames", (long) truncatedNames);
+        report.counts.put("filesWritten", filesWritten);
+        report.counts.put("bytesWritten", bytesWritten);
+
+        List<Map.Entry<String, LongAdder[]>> sorted = new ArrayList<Map.Entry<String, LongAdder[]>>(
+                templates.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, LongAdder[]> e) -> -e.getValue()[1].sum())
+                .thenComparing(Map.Entry::getKey));
+        for (Map.Entry<String, LongAdder[]> e : sorted) {
+            TemplateStats stats = new TemplateStats();
+            stats.template = e.getKey();
+            stats.renders = e.getValue()[0].sum();
+            stats.seconds = seconds(e.getValue()[1].sum());
+            report.templates.add(stats);
+        }
+        return report;
+    }
+
+    /**
+     * Writes the report to file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    static void save(Report report, File file) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private static double seconds(long nanos) {
+        return Math.round(nanos / 1e6) / 1e3;
+    }
+}
@@ -0,0 +1,161 @@
+package com.mathworks.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.DryRunTemplateManager;
+import org.openapitools.codegen.Generator;
+import org.openapitools.codegen.OpenAPIGenerator;
+import org.openapitools.codegen.cmd.Generate;
+
+import io.airlift.airline.Cli;
+import io.airlift.airline.ParseException;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Generator which supports the options of the MATLAB generators which need
+ * control over how files are written, i.e. ParallelRendering. For other
+ * generators, or if no such options are set, it behaves exactly like
+ * DefaultGenerator.
+ *
+ * Run it instead of org.openapitools.codegen.OpenAPIGenerator, which it
+ * delegates all commands other than generate to:
+ *
+ * <pre>
+ * java -cp openapi-generator-cli.jar:MATLAB-openapi-generator-3.0.0.jar \
+ *     com.mathworks.codegen.MATLABGenerator generate ...
+ * </pre>
+ *
+ * It is used by {@link MATLABBatchGenerator}, by {@link MATLABSpecCache} and
+ * {@link MATLABGeneratorService} if the options require it, and can be used
+ * instead of DefaultGenerator when generating code programmatically:
+ *
+ * <pre>
+ * new MATLABGenerator().opts(clientOptInput).generate();
+ * </pre>
+ */
+public class MATLABGenerator extends DefaultGenerator {
+
+    private MATLABParallelRenderer renderer;
+
+    public MATLABGenerator() {
+        super();
+    }
+
+    public MATLABGenerator(Boolean dryRun) {
+        super(dryRun);
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || !"generate".equals(args[0])) {
+            OpenAPIGenerator.main(args);
+            return;
+        }
+        try {
+            generateCommand(Arrays.asList(args)).run();
+        } catch (ParseException e) {
+            System.err.println("[error] " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parses the arguments of the generate command into a command which
+     * generates with MATLABGenerator rather than DefaultGenerator.
+     *
+     * @param args arguments starting with generate
+     * @return command to run
+     * @throws ParseException if the arguments are invalid
+     */
+    static Generate generateCommand(List<String> args) throws ParseException {
+        Generate command = parseCommand(args);
+        useMATLABGenerator(command);
+        return command;
+    }
+
+    /**
+     * Parses the arguments of the generate command like OpenAPIGenerator.
+     *
+     * @param args arguments starting with generate
+     * @return command which generates with DefaultGenerator
+     * @throws ParseException if the arguments are invalid
+     */
+    static Generate parseCommand(List<String> args) throws ParseException {
+        return (Generate) Cli.<Runnable>builder("openapi-generator-cli").withCommand(Generate.class).build()
+                .parse(args);
+    }
+
+    /**
+     * @return whether the options of command require MATLABGenerator, i.e.
+     *         ParallelRendering is set or may be set by a configuration file
+     */
+    static boolean requiresMATLABGenerator(Generate command) {
+        try {
+            if (MATLABSpecCache.get(command, "configFile") != null) {
+                return true;
+            }
+            List<String> additionalProperties = MATLABSpecCache.get(command, "additionalProperties");
+            if (additionalProperties == null) {
+                return false;
+            }
+            // Like applyAdditionalPropertiesKvpList, key=value pairs
+            // separated by commas
+            for (String properties : additionalProperties) {
+                for (String property : properties.split(",")) {
+                    String[] pair = property.split("=", 2);
+                    if (pair[0].trim().equals("ParallelRendering")
+                            && !(pair.length > 1 && pair[1].trim().equalsIgnoreCase("false"))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to generate with " + MATLABGenerator.class.getName(), e);
+        }
+    }
+
+    /**
+     * Lets command generate with MATLABGenerator rather than DefaultGenerator.
+     */
+    static void useMATLABGenerator(Generate command) {
+        try {
+            MATLABSpecCache.set(command, "generator",
+                    new MATLABGenerator(Boolean.TRUE.equals(MATLABSpecCache.get(command, "isDryRun"))));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to generate with " + MATLABGenerator.class.getName(), e);
+        }
+    }
+
+    @Override
+    public Generator opts(ClientOptInput opts) {
+        super.opts(opts);
+        // Files are only recorded in dry run mode, which is not worth doing
+        // in parallel
+        if (config instanceof MATLABCodegen) {
+            if (templateProcessor instanceof DryRunTemplateManager) {
+                ((MATLABCodegen) config).setSerialRendering();
+            } else {
+                renderer = new MATLABParallelRenderer((MATLABCodegen) config, templateProcessor);
+                templateProcessor = renderer;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public List<File> generate() {
+        try {
+            return super.generate();
+        } finally {
+            if (renderer != null) {
+                renderer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.mathworks.codegen;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openapitools.codegen.config.GlobalSettings;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.airlift.airline.ParseException;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Long running generator process which accepts generate jobs, such that
+ * builds do not pay for starting a JVM, loading the generator classes and
+ * compiling the templates every time.
+ *
+ * Run it with the same class path as the generator:
+ *
+ * <pre>
+ * java -cp openapi-generator-cli.jar:MATLAB-openapi-generator-3.0.0.jar \
+ *     com.mathworks.codegen.MATLABGeneratorService [--port N --port-file FILE] \
+ *     [--idle-timeout SECONDS] [--exit-with-parent]
+ * </pre>
+ *
+ * With --port the service listens on the loopback interface only, port 0
+ * picks a free port. The port and a random token, which every request has to
+ * include, are written to the port file as JSON. Without --port requests are
+ * read from stdin and responses are written to stdout. Every request and
+ * response is a single line of JSON:
+ *
+ * <pre>
+ * {"token": "...", "command": "generate", "arguments": "generate -g matlab-client -i spec.yaml -o out", "directory": "/work"}
+ * {"status": "ok", "output": "..."}
+ * </pre>
+ *
+ * The arguments are those of the generate command of the generator CLI, with
+ * single or double quoted values like on a command line, and the options of
+ * MATLABSpecCache. Relative paths in the arguments are resolved against the
+ * optional directory of the request, which clients set to their current
+ * directory, rather than the directory the service was started in. Commands
+ * ping and shutdown are supported as well. Jobs are run one at a time and the output
+ * of the generator is returned rather than printed. Only the MATLAB
+ * generators are supported, and the arguments are checked before running
+ * the job as the CLI would exit the process for some invalid arguments.
+ *
+ * With --exit-with-parent the service exits when its stdin is closed, i.e.
+ * when the process which started it exits. With --idle-timeout it exits when
+ * no job was run for the specified number of seconds.
+ */
+public final class MATLABGeneratorService {
+
+    private static final List<String> GENERATORS = Arrays.asList("matlab-client", "matlab-server");
+    // Options of the generate command which are checked before running it
+    private static final List<String> CHECKED_OPTIONS = Arrays.asList("-g", "--generator-name", "-i",
+            "--input-spec", "--input-spec-root-directory", "-c", "--config");
+    // Options whose values are paths, resolved against the directory of the request
+    private static final List<String> PATH_OPTIONS = Arrays.asList("-i", "--input-spec",
+            "--input-spec-root-directory", "-o", "--output", "-t", "--template-dir", "--ignore-file-override",
+            "--spec-cache");
+
+    static final class Request {
+        public String token;
+        public String command;
+        public String arguments;
+        public String directory;
+    }
+
+    static final class Response {
+        public String status;
+        public String output;
+
+        Response(String status, String output) {
+            this.status = status;
+            this.output = output;
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    // Token which requests have to include, null if not required
+    private final String token;
+    private final Object jobLock = new Object();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile boolean stopped;
+
+    MATLABGeneratorService(String token) {
+        this.token = token;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Integer port = null;
+        Path portFile = null;
+        long idleTimeout = 0;
+        boolean exitWithParent = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--port":
+                port = Integer.valueOf(args[++i]);
+                break;
+            case "--port-file":
+                portFile = Paths.get(args[++i]);
+                break;
+            case "--idle-timeout":
+                idleTimeout = (long) (Double.parseDouble(args[++i]) * 1000);
+                break;
+            case "--exit-with-parent":
+                exitWithParent = true;
+                break;
+            default:
+                System.err.println("[error] Unknown option " + args[i]);
+                System.exit(1);
+            }
+        }
+        if (port == null) {
+            new MATLABGeneratorService(null).serveStdin();
+        } else {
+            byte[] random = new byte[24];
+            new SecureRandom().nextBytes(random);
+            StringBuilder token = new StringBuilder();
+            for (byte b : random) {
+                token.append(String.format("%02x", b));
+            }
+            new MATLABGeneratorService(token.toString()).serveSocket(port, portFile, idleTimeout, exitWithParent);
+        }
+        System.exit(0);
+    }
+
+    private void serveStdin() throws IOException {
+        // Keep the actual stdout for responses, output of jobs is captured
+        PrintStream out = System.out;
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while (!stopped && (line = in.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                out.println(mapper.writeValueAsString(handle(line)));
+                out.flush();
+            }
+        }
+    }
+
+    private void serveSocket(int port, Path portFile, long idleTimeout, boolean exitWithParent) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            if (portFile != null) {
+                writePortFile(portFile, server.getLocalPort());
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> portFile.toFile().delete()));
+            }
+            if (exitWithParent) {
+                Thread watcher = new Thread(() -> {
+                    try {
+                        while (System.in.read() != -1) {
+                            // Ignore anything the parent writes
+                        }
+                    } catch (IOException e) {
+                        // Treated like end of stream
+                    }
+                    System.exit(0);
+                }, "exit-with-parent");
+                watcher.setDaemon(true);
+                watcher.start();
+            }
+            server.setSoTimeout(1000);
+            while (!stopped) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    if (idleTimeout > 0 && running.get() == 0
+                            && System.currentTimeMillis() - lastActivity > idleTimeout) {
+                        break;
+                    }
+                    continue;
+                }
+                Thread connection = new Thread(() -> serve(socket), "connection");
+                connection.setDaemon(true);
+                connection.start();
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    out.write(mapper.writeValueAsString(handle(line)));
+                    out.write('\n');
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Client went away, nothing to report to
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing to report to either
+            }
+        }
+    }
+
+    /**
+     * Writes the port and token such that a reader never sees a partially
+     * written file.
+     */
+    private void writePortFile(Path portFile, int port) throws IOException {
+        Map<String, Object> contents = new HashMap<String, Object>();
+        contents.put("port", port);
+        contents.put("token", token);
+        Path parent = portFile.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, portFile.getFileName().toString(), ".tmp");
+        // Only the current user should be able to read the token
+        File file = temp.toFile();
+        file.setReadable(false, false);
+        file.setReadable(true, true);
+        Files.write(temp, mapper.writeValueAsBytes(contents));
+        try {
+            Files.move(temp, portFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, portFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    Response handle(String line) {
+        running.incrementAndGet();
+        lastActivity = System.currentTimeMillis();
+        try {
+            Request request;
+            try {
+                request = mapper.readValue(line, Request.class);
+            } catch (IOException e) {
+                return new Response("error", "[error] Invalid request: " + e.getMessage());
+            }
+            if (token != null && !token.equals(request.token)) {
+                return new Response("error", "[error] Invalid token");
+            }
+            if ("ping".equals(request.command)) {
+                return new Response("ok", "");
+            } else if ("shutdown".equals(request.command)) {
+                stopped = true;
+                return new Response("ok", "");
+            } else if ("generate".equals(request.command)) {
+                List<String> args = tokenize(request.arguments == null ? "" : request.arguments);
+                return generate(request.directory == null ? args : resolve(args, request.directory));
+            }
+            return new Response("error", "[error] Unknown command " + request.command);
+        } finally {
+            lastActivity = System.currentTimeMillis();
+            running.decrementAndGet();
+        }
+    }
+
+    private Response generate(List<String> args) {
+        String invalid = validate(args);
+        if (invalid != null) {
+            return new Response("error", "[error] " + invalid);
+        }
+        synchronized (jobLock) {
+            PrintStream out = System.out;
+            PrintStream err = System.err;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            PrintStream capture = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+            System.setOut(capture);
+            System.setErr(capture);
+            String status = "error";
+            try {
+                MATLABSpecCache.generateCommand(args).run();
+                status = "ok";
+            } catch (ParseException e) {
+                capture.println("[error] " + e.getMessage());
+            } catch (RuntimeException e) {
+                e.printStackTrace(capture);
+            } finally {
+                System.setOut(out);
+                System.setErr(err);
+                GlobalSettings.reset();
+            }
+            capture.flush();
+            return new Response(status, new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return description of why the generate arguments are not supported,
+     *         null if they are
+     */
+    static String validate(List<String> args) {
+        if (args.isEmpty() || !args.get(0).equals("generate")) {
+            return "Arguments have to start with generate";
+        }
+        String generator = null;
+        String spec = null;
+        String specRoot = null;
+        for (int i = 1; i < args.size(); i++) {
+            String name = args.get(i);
+            String value = null;
+            int equals = name.indexOf('=');
+            if (name.startsWith("--") && equals > 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            } else if (CHECKED_OPTIONS.contains(name) && i + 1 < args.size()) {
+                value = args.get(++i);
+            }
+            switch (name) {
+            case "-g":
+            case "--generator-name":
+                generator = value;
+                break;
+            case "-i":
+            case "--input-spec":
+                spec = value;
+                break;
+            case "--input-spec-root-directory":
+                specRoot = value;
+                break;
+            case "-c":
+            case "--config":
+                return "Configuration files are not supported";
+            default:
+                // Checked by the generator itself
+            }
+        }
+        if (generator == null || !GENERATORS.contains(generator)) {
+            return "Generator has to be one of " + GENERATORS;
+        }
+        if (specRoot != null) {
+            if (!new File(specRoot).isDirectory()) {
+                return "Input spec root directory not found: " + specRoot;
+            }
+        } else if (spec == null) {
+            return "Required option '-i' is missing";
+        } else if (!spec.matches("^https?://.*") && !new File(spec).exists()) {
+            return "The spec file is not found: " + spec;
+        }
+        return null;
+    }
+
+    /**
+     * @return args with the relative paths of PATH_OPTIONS resolved against
+     *         directory, spec URLs are left unchanged
+     */
+    static List<String> resolve(List<String> args, String directory) {
+        List<String> resolved = new ArrayList<String>(args);
+        for (int i = 1; i < resolved.size(); i++) {
+            String name = resolved.get(i);
+            int equals = name.indexOf('=');
+            if (name.startsWith("--") && equals > 0) {
+                if (PATH_OPTIONS.contains(name.substring(0, equals))) {
+                    resolved.set(i, name.substring(0, equals + 1) + resolve(name.substring(equals + 1), directory));
+                }
+            } else if (PATH_OPTIONS.contains(name) && i + 1 < resolved.size()) {
+                i++;
+                resolved.set(i, resolve(resolved.get(i), directory));
+            }
+        }
+        return resolved;
+    }
+
+    private static String resolve(String path, String directory) {
+        if (path.isEmpty() || path.matches("^https?://.*") || new File(path).isAbsolute()) {
+            return path;
+        }
+        return new File(directory, path).getPath();
+    }
+
+    /**
+     * Splits a command line into arguments, quotes group characters into a
+     * single argument and are removed like a shell would. Backslashes are
+     * not treated as escape characters, as they are path separators on
+     * Windows.
+     */
+    static List<String> tokenize(String commandLine) {
+        List<String> args = new ArrayList<String>();
+        StringBuilder arg = new StringBuilder();
+        boolean inArg = false;
+        char quote = 0;
+        for (int i = 0; i < commandLine.length(); i++) {
+            char c = commandLine.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    arg.append(c);
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inArg = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArg) {
+                    args.add(arg.toString());
+                    arg.setLength(0);
+                    inArg = false;
+                }
+            } else {
+                arg.append(c);
+                inArg = true;
+            }
+        }
+        if (inArg) {
+            args.add(arg.toString());
+        }
+        return args;
+    }
+}
@@ -0,0 +1,612 @@
+package com.mathworks.codegen;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * HTTP transport for generated MATLAB clients.
+ *
+ * Sends requests using a java.net.http.HttpClient which is shared by all
+ * transports with the same configuration. The client keeps connections alive
+ * and reuses them for subsequent requests to the same server, such that TLS
+ * handshakes are not repeated for every request, and uses HTTP/2 if an HTTPS
+ * server supports it. Like matlab.net.http, server certificates are verified
+ * against the certificates in a given file rather than against the trust
+ * store of the JVM, and redirects are followed up to a maximum number.
+ *
+ * This class is not used by the generator itself, it is called from the
+ * generated HttpTransport MATLAB class which converts MATLAB request and
+ * response messages to and from the plain types used here. Requires MATLAB to
+ * run on Java 11 or newer.
+ */
+public class MATLABHttpTransport {
+
+    // Headers which HttpClient sets itself and does not allow to be set
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<String>(
+            Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+
+    // Headers which describe the encoded body, and which no longer apply once
+    // the body is decoded
+    private static final Set<String> ENCODING_HEADERS = new HashSet<String>(
+            Arrays.asList("content-encoding", "content-length"));
+
+    // Clients by configuration
+    private static final Map<String, HttpClient> CLIENTS = new ConcurrentHashMap<String, HttpClient>();
+
+    private final HttpClient client;
+
+    private final int maxRedirects;
+
+    /**
+     * @param connectTimeout  connect timeout in seconds, Inf or 0 for none
+     * @param http2           whether to use HTTP/2 if supported by an HTTPS
+     *                        server
+     * @param maxRedirects    maximum number of redirects which are followed
+     * @param proxyHost       host of the proxy, empty to connect directly
+     * @param proxyPort       port of the proxy
+     * @param certificateFile file with the PEM encoded certificates which
+     *                        server certificates are verified against
+     * @throws GeneralSecurityException if the certificates cannot be used
+     * @throws IOException              if the certificate file cannot be read
+     */
+    public MATLABHttpTransport(double connectTimeout, boolean http2, int maxRedirects, String proxyHost,
+            int proxyPort, String certificateFile) throws GeneralSecurityException, IOException {
+        this.maxRedirects = Math.max(0, maxRedirects);
+        String key = connectTimeout + "|" + http2 + "|" + proxyHost + ":" + proxyPort + "|" + certificateFile;
+        HttpClient cached = CLIENTS.get(key);
+        if (cached == null) {
+            // Redirects are followed by this class, HttpClient follows at
+            // most five
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .proxy(proxyHost == null || proxyHost.isEmpty()
+                            ? HttpClient.Builder.NO_PROXY
+                            : ProxySelector.of(InetSocketAddress.createUnresolved(proxyHost, proxyPort)))
+                    .sslContext(sslContext(certificateFile));
+            if (isTimeout(connectTimeout)) {
+                builder.connectTimeout(toDuration(connectTimeout));
+            }
+            HttpClient created = builder.build();
+            cached = CLIENTS.putIfAbsent(key, created);
+            if (cached == null) {
+                cached = created;
+            }
+        }
+        client = cached;
+    }
+
+    /**
+     * @return SSL context which trusts the certificates in certificateFile
+     *         only
+     */
+    private static SSLContext sslContext(String certificateFile) throws GeneralSecurityException, IOException {
+        KeyStore trusted = KeyStore.getInstance(KeyStore.getDefaultType());
+        trusted.load(null, null);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(certificateFile)))) {
+            int i = 0;
+            for (Certificate certificate : CertificateFactory.getInstance("X.509").generateCertificates(in)) {
+                trusted.setCertificateEntry("certificate" + i++, certificate);
+            }
+        }
+        if (trusted.size() == 0) {
+            throw new GeneralSecurityException("No certificates in " + certificateFile);
+        }
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trusted);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, trustManagers.getTrustManagers(), null);
+        return context;
+    }
+
+    /**
+     * Sends a request and waits for the response.
+     *
+     * @param method       http method
+     * @param uri          request URI
+     * @param headerNames  names of the request headers, may be null
+     * @param headerValues values of the request headers, may be null
+     * @param body         request body, may be null
+     * @param timeout      response timeout in seconds, Inf or 0 for none
+     * @return response
+     * @throws IOException          if sending the request fails
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              response
+     */
+    public Response send(String method, String uri, String[] headerNames, String[] headerValues, byte[] body,
+            double timeout) throws IOException, InterruptedException {
+        return new Response(send(new Exchange(method, headerNames, headerValues, body, timeout), URI.create(uri),
+                HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    /**
+     * Sends a request and waits for the response headers, the body is not
+     * read but returned as a stream.
+     *
+     * @see #send(String, String, String[], String[], byte[], double)
+     * @return response, whose body has to be read from
+     *         {@link Response#getBodyStream()} or {@link Response#readBody()}
+     */
+    public Response sendStreaming(String method, String uri, String[] headerNames, String[] headerValues,
+            byte[] body, double timeout) throws IOException, InterruptedException {
+        return new Response(send(new Exchange(method, headerNames, headerValues, body, timeout), URI.create(uri),
+                HttpResponse.BodyHandlers.ofInputStream()));
+    }
+
+    /**
+     * Starts sending a request and returns without waiting for the response.
+     *
+     * @see #send(String, String, String[], String[], byte[], double)
+     * @return request in flight
+     */
+    public Pending sendAsync(String method, String uri, String[] headerNames, String[] headerValues, byte[] body,
+            double timeout) {
+        Exchange exchange = new Exchange(method, headerNames, headerValues, body, timeout);
+        HttpRequest request;
+        try {
+            request = exchange.request(URI.create(uri));
+        } catch (IllegalArgumentException e) {
+            CompletableFuture<Response> failed = CompletableFuture.completedFuture(new Response(e));
+            return new Pending(failed, failed);
+        }
+        CompletableFuture<HttpResponse<byte[]>> sent = sendAsync(exchange, request,
+                HttpResponse.BodyHandlers.ofByteArray(), 0);
+        return new Pending(sent, sent.handle((response, error) -> error == null
+                ? new Response(response)
+                : new Response(error)));
+    }
+
+    /**
+     * Creates a batch of requests which are sent concurrently.
+     *
+     * @param maxInFlight maximum number of requests which are sent
+     *                    concurrently
+     * @return empty batch
+     */
+    public Batch newBatch(int maxInFlight) {
+        return new Batch(maxInFlight);
+    }
+
+    /**
+     * Sends a request and follows up to maxRedirects redirects.
+     */
+    private <T> HttpResponse<T> send(Exchange exchange, URI uri, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpRequest request = exchange.request(uri);
+        HttpResponse<T> response = client.send(request, handler);
+        for (int redirects = 0; redirects < maxRedirects; redirects++) {
+            HttpRequest next = exchange.redirect(response);
+            if (next == null) {
+                break;
+            }
+            discard(response);
+            response = client.send(next, handler);
+        }
+        return response;
+    }
+
+    /**
+     * Sends a request asynchronously and follows up to maxRedirects redirects,
+     * of which redirects were followed already.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(Exchange exchange, HttpRequest request,
+            HttpResponse.BodyHandler<T> handler, int redirects) {
+        return client.sendAsync(request, handler).thenCompose(response -> {
+            HttpRequest next = redirects < maxRedirects ? exchange.redirect(response) : null;
+            if (next == null) {
+                return CompletableFuture.completedFuture(response);
+            }
+            discard(response);
+            return sendAsync(exchange, next, handler, redirects + 1);
+        });
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream) {
+            try {
+                ((InputStream) response.body()).close();
+            } catch (IOException e) {
+                // Not read anyway
+            }
+        }
+    }
+
+    /**
+     * Request as passed by the MATLAB transport, from which the request to
+     * its URI and to the targets of redirects are built.
+     */
+    private static final class Exchange {
+        private String method;
+        private final String[] headerNames;
+        private final String[] headerValues;
+        private byte[] body;
+        private final double timeout;
+        // Whether the body was dropped when following a redirect
+        private boolean bodyDropped;
+
+        Exchange(String method, String[] headerNames, String[] headerValues, byte[] body, double timeout) {
+            this.method = method;
+            this.headerNames = headerNames;
+            this.headerValues = headerValues;
+            this.body = body;
+            this.timeout = timeout;
+        }
+
+        HttpRequest request(URI uri) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+            // HTTP/2 over cleartext would be negotiated through an upgrade
+            // of an HTTP/1.1 request, which many servers do not expect
+            if ("http".equalsIgnoreCase(uri.getScheme())) {
+                builder.version(HttpClient.Version.HTTP_1_1);
+            }
+            if (headerNames != null) {
+                for (int i = 0; i < headerNames.length; i++) {
+                    String name = headerNames[i].toLowerCase(Locale.ROOT);
+                    if (!RESTRICTED_HEADERS.contains(name) && !(bodyDropped && name.equals("content-type"))) {
+                        builder.header(headerNames[i], headerValues[i]);
+                    }
+                }
+            }
+            builder.method(method, body == null || body.length == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body));
+            if (isTimeout(timeout)) {
+                builder.timeout(toDuration(timeout));
+            }
+            return builder.build();
+        }
+
+        /**
+         * @return request to the target of response if it is a redirect,
+         *         null otherwise. Like HttpClient, 303 See Other and 301 or
+         *         302 responses to POST requests are followed with a GET
+         *         request without body, other redirects with the same method
+         *         and body.
+         */
+        synchronized HttpRequest redirect(HttpResponse<?> response) {
+            int status = response.statusCode();
+            if (status != 301 && status != 302 && status != 303 && status != 307 && status != 308) {
+                return null;
+            }
+            String location = response.headers().firstValue("Location").orElse(null);
+            if (location == null) {
+                return null;
+            }
+            if (status == 303 && !method.equals("HEAD") || status <= 302 && method.equals("POST")) {
+                method = "GET";
+                body = null;
+                bodyDropped = true;
+            }
+            return request(response.request().uri().resolve(location));
+        }
+    }
+
+    private static boolean isTimeout(double seconds) {
+        return seconds > 0 && !Double.isInfinite(seconds) && !Double.isNaN(seconds);
+    }
+
+    private static Duration toDuration(double seconds) {
+        return Duration.ofMillis((long) Math.ceil(seconds * 1000));
+    }
+
+    /**
+     * Requests which are sent concurrently, with a bounded number of requests
+     * in flight. Requests are sent as soon as they are added; adding blocks
+     * while the maximum number of requests is in flight.
+     */
+    public final class Batch {
+        private final Semaphore inFlight;
+        private final List<CompletableFuture<Response>> responses = new ArrayList<CompletableFuture<Response>>();
+
+        Batch(int maxInFlight) {
+            inFlight = new Semaphore(Math.max(1, maxInFlight));
+        }
+
+        /**
+         * Adds a request to the batch and starts sending it.
+         *
+         * @see MATLABHttpTransport#send(String, String, String[], String[],
+         *      byte[], double)
+         * @throws InterruptedException if interrupted while waiting for
+         *                              requests in flight
+         */
+        public void add(String method, String uri, String[] headerNames, String[] headerValues, byte[] body,
+                double timeout) throws InterruptedException {
+            Exchange exchange = new Exchange(method, headerNames, headerValues, body, timeout);
+            HttpRequest request;
+            try {
+                request = exchange.request(URI.create(uri));
+            } catch (IllegalArgumentException e) {
+                responses.add(CompletableFuture.completedFuture(new Response(e)));
+                return;
+            }
+            inFlight.acquire();
+            CompletableFuture<HttpResponse<byte[]>> sent;
+            try {
+                sent = sendAsync(exchange, request, HttpResponse.BodyHandlers.ofByteArray(), 0);
+            } catch (RuntimeException e) {
+                // Not in flight, e.g. when the client rejects the request
+                inFlight.release();
+                responses.add(CompletableFuture.completedFuture(new Response(e)));
+                return;
+            }
+            responses.add(sent.handle((response, error) -> {
+                inFlight.release();
+                return error == null ? new Response(response) : new Response(error);
+            }));
+        }
+
+        /**
+         * Waits for all requests to complete.
+         *
+         * @return responses in the order in which the requests were added
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public Response[] await() throws InterruptedException {
+            Response[] result = new Response[responses.size()];
+            for (int i = 0; i < result.length; i++) {
+                try {
+                    result[i] = responses.get(i).get();
+                } catch (ExecutionException e) {
+                    result[i] = new Response(e.getCause());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Request which is in flight.
+     */
+    public static final class Pending {
+        private final CompletableFuture<?> sent;
+        private final CompletableFuture<Response> response;
+
+        Pending(CompletableFuture<?> sent, CompletableFuture<Response> response) {
+            this.sent = sent;
+            this.response = response;
+        }
+
+        /**
+         * @return whether the response was received, the request failed or
+         *         was cancelled
+         */
+        public boolean isDone() {
+            return response.isDone();
+        }
+
+        /**
+         * Waits for the request to complete.
+         *
+         * @param timeout maximum time to wait in seconds, Inf to wait
+         *                indefinitely
+         * @return whether the request completed
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public boolean await(double timeout) throws InterruptedException {
+            try {
+                if (Double.isInfinite(timeout)) {
+                    response.get();
+                } else {
+                    response.get((long) Math.ceil(Math.max(0, timeout) * 1000), TimeUnit.MILLISECONDS);
+                }
+            } catch (TimeoutException e) {
+                return false;
+            } catch (ExecutionException | CancellationException e) {
+                // Reported by get
+            }
+            return true;
+        }
+
+        /**
+         * Waits for the request to complete.
+         *
+         * @return response, which has an error if the request failed or was
+         *         cancelled
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public Response get() throws InterruptedException {
+            try {
+                return response.get();
+            } catch (ExecutionException e) {
+                return new Response(e.getCause());
+            } catch (CancellationException e) {
+                return new Response(e);
+            }
+        }
+
+        /**
+         * Cancels the request if it did not complete yet.
+         *
+         * @return whether the request was cancelled
+         */
+        public boolean cancel() {
+            boolean cancelled = response.cancel(true);
+            sent.cancel(true);
+            return cancelled;
+        }
+    }
+
+    /**
+     * Response with the headers as arrays, such that MATLAB does not have to
+     * call into Java for every header.
+     */
+    public static final class Response {
+        private final int statusCode;
+        private final String[] headerNames;
+        private final String[] headerValues;
+        private byte[] body;
+        private InputStream bodyStream;
+        private final String error;
+
+        Response(HttpResponse<?> response) {
+            statusCode = response.statusCode();
+            // Like matlab.net.http, decode compressed bodies
+            String encoding = response.headers().firstValue("Content-Encoding").orElse("").trim()
+                    .toLowerCase(Locale.ROOT);
+            boolean decoded = isEncoded(encoding);
+            List<String> names = new ArrayList<String>();
+            List<String> values = new ArrayList<String>();
+            for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+                // Pseudo-headers of HTTP/2 are not headers
+                if (header.getKey().startsWith(":")
+                        || decoded && ENCODING_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    names.add(header.getKey());
+                    values.add(value);
+                }
+            }
+            headerNames = names.toArray(new String[0]);
+            headerValues = values.toArray(new String[0]);
+            try {
+                if (response.body() instanceof InputStream) {
+                    body = new byte[0];
+                    bodyStream = decode(encoding, (InputStream) response.body());
+                } else {
+                    byte[] raw = (byte[]) response.body();
+                    body = raw.length == 0 || !decoded
+                            ? raw
+                            : readAll(decode(encoding, new ByteArrayInputStream(raw)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to decode " + encoding + " encoded response", e);
+            }
+            error = null;
+        }
+
+        private static boolean isEncoded(String encoding) {
+            return encoding.equals("gzip") || encoding.equals("x-gzip") || encoding.equals("deflate");
+        }
+
+        /**
+         * @return stream with the decoded content of in, in itself if the
+         *         encoding is not supported
+         */
+        private static InputStream decode(String encoding, InputStream in) throws IOException {
+            switch (encoding) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(in, 65536);
+            case "deflate":
+                // Should be zlib wrapped, but some servers send raw deflate
+                BufferedInputStream buffered = new BufferedInputStream(in, 65536);
+                buffered.mark(2);
+                int cmf = buffered.read();
+                int flg = buffered.read();
+                buffered.reset();
+                boolean zlib = (cmf & 0x0F) == 8 && flg >= 0 && ((cmf << 8) + flg) % 31 == 0;
+                return new InflaterInputStream(buffered, new Inflater(!zlib), 65536);
+            default:
+                return in;
+            }
+        }
+
+        private static byte[] readAll(InputStream in) throws IOException {
+            try (InputStream closed = in) {
+                return closed.readAllBytes();
+            }
+        }
+
+        Response(Throwable t) {
+            // Report the actual cause rather than the wrapping exception
+            while (t instanceof CompletionException && t.getCause() != null) {
+                t = t.getCause();
+            }
+            statusCode = 0;
+            headerNames = new String[0];
+            headerValues = new String[0];
+            body = new byte[0];
+            error = t.toString();
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String[] getHeaderNames() {
+            return headerNames;
+        }
+
+        public String[] getHeaderValues() {
+            return headerValues;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return stream with the body of a response of
+         *         {@link MATLABHttpTransport#sendStreaming}, null for other
+         *         responses
+         */
+        public InputStream getBodyStream() {
+            return bodyStream;
+        }
+
+        /**
+         * Reads the remaining body of a response of
+         * {@link MATLABHttpTransport#sendStreaming} such that it is returned by
+         * {@link #getBody()}.
+         *
+         * @return this response
+         * @throws IOException if reading fails
+         */
+        public Response readBody() throws IOException {
+            if (bodyStream != null) {
+                body = readAll(bodyStream);
+                bodyStream = null;
+            }
+            return this;
+        }
+
+        /**
+         * @return description of the error if the request failed, null if
+         *         a response was received
+         */
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.mathworks.codegen;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Reads the elements of a JSON array incrementally.
+ *
+ * The document is read from a stream with Jackson's streaming
+ * {@link JsonParser}, without building a tree of the whole document;
+ * {@link #next(int)} returns the next elements as a JSON array of at most the
+ * requested number of elements, which the generated JSONArrayStream MATLAB
+ * class then decodes into model objects. Memory use is therefore bounded by
+ * the chunk size rather than by the size of the document. A document whose
+ * top level value is not an array is treated as an array with that value as
+ * its only element.
+ *
+ * The syntax of the elements is validated while they are read, a malformed or
+ * truncated document is reported as IOException. Numbers are passed on
+ * exactly as they are written in the document.
+ *
+ * This class is not used by the generator itself, it is called from the
+ * generated JSONArrayStream MATLAB class. Gson (which is part of MATLAB) is
+ * not on the class path of the generator, hence Jackson, which is.
+ */
+public class MATLABJsonArrayReader implements Closeable {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final int BEFORE = 0;
+    private static final int ARRAY = 1;
+    private static final int SINGLE = 2;
+    private static final int DONE = 3;
+
+    private final JsonParser parser;
+    private int state = BEFORE;
+
+    /**
+     * @param in stream with the UTF-8 encoded document, closed by
+     *           {@link #close()}
+     * @throws IOException if the stream cannot be read
+     */
+    public MATLABJsonArrayReader(InputStream in) throws IOException {
+        parser = FACTORY.createParser(in);
+    }
+
+    /**
+     * @param json UTF-8 encoded document
+     * @throws IOException if the document cannot be read
+     */
+    public MATLABJsonArrayReader(byte[] json) throws IOException {
+        parser = FACTORY.createParser(json);
+    }
+
+    /**
+     * @param file file with the UTF-8 encoded document
+     * @throws IOException if the file cannot be opened
+     */
+    public MATLABJsonArrayReader(String file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    /**
+     * @return whether there are more elements
+     * @throws IOException if reading fails
+     */
+    public boolean hasNext() throws IOException {
+        start();
+        return state == ARRAY || state == SINGLE;
+    }
+
+    /**
+     * Reads the next elements.
+     *
+     * @param max maximum number of elements to read
+     * @return JSON array with the elements, empty if there are no more
+     *         elements
+     * @throws IOException if reading fails or the array is malformed
+     */
+    public String next(int max) throws IOException {
+        start();
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int count = 0; count < max && (state == ARRAY || state == SINGLE); count++) {
+                copyValue(generator);
+                if (state == SINGLE) {
+                    state = DONE;
+                } else if (nextToken() == JsonToken.END_ARRAY) {
+                    state = DONE;
+                }
+            }
+            generator.writeEndArray();
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = DONE;
+        parser.close();
+    }
+
+    private void start() throws IOException {
+        if (state != BEFORE) {
+            return;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            state = DONE;
+        } else if (token == JsonToken.START_ARRAY) {
+            state = nextToken() == JsonToken.END_ARRAY ? DONE : ARRAY;
+        } else {
+            state = SINGLE;
+        }
+    }
+
+    /**
+     * Copies the value at the current token to generator, leaves the parser
+     * at the last token of the value.
+     */
+    private void copyValue(JsonGenerator generator) throws IOException {
+        int depth = 0;
+        do {
+            JsonToken token = parser.currentToken();
+            switch (token) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    generator.copyCurrentEvent(parser);
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    generator.copyCurrentEvent(parser);
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    // Keep the number as written rather than as parsed
+                    generator.writeNumber(parser.getText());
+                    break;
+                default:
+                    generator.copyCurrentEvent(parser);
+            }
+        } while (depth > 0 && nextToken() != null);
+    }
+
+    private JsonToken nextToken() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new EOFException("Unexpected end of JSON document");
+        }
+        return token;
+    }
+}
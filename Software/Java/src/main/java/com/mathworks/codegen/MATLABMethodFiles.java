@@ -0,0 +1,175 @@
+package com.mathworks.codegen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.OperationMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Method files of API classes which are generated as a class folder, see the
+ * ApiMethodFiles option of {@link MATLABClientCodegen}.
+ *
+ * The generator renders every API template once per tag, with the operations
+ * of the tag as bundle. To render a template per method instead, every method
+ * file is registered as API template file of its own, named
+ * <code>api_method.mustache:&lt;operationId&gt;:&lt;variant&gt;</code>, where
+ * variant is empty for the operation itself, or Batch, Async, Stream, Request
+ * or Complete. {@link MATLABTemplatingEngineAdapter} renders such a template
+ * file as {@link #TEMPLATE} with the bundle narrowed down to the one
+ * operation, and with <code>method&lt;variant&gt;</code> set, e.g.
+ * methodBatch, or methodOperation for the operation itself.
+ */
+final class MATLABMethodFiles {
+
+    static final String TEMPLATE = "api_method.mustache";
+
+    static final String BATCH = "Batch";
+    static final String ASYNC = "Async";
+    static final String STREAM = "Stream";
+    static final String REQUEST = "Request";
+    static final String COMPLETE = "Complete";
+
+    private static final String PREFIX = TEMPLATE + ":";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MATLABMethodFiles.class);
+
+    private static final String INDENT = "        ";
+
+    private MATLABMethodFiles() {
+    }
+
+    /**
+     * @param operationId operation
+     * @param variant     variant of the operation, empty for the operation
+     *                    itself
+     * @return template file which renders the method
+     */
+    static String templateFile(String operationId, String variant) {
+        return PREFIX + operationId + ":" + variant;
+    }
+
+    /**
+     * @return whether templateFile renders a single method
+     */
+    static boolean isMethod(String templateFile) {
+        return templateFile.startsWith(PREFIX);
+    }
+
+    /**
+     * @return name of the method rendered by templateFile, i.e. the name of
+     *         the method file without extension
+     */
+    static String methodName(String templateFile) {
+        String[] parts = parse(templateFile);
+        return parts[0] + parts[1];
+    }
+
+    /**
+     * Narrows down the bundle of an API class to the method rendered by
+     * templateFile. The bundle itself is not modified.
+     *
+     * @throws IllegalArgumentException if the bundle does not contain the
+     *                                  operation
+     */
+    static Map<String, Object> bundle(String templateFile, Map<String, Object> bundle) {
+        String[] parts = parse(templateFile);
+        OperationMap operations = (OperationMap) bundle.get("operations");
+        for (CodegenOperation op : operations.getOperation()) {
+            if (op.operationId.equals(parts[0])) {
+                OperationMap single = new OperationMap();
+                single.putAll(operations);
+                single.setOperation(new ArrayList<CodegenOperation>(Collections.singletonList(op)));
+                OperationsMap narrowed = new OperationsMap();
+                narrowed.putAll(bundle);
+                narrowed.setOperation(single);
+                narrowed.put("method" + (parts[1].isEmpty() ? "Operation" : parts[1]), true);
+                return narrowed;
+            }
+        }
+        throw new IllegalArgumentException("No operation " + parts[0] + " in " + operations.getClassname());
+    }
+
+    /**
+     * @param op        operation of a class folder
+     * @param batch     whether batch variants are generated
+     * @param async     whether asynchronous variants are generated
+     * @param streaming whether streaming variants are generated
+     * @param helpers   whether request and response helpers are generated
+     * @return template files of all methods of op
+     */
+    static List<String> templateFiles(CodegenOperation op, boolean batch, boolean async, boolean streaming,
+            boolean helpers) {
+        List<String> files = new ArrayList<String>();
+        files.add(templateFile(op.operationId, ""));
+        if (batch) {
+            files.add(templateFile(op.operationId, BATCH));
+        }
+        if (async) {
+            files.add(templateFile(op.operationId, ASYNC));
+        }
+        if (streaming && op.vendorExtensions.containsKey("x-matlab-stream-model")) {
+            files.add(templateFile(op.operationId, STREAM));
+        }
+        if (helpers) {
+            files.add(templateFile(op.operationId, REQUEST));
+            files.add(templateFile(op.operationId, COMPLETE));
+        }
+        return files;
+    }
+
+    /**
+     * Formats a rendered method file. The method partials are shared with the
+     * classdef file, in which methods are indented by eight spaces, the
+     * method files start at the first column instead.
+     *
+     * @param rendered method file as rendered from {@link #TEMPLATE}
+     * @return rendered without the indentation of the methods block
+     */
+    static String format(String rendered) {
+        StringBuilder formatted = new StringBuilder(rendered.length());
+        for (String line : rendered.split("(?<=\\n)", -1)) {
+            formatted.append(line.startsWith(INDENT) ? line.substring(INDENT.length()) : line);
+        }
+        return formatted.toString();
+    }
+
+    /**
+     * Deletes +api/Class.m left over from a previous generation into the same
+     * output folder when Class is now generated as class folder, MATLAB does
+     * not allow a class to be defined by a file and a class folder at the
+     * same time. Called when the class file of the class folder is rendered,
+     * which the generator does not do in dry run mode.
+     *
+     * @param apiFolder folder of the API classes
+     * @param bundle    bundle of the API class
+     * @throws IOException if the file cannot be deleted
+     */
+    static void deleteClassFile(String apiFolder, Map<String, Object> bundle) throws IOException {
+        OperationMap operations = (OperationMap) bundle.get("operations");
+        Path file = Paths.get(apiFolder, operations.getClassname() + ".m");
+        if (Files.deleteIfExists(file)) {
+            LOGGER.info("Deleted {} which is now generated as class folder", file);
+        }
+    }
+
+    // {operationId, variant}
+    private static String[] parse(String templateFile) {
+        String[] parts = templateFile.substring(PREFIX.length()).split(":", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid method template " + templateFile);
+        }
+        return parts;
+    }
+}
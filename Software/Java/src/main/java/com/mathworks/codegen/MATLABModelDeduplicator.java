@@ -0,0 +1,298 @@
+package com.mathworks.codegen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.openapitools.codegen.CodegenComposedSchemas;
+import org.openapitools.codegen.CodegenDiscriminator;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.model.ModelsMap;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Merges models which are structurally identical, i.e. which have the same
+ * properties with the same names, types and allowable values, into a single
+ * class, see the DeduplicateModels option of {@link MATLABCodegen}.
+ *
+ * Of every set of identical models the one with the shortest class name is
+ * kept, the others are removed and all references to them are rewritten to
+ * the model which is kept. Models which take part in inheritance, composition
+ * or discriminators are never merged, as they are referred to by name in
+ * other places than the types of properties. Merging models can make more
+ * models identical, e.g. models whose properties referred to two different
+ * but identical models, so models are merged until no more identical models
+ * are found.
+ *
+ * Inline enums are synthesized as model by {@link MATLABCodegen} itself, this
+ * class only keeps track of the enum which was synthesized for every type and
+ * set of allowable values, see {@link #inlineEnum} and {@link #addInlineEnum}.
+ *
+ * Descriptions are not compared, the merged class is documented with the
+ * descriptions of the model which is kept.
+ */
+final class MATLABModelDeduplicator {
+
+    // Class name of merged model -> class name of the model which is kept
+    private final Map<String, String> merged = new HashMap<String, String>();
+    // Type and allowable values -> class name of the enum synthesized for them
+    private final Map<String, String> inlineEnums = new HashMap<String, String>();
+    private int mergedInlineEnums;
+
+    /**
+     * @param classname class name of a model
+     * @return class name of the model which classname was merged into, or
+     *         classname itself if it was not merged
+     */
+    String canonical(String classname) {
+        String canonical = merged.get(classname);
+        return canonical == null ? classname : canonical;
+    }
+
+    /**
+     * @return number of models which were merged into other models
+     */
+    int mergedModels() {
+        return merged.size();
+    }
+
+    /**
+     * @return number of inline enums which reuse an enum synthesized for
+     *         another property
+     */
+    int mergedInlineEnums() {
+        return mergedInlineEnums;
+    }
+
+    /**
+     * Removes all models from models which are identical to another model,
+     * and rewrites the references to them in the remaining models.
+     *
+     * @param models     models by schema name
+     * @param modelIndex models by schema name and class name
+     */
+    void deduplicate(Map<String, ModelsMap> models, Map<String, CodegenModel> modelIndex) {
+        // Models in the order in which they are generated
+        Map<String, CodegenModel> candidates = new LinkedHashMap<String, CodegenModel>();
+        for (String key : models.keySet()) {
+            CodegenModel model = modelIndex.get(key);
+            if (model != null && (model.isEnum || model.hasVars)) {
+                candidates.put(model.classname, model);
+            }
+        }
+        candidates.keySet().removeAll(referencedByName(modelIndex.values()));
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Map<String, List<CodegenModel>> shapes = new LinkedHashMap<String, List<CodegenModel>>();
+            for (CodegenModel model : candidates.values()) {
+                if (!merged.containsKey(model.classname)) {
+                    shapes.computeIfAbsent(shape(model), k -> new ArrayList<CodegenModel>()).add(model);
+                }
+            }
+            for (List<CodegenModel> identical : shapes.values()) {
+                if (identical.size() < 2) {
+                    continue;
+                }
+                CodegenModel kept = identical.get(0);
+                for (CodegenModel model : identical) {
+                    if (model.classname.length() < kept.classname.length()) {
+                        kept = model;
+                    }
+                }
+                for (CodegenModel model : identical) {
+                    if (model != kept) {
+                        merged.put(model.classname, kept.classname);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        if (merged.isEmpty()) {
+            return;
+        }
+        // Models may have been merged into models which were merged later on
+        for (Map.Entry<String, String> e : merged.entrySet()) {
+            String canonical = e.getValue();
+            while (merged.containsKey(canonical)) {
+                canonical = merged.get(canonical);
+            }
+            e.setValue(canonical);
+        }
+
+        models.keySet().removeIf(key -> {
+            CodegenModel model = modelIndex.get(key);
+            return model != null && merged.containsKey(model.classname);
+        });
+        Set<CodegenProperty> visited = Collections.newSetFromMap(new IdentityHashMap<CodegenProperty, Boolean>());
+        for (String key : models.keySet()) {
+            CodegenModel model = modelIndex.get(key);
+            if (model != null) {
+                rewrite(model, visited);
+            }
+        }
+    }
+
+    /**
+     * @param property        inline enum property
+     * @param allowableValues sanitized allowable values of property
+     * @return class name of the enum synthesized for a property with the same
+     *         type, vendor extensions and allowable values, null if there is
+     *         none yet
+     */
+    String inlineEnum(CodegenProperty property, Map<String, Object> allowableValues) {
+        String classname = inlineEnums.get(inlineEnumKey(property, allowableValues));
+        if (classname != null) {
+            mergedInlineEnums++;
+        }
+        return classname;
+    }
+
+    /**
+     * Records the enum synthesized for an inline enum property.
+     */
+    void addInlineEnum(CodegenProperty property, Map<String, Object> allowableValues, String classname) {
+        inlineEnums.putIfAbsent(inlineEnumKey(property, allowableValues), classname);
+    }
+
+    // Like shape, everything about an inline enum which ends up in its class
+    private static String inlineEnumKey(CodegenProperty property, Map<String, Object> allowableValues) {
+        return property.dataType + '|' + property.isInteger + '|' + allowableValues + '|'
+                + new TreeMap<String, Object>(property.vendorExtensions);
+    }
+
+    /**
+     * @return class names of all models which are referred to by name other
+     *         than as type of a property
+     */
+    private static Set<String> referencedByName(Collection<CodegenModel> models) {
+        Set<String> names = new HashSet<String>();
+        for (CodegenModel model : models) {
+            boolean composed = !model.oneOf.isEmpty() || !model.anyOf.isEmpty() || !model.allOf.isEmpty();
+            if (composed || model.parent != null || model.discriminator != null
+                    || (model.children != null && !model.children.isEmpty())
+                    || (model.interfaces != null && !model.interfaces.isEmpty())
+                    || model.vendorExtensions.containsKey("x-is-one-of-interface")) {
+                names.add(model.classname);
+            }
+            names.addAll(model.oneOf);
+            names.addAll(model.anyOf);
+            names.addAll(model.allOf);
+            if (model.parent != null) {
+                names.add(model.parent);
+            }
+            if (model.interfaces != null) {
+                names.addAll(model.interfaces);
+            }
+            CodegenDiscriminator discriminator = model.discriminator;
+            if (discriminator != null && discriminator.getMappedModels() != null) {
+                for (CodegenDiscriminator.MappedModel m : discriminator.getMappedModels()) {
+                    names.add(m.getModelName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return everything about model which ends up in its generated class,
+     *         apart from its name and descriptions
+     */
+    private String shape(CodegenModel model) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(model.isEnum).append('|').append(model.dataType).append('|').append(model.isInteger).append('|')
+                .append(model.getAdditionalPropertiesIsAnyType()).append('|')
+                .append(model.isEnum ? String.valueOf(model.allowableValues) : "").append('|')
+                .append(new TreeMap<String, Object>(model.vendorExtensions)).append('|');
+        for (CodegenProperty var : model.vars) {
+            shape(sb.append('{'), var, model.classname);
+            sb.append('}');
+        }
+        return sb.toString();
+    }
+
+    private void shape(StringBuilder sb, CodegenProperty p, String self) {
+        sb.append(p.baseName).append('|').append(p.name).append('|')
+                .append(type(p.dataType, self)).append('|').append(type(p.complexType, self)).append('|')
+                .append(p.required).append(p.isNullable).append(p.isReadOnly).append(p.isArray).append(p.isMap)
+                .append(p.isEnum).append(p.isPrimitiveType).append(p.isFreeFormObject).append(p.isDateTime)
+                .append(p.isInteger).append(p.isDiscriminator).append('|')
+                .append(p.allowableValues).append('|')
+                .append(new TreeMap<String, Object>(p.vendorExtensions));
+        if (p.items != null) {
+            shape(sb.append("[items:"), p.items, self);
+            sb.append(']');
+        }
+        if (p.additionalProperties != null) {
+            shape(sb.append("[additionalProperties:"), p.additionalProperties, self);
+            sb.append(']');
+        }
+    }
+
+    // Models which refer to themselves are identical if they are otherwise
+    private String type(String type, String self) {
+        String canonical = type == null ? null : canonical(type);
+        return canonical != null && canonical.equals(canonical(self)) ? "<self>" : canonical;
+    }
+
+    private void rewrite(CodegenModel model, Set<CodegenProperty> visited) {
+        for (List<CodegenProperty> vars : Arrays.asList(model.vars, model.allVars, model.requiredVars,
+                model.optionalVars, model.readOnlyVars, model.readWriteVars, model.parentVars,
+                model.parentRequiredVars, model.nonNullableVars)) {
+            if (vars != null) {
+                for (CodegenProperty p : vars) {
+                    rewrite(p, visited);
+                }
+            }
+        }
+        CodegenComposedSchemas composed = model.getComposedSchemas();
+        if (composed != null) {
+            for (List<CodegenProperty> schemas : Arrays.asList(composed.getOneOf(), composed.getAnyOf(),
+                    composed.getAllOf())) {
+                if (schemas != null) {
+                    for (CodegenProperty p : schemas) {
+                        rewrite(p, visited);
+                    }
+                }
+            }
+        }
+        if (model.imports != null) {
+            Set<String> imports = new LinkedHashSet<String>();
+            for (String i : model.imports) {
+                imports.add(canonical(i));
+            }
+            model.imports.clear();
+            model.imports.addAll(imports);
+        }
+    }
+
+    private void rewrite(CodegenProperty p, Set<CodegenProperty> visited) {
+        if (p == null || !visited.add(p)) {
+            return;
+        }
+        p.dataType = rewrite(p.dataType);
+        p.datatypeWithEnum = rewrite(p.datatypeWithEnum);
+        p.complexType = rewrite(p.complexType);
+        p.baseType = rewrite(p.baseType);
+        rewrite(p.items, visited);
+        rewrite(p.additionalProperties, visited);
+        rewrite(p.mostInnerItems, visited);
+    }
+
+    private String rewrite(String type) {
+        return type == null ? null : canonical(type);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mathworks.codegen;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.openapitools.codegen.model.ModelsMap;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * ModelsMap which falls back to a shared map of default values for keys which
+ * were not put in the map itself.
+ *
+ * Used for models which are defined by the generator itself (e.g. inline
+ * enums) such that the global additionalProperties are available to their
+ * templates without copying them into every single model.
+ */
+class MATLABModelsMap extends ModelsMap {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, Object> defaults;
+
+    /**
+     * @param defaults values to fall back to, the map is not modified
+     */
+    MATLABModelsMap(Map<String, Object> defaults) {
+        this.defaults = Collections.unmodifiableMap(defaults);
+    }
+
+    /**
+     * @return values which are fallen back to
+     */
+    Map<String, Object> getDefaults() {
+        return defaults;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = super.get(key);
+        if (value == null && !super.containsKey(key)) {
+            return defaults.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return super.containsKey(key) || defaults.containsKey(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+}
@@ -0,0 +1,157 @@
+package com.mathworks.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Registry of names which had to be truncated to fit within the 63 character
+ * limit for variable, function and class names in MATLAB.
+ *
+ * Truncated names are formed by cutting the name and appending a four digit
+ * counter, e.g. _0000. The registry keeps a forward map from original to
+ * truncated name, a reverse index of all truncated names in use and a counter
+ * per truncated prefix, such that determining a new unique name does not
+ * require searching through all previously truncated names.
+ *
+ * The registry can be saved to and loaded from a JSON file. When regenerating
+ * code for an evolving spec with a previously saved registry, names which
+ * were truncated before keep their suffix, and new names never reuse a suffix
+ * which was handed out before.
+ */
+final class MATLABNameRegistry {
+
+    /** Maximum length of a MATLAB identifier */
+    static final int MAX_LENGTH = 63;
+
+    // Minimum number of digits in the counter suffix
+    private static final int COUNTER_DIGITS = 4;
+
+    // Original name (name + suffix) -> truncated name
+    private final Map<String, String> truncatedNames = new ConcurrentHashMap<String, String>();
+    // All truncated names handed out
+    private final Set<String> usedNames = ConcurrentHashMap.newKeySet();
+    // Truncated prefix -> next counter value to try
+    private final Map<String, Integer> counters = new ConcurrentHashMap<String, Integer>();
+
+    /**
+     * Truncates name + suffix to at most 63 characters. As this method may
+     * get called multiple times for a given name, it returns the same
+     * truncated name each time.
+     *
+     * @param name   input name
+     * @param suffix suffix which is retained when truncating the name
+     * @return name + suffix if short enough, otherwise the truncated name
+     */
+    String truncate(String name, String suffix) {
+        // If short enough just return as is
+        if (name.length() + suffix.length() <= MAX_LENGTH) {
+            return name + suffix;
+        }
+        String key = name + suffix;
+        // If truncated before, return the previously determined name
+        String existing = truncatedNames.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            // May have been added by another thread in the meantime
+            existing = truncatedNames.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            String prefix = prefixOf(name, suffix, COUNTER_DIGITS);
+            int counter = counters.getOrDefault(prefix, 0);
+            String newName = format(name, suffix, counter);
+            // Verify that this is unique and not used before for another name
+            // with the same prefix
+            while (usedNames.contains(newName)) {
+                newName = format(name, suffix, ++counter);
+            }
+            counters.put(prefix, counter + 1);
+            usedNames.add(newName);
+            truncatedNames.put(key, newName);
+            return newName;
+        }
+    }
+
+    /**
+     * @return number of names which have been truncated
+     */
+    int size() {
+        return truncatedNames.size();
+    }
+
+    /**
+     * Loads previously truncated names from a file written by save. Does
+     * nothing if the file does not exist.
+     *
+     * @param file registry file
+     * @throws IOException if the file exists but cannot be read
+     */
+    synchronized void load(File file) throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+        Map<String, String> saved = new ObjectMapper().readValue(file, new TypeReference<TreeMap<String, String>>() {
+        });
+        for (Map.Entry<String, String> e : saved.entrySet()) {
+            String newName = e.getValue();
+            truncatedNames.put(e.getKey(), newName);
+            usedNames.add(newName);
+            // Continue counting after the highest counter used for this prefix
+            int sep = newName.lastIndexOf('_');
+            try {
+                int counter = Integer.parseInt(newName.substring(sep + 1));
+                String prefix = newName.substring(0, sep);
+                if (counter >= counters.getOrDefault(prefix, 0)) {
+                    counters.put(prefix, counter + 1);
+                }
+            } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                // Not a name formed by this registry, still reserved through
+                // usedNames
+            }
+        }
+    }
+
+    /**
+     * Saves all truncated names, in sorted order, such that they can be
+     * loaded again in a later generation.
+     *
+     * @param file registry file
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void save(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file, new TreeMap<String, String>(truncatedNames));
+    }
+
+    private static String format(String name, String suffix, int counter) {
+        String digits = String.format("%0" + COUNTER_DIGITS + "d", counter);
+        // Beyond 9999 the counter needs more digits, make room for these by
+        // cutting the name further
+        return prefixOf(name, suffix, digits.length()) + "_" + digits;
+    }
+
+    private static String prefixOf(String name, String suffix, int digits) {
+        int keep = MAX_LENGTH - 1 - digits - suffix.length();
+        if (keep < 0) {
+            // Suffix alone is too long, cut the combined name instead
+            return (name + suffix).substring(0, MAX_LENGTH - 1 - digits);
+        }
+        return name.substring(0, keep) + suffix;
+    }
+}
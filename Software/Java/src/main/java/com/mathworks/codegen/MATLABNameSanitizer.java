@@ -0,0 +1,319 @@
+package com.mathworks.codegen;
+
+import static org.openapitools.codegen.utils.StringUtils.camelize;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Applies the MATLAB identifier rules used by the name hooks of
+ * {@link MATLABCodegen} (toModelName, toParamName, toVarName, toApiName and
+ * toOperationId).
+ *
+ * DefaultCodegen calls these hooks many times for the same input, so every
+ * result is memoized per kind of identifier. The rules themselves are applied
+ * using plain character checks rather than regular expressions such that a
+ * cache miss is also cheap.
+ *
+ * Names are determined in two stages. The first stage applies all rules
+ * except for truncation to 63 characters; it only depends on the input and
+ * can safely be run concurrently. The second stage truncates the name, which
+ * depends on which other names have been truncated before and must therefore
+ * be run in a deterministic order.
+ */
+final class MATLABNameSanitizer {
+    private final Logger LOGGER = LoggerFactory.getLogger(MATLABNameSanitizer.class);
+
+    /**
+     * The kinds of identifiers, each kind has its own set of rules.
+     */
+    enum Kind {
+        MODEL, PARAM, VAR, API, OPERATION
+    }
+
+    // In addition to MATLAB keywords, words which are not valid property names
+    static final Set<String> RESERVED_VAR_WORDS = new HashSet<String>(
+            Arrays.asList(
+                    "properties", "methods", "events", "enumerators"));
+
+    private final MATLABCodegen codegen;
+
+    // Final names
+    private final Map<Kind, Map<String, String>> cache = new EnumMap<Kind, Map<String, String>>(Kind.class);
+    // Names before truncation
+    private final Map<Kind, Map<String, String>> prepared = new EnumMap<Kind, Map<String, String>>(Kind.class);
+
+    MATLABNameSanitizer(MATLABCodegen codegen) {
+        this.codegen = codegen;
+        for (Kind kind : Kind.values()) {
+            cache.put(kind, new ConcurrentHashMap<String, String>());
+            prepared.put(kind, new ConcurrentHashMap<String, String>());
+        }
+    }
+
+    /**
+     * Returns the MATLAB identifier for the given input name.
+     *
+     * @param kind kind of identifier
+     * @param name input name as found in the spec
+     * @return valid MATLAB identifier
+     */
+    String sanitize(Kind kind, String name) {
+        if (name == null) {
+            return null;
+        }
+        return cache.get(kind).computeIfAbsent(name, n -> finish(kind, n, prepare(kind, n)));
+    }
+
+    /**
+     * Applies all rules except for truncation to 63 characters. Unlike
+     * sanitize, this may be called concurrently without affecting which names
+     * are eventually generated; a later call to sanitize for the same input
+     * then only has to perform the truncation.
+     *
+     * @param kind kind of identifier
+     * @param name input name as found in the spec
+     * @return MATLAB identifier which may still exceed 63 characters
+     */
+    String prepare(Kind kind, String name) {
+        if (name == null) {
+            return null;
+        }
+        return prepared.get(kind).computeIfAbsent(name, n -> compute(kind, n));
+    }
+
+    /**
+     * Forgets all previously determined names, for example after the reserved
+     * words have been reconfigured.
+     */
+    void clear() {
+        for (Map<String, String> m : cache.values()) {
+            m.clear();
+        }
+        for (Map<String, String> m : prepared.values()) {
+            m.clear();
+        }
+    }
+
+    private String compute(Kind kind, String origName) {
+        switch (kind) {
+            case MODEL:
+                return modelName(origName);
+            case PARAM:
+                return paramName(origName);
+            case VAR:
+                return varName(origName);
+            case API:
+                return apiName(origName);
+            case OPERATION:
+                return operationId(origName);
+            default:
+                throw new IllegalArgumentException("Unknown identifier kind: " + kind);
+        }
+    }
+
+    private String finish(Kind kind, String origName, String name) {
+        switch (kind) {
+            case API:
+                return camelize(codegen.truncateto63(name));
+            case VAR:
+                name = codegen.truncateto63(name);
+                if (!name.equals(origName)) {
+                    LOGGER.info("Variable name changed from: " + origName + " to: " + name);
+                }
+                return name;
+            default:
+                return codegen.truncateto63(name);
+        }
+    }
+
+    private String modelName(String origName) {
+        String name = codegen.sanitizeName(origName);
+
+        // model name cannot use reserved keyword, e.g. return
+        if (isReservedWord(name)) {
+            LOGGER.info(
+                    "Cannot use reserved word as model name: " + name + " renaming to: "
+                            + camelize("model" + name));
+            name = camelize("model" + name); // e.g. return => ModelReturn (after camelize)
+        }
+
+        // model name starts with number
+        if (startsWithDigit(name)) {
+            LOGGER.info(
+                    "Model name cannot start with a number: " + name + " renaming to: "
+                            + camelize("model" + name));
+            name = camelize("model" + name); // e.g. 200Response => Model200Response (after camelize)
+        }
+
+        // if model name starts with underscore prefix with x
+        if (startsWithUnderscore(name)) {
+            name = "x" + name;
+        }
+
+        return name;
+    }
+
+    private String paramName(String origName) {
+        String name = codegen.sanitizeName(origName);
+
+        // if name starts with number or underscore prefix with x
+        if (startsWithDigit(name) || startsWithUnderscore(name)) {
+            name = "x" + name;
+        }
+
+        // for reserved word prefix with x
+        if (isReservedWord(name)) {
+            name = "x" + name;
+        }
+
+        if (!name.equals(origName)) {
+            LOGGER.info("Variable name changed from: " + origName + " to: " + name);
+        }
+
+        return name;
+    }
+
+    private String varName(String origName) {
+        // remove dollar sign and replace logical style operators with MATLAB
+        // equivalents, in a single pass
+        String name = codegen.sanitizeName(replaceOperators(origName));
+
+        // if name starts with number or underscore prefix with x
+        if (startsWithDigit(name) || startsWithUnderscore(name)) {
+            name = "x" + name;
+        }
+
+        // for reserved word prefix with x
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (codegen.reservedWords().contains(lower) || RESERVED_VAR_WORDS.contains(lower)) {
+            name = "x" + name;
+        }
+
+        return name;
+    }
+
+    private String apiName(String origName) {
+        String name = codegen.sanitizeName(origName);
+
+        // api name cannot use reserved keyword, e.g. return
+        if (isReservedWord(name)) {
+            LOGGER.info(
+                    "Cannot use reserved word as api name: " + name + " renaming to: "
+                            + camelize("api" + name));
+            name = camelize("api" + name);
+        }
+
+        // api name starts with number
+        if (startsWithDigit(name)) {
+            LOGGER.info(
+                    "api name cannot start with a number: " + name + " renaming to: "
+                            + camelize("api" + name));
+            name = camelize("api" + name);
+        }
+
+        if (!name.equals(origName)) {
+            LOGGER.info("api name changed from: " + origName + " to: " + name);
+        }
+
+        return name;
+    }
+
+    private String operationId(String origName) {
+        String name = codegen.sanitizeName(origName);
+
+        // if method name starts with number prefix with _
+        if (startsWithDigit(name)) {
+            name = "_" + name;
+        }
+
+        // check for empty method name
+        if (StringUtils.isEmpty(name)) {
+            LOGGER.info("Error: Empty method name / operationId not permitted");
+        }
+
+        // method name cannot be a reserved keyword
+        if (isReservedWord(name)) {
+            LOGGER.info(
+                    "Method name cannot be a reserved word: " + name + " renaming to: "
+                            + codegen.sanitizeName("call_" + name));
+            name = "call_" + name;
+        }
+
+        if (!name.equals(origName)) {
+            LOGGER.info("Method name changed from: " + origName + " to: " + name);
+        }
+
+        return name;
+    }
+
+    /**
+     * Removes dollar signs, replaces hyphens with underscores and replaces
+     * logical style operators with their MATLAB function equivalents.
+     */
+    static String replaceOperators(String name) {
+        StringBuilder sb = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            String r;
+            switch (c) {
+                case '$':
+                    r = "";
+                    break;
+                case '!':
+                    r = "not";
+                    break;
+                case '=':
+                    r = "eq";
+                    break;
+                case '>':
+                    r = "gt";
+                    break;
+                case '<':
+                    r = "lt";
+                    break;
+                case '~':
+                    r = "tilde";
+                    break;
+                case '-':
+                    r = "_";
+                    break;
+                default:
+                    if (sb != null) {
+                        sb.append(c);
+                    }
+                    continue;
+            }
+            // Only allocate a builder once a replacement is actually needed
+            if (sb == null) {
+                sb = new StringBuilder(name.length() + 8);
+                sb.append(name, 0, i);
+            }
+            sb.append(r);
+        }
+        return sb == null ? name : sb.toString();
+    }
+
+    private boolean isReservedWord(String name) {
+        return codegen.reservedWords().contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean startsWithDigit(String name) {
+        return !name.isEmpty() && name.charAt(0) >= '0' && name.charAt(0) <= '9';
+    }
+
+    private static boolean startsWithUnderscore(String name) {
+        return !name.isEmpty() && name.charAt(0) == '_';
+    }
+}
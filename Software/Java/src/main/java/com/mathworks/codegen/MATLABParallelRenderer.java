@@ -0,0 +1,226 @@
+package com.mathworks.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplateProcessor;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Template processor which renders and writes model, API and supporting
+ * files on a fixed size pool of worker threads, rather than one after another
+ * on the thread which runs the generator.
+ *
+ * The generator still determines the bundles and output files in the same
+ * order as in serial mode, only rendering, writing and post processing the
+ * file is handed to a worker. The target file is returned right away, as it
+ * would be by the template processor which is wrapped. Post processing of a
+ * scheduled file is done by the worker once the file is written, see
+ * {@link MATLABCodegen#postProcessFile}. All scheduled files are waited for by
+ * {@link #flush()}, which the codegen calls before it saves the manifest and
+ * metrics of the generation.
+ *
+ * Every file only depends on its own bundle, and compiled templates are
+ * shared, so the files are identical to those written in serial mode. Files
+ * which are written more than once, or which differ only in case, are written
+ * in the order in which they were scheduled, such that the last one wins as
+ * in serial mode. Whether and how a file is scheduled is decided on the
+ * generator thread when it is written, so API templates which are only
+ * registered for some API classes, i.e. ApiMethodFiles, are looked up while
+ * the generator is at that class, and workers never read the template maps.
+ */
+final class MATLABParallelRenderer implements TemplateProcessor {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final MATLABCodegen codegen;
+    private final TemplateProcessor delegate;
+
+    private ExecutorService pool;
+    // Files in the order in which they were scheduled
+    private final List<Scheduled> scheduled = new ArrayList<Scheduled>();
+    // Last scheduled write by normalized path
+    private final Map<String, CompletableFuture<File>> byPath = new HashMap<String, CompletableFuture<File>>();
+
+    private static final class Scheduled {
+        final File target;
+        final CompletableFuture<File> future;
+
+        Scheduled(File target, CompletableFuture<File> future) {
+            this.target = target;
+            this.future = future;
+        }
+    }
+
+    /**
+     * @param codegen  codegen of the generation, which determines the number
+     *                 of workers once its options are processed
+     * @param delegate template processor which actually renders and writes
+     *                 the files
+     */
+    MATLABParallelRenderer(MATLABCodegen codegen, TemplateProcessor delegate) {
+        this.codegen = codegen;
+        this.delegate = delegate;
+        codegen.setParallelRenderer(this);
+    }
+
+    @Override
+    public File write(Map<String, Object> data, String template, File target) throws IOException {
+        String fileType = fileType(template);
+        ExecutorService workers = fileType == null ? null : pool();
+        if (workers == null) {
+            return delegate.write(data, template, target);
+        }
+        Supplier<File> task = () -> {
+            try {
+                File written = delegate.write(data, template, target);
+                if (written != null && codegen.isEnablePostProcessFile()) {
+                    codegen.postProcessWrittenFile(written, fileType);
+                }
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        String key = normalize(target);
+        synchronized (this) {
+            CompletableFuture<File> previous = byPath.get(key);
+            CompletableFuture<File> future = previous == null ? CompletableFuture.supplyAsync(task, workers)
+                    : previous.handleAsync((file, e) -> task.get(), workers);
+            byPath.put(key, future);
+            scheduled.add(new Scheduled(target, future));
+        }
+        return target;
+    }
+
+    @Override
+    public File writeToFile(String filename, byte[] contents) throws IOException {
+        return delegate.writeToFile(filename, contents);
+    }
+
+    @Override
+    public void ignore(Path path, String context) {
+        delegate.ignore(path, context);
+    }
+
+    @Override
+    public void skip(Path path, String context) {
+        delegate.skip(path, context);
+    }
+
+    @Override
+    public void error(Path path, String context) {
+        delegate.error(path, context);
+    }
+
+    /**
+     * @param file output file
+     * @return whether the file is rendered and post processed by a worker
+     */
+    synchronized boolean isScheduled(File file) {
+        return byPath.containsKey(normalize(file));
+    }
+
+    /**
+     * Waits for all scheduled files to be written.
+     *
+     * @throws RuntimeException if any of the files could not be generated,
+     *                          for the first such file in the order in which
+     *                          they were scheduled
+     */
+    void flush() {
+        List<Scheduled> pending;
+        synchronized (this) {
+            pending = new ArrayList<Scheduled>(scheduled);
+        }
+        RuntimeException failure = null;
+        for (Scheduled s : pending) {
+            try {
+                s.future.get();
+            } catch (ExecutionException | CompletionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause()
+                            : e.getCause();
+                    failure = new RuntimeException("Could not generate file '" + s.target + "'", cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while generating files", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops the workers, files which were not written yet are abandoned.
+     */
+    synchronized void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    /**
+     * @return workers, null if files are rendered serially
+     */
+    private synchronized ExecutorService pool() {
+        int workers = codegen.getRenderingWorkers();
+        if (workers <= 1) {
+            return null;
+        }
+        if (pool == null) {
+            String prefix = "matlab-render-" + POOL_COUNT.incrementAndGet() + "-";
+            AtomicInteger count = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(workers, r -> {
+                Thread thread = new Thread(r, prefix + count.incrementAndGet());
+                // Never keep the JVM alive, e.g. when a generation failed
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pool;
+    }
+
+    /**
+     * @return type of file as passed to postProcessFile, null for files which
+     *         are written serially
+     */
+    private String fileType(String template) {
+        if (codegen.modelTemplateFiles().containsKey(template)) {
+            return "model";
+        }
+        if (codegen.apiTemplateFiles().containsKey(template)) {
+            return "api";
+        }
+        for (SupportingFile f : codegen.supportingFiles()) {
+            if (f.getTemplateFile().equals(template)) {
+                return "supporting-file";
+            }
+        }
+        return null;
+    }
+
+    // Files which differ in case only may be the same file
+    private static String normalize(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,524 @@
+package com.mathworks.codegen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openapitools.codegen.OpenAPIGenerator;
+import org.openapitools.codegen.cmd.Generate;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.Context;
+import org.openapitools.codegen.config.WorkflowSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.airlift.airline.ParseException;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Cache of parsed specs, such that specs which did not change are not parsed,
+ * resolved and validated again on every generation.
+ *
+ * Run it instead of org.openapitools.codegen.OpenAPIGenerator, with the
+ * arguments of the generate command and additionally:
+ *
+ * <pre>
+ * java -cp openapi-generator-cli.jar:MATLAB-openapi-generator-3.0.0.jar \
+ *     com.mathworks.codegen.MATLABSpecCache generate ... \
+ *     --spec-cache DIRECTORY [--spec-cache-mode use|bypass|clear]
+ * </pre>
+ *
+ * Entries are keyed by a hash of the contents of all files of the spec, i.e.
+ * the input spec and all files it refers to, or all spec files in the input
+ * spec root directory, combined with the parser options. An entry holds the
+ * resolved spec as compressed JSON. On a hit the spec files are not read at
+ * all, on a miss the spec is parsed as usual and stored if it is valid or
+ * validation is skipped. Mode bypass neither reads nor writes entries, mode
+ * clear deletes all entries before generating.
+ *
+ * Specs which are downloaded, or refer to files which are, are never cached,
+ * neither are generations which use a configuration file. As the files a spec
+ * refers to are determined without parsing it, specs with references which
+ * cannot be determined for certain, e.g. which span multiple lines or refer to
+ * files which do not exist, are not cached either.
+ *
+ * Code is generated by {@link MATLABGenerator} if the options require it,
+ * otherwise by DefaultGenerator like OpenAPIGenerator does, with or without the
+ * cache.
+ */
+public final class MATLABSpecCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MATLABSpecCache.class);
+
+    static final String MODE_USE = "use";
+    static final String MODE_BYPASS = "bypass";
+    static final String MODE_CLEAR = "clear";
+
+    // Bump when the format of entries changes
+    private static final int FORMAT = 0x4d534331;
+    private static final String EXTENSION = ".spec";
+    private static final String PLACEHOLDER = "placeholder.yaml";
+    private static final List<String> SPEC_EXTENSIONS = Arrays.asList(".yaml", ".yml", ".json");
+    // References with their value on the same line, quoted or plain
+    private static final Pattern REF = Pattern
+            .compile("[\"']?\\$ref[\"']?\\s*:[ \\t]*(?:\"([^\"\\\\]*)\"|'([^']*)'|([^\"'\\s,}\\]]+))");
+    // Anything which may be a reference
+    private static final Pattern REF_KEYWORD = Pattern.compile("\\$ref");
+    private static final Pattern URL = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]+://.*");
+
+    private final Path directory;
+
+    MATLABSpecCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || !"generate".equals(args[0])) {
+            OpenAPIGenerator.main(args);
+            return;
+        }
+        try {
+            generateCommand(Arrays.asList(args)).run();
+        } catch (ParseException e) {
+            System.err.println("[error] " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parses the arguments of the generate command, with the spec cache
+     * options, into a command which uses the cache when run.
+     *
+     * @param args arguments starting with generate
+     * @return command to run
+     * @throws ParseException if the arguments are invalid
+     */
+    static Runnable generateCommand(List<String> args) throws ParseException {
+        List<String> generateArgs = new ArrayList<String>();
+        String cacheDir = null;
+        String mode = MODE_USE;
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            if (arg.equals("--spec-cache") && i + 1 < args.size()) {
+                cacheDir = args.get(++i);
+            } else if (arg.startsWith("--spec-cache=")) {
+                cacheDir = arg.substring("--spec-cache=".length());
+            } else if (arg.equals("--spec-cache-mode") && i + 1 < args.size()) {
+                mode = args.get(++i);
+            } else if (arg.startsWith("--spec-cache-mode=")) {
+                mode = arg.substring("--spec-cache-mode=".length());
+            } else {
+                generateArgs.add(arg);
+            }
+        }
+        if (!Arrays.asList(MODE_USE, MODE_BYPASS, MODE_CLEAR).contains(mode)) {
+            throw new ParseException("Invalid --spec-cache-mode " + mode + ", has to be one of "
+                    + Arrays.asList(MODE_USE, MODE_BYPASS, MODE_CLEAR));
+        }
+
+        Generate command = MATLABGenerator.parseCommand(generateArgs);
+        if (MATLABGenerator.requiresMATLABGenerator(command)) {
+            MATLABGenerator.useMATLABGenerator(command);
+        }
+        if (cacheDir == null || MODE_BYPASS.equals(mode)) {
+            return command;
+        }
+
+        MATLABSpecCache cache = new MATLABSpecCache(Paths.get(cacheDir));
+        try {
+            if (MODE_CLEAR.equals(mode)) {
+                cache.clear();
+            }
+            if (get(command, "configFile") != null) {
+                LOGGER.info("Spec cache is not used with a configuration file");
+                return command;
+            }
+            String spec = get(command, "spec");
+            String specRoot = get(command, "inputSpecRootDirectory");
+            Boolean skipValidate = get(command, "skipValidateSpec");
+            Configurator configurator = cache.configurator(spec, specRoot, get(command, "mergedFileName"),
+                    !Boolean.TRUE.equals(skipValidate), get(command, "auth"));
+            if (configurator == null) {
+                return command;
+            }
+            if (configurator.isHit() && specRoot != null) {
+                // Do not merge the spec files, the spec option only has to
+                // refer to something which exists
+                set(command, "inputSpecRootDirectory", null);
+                set(command, "spec", specRoot);
+            }
+            set(command, "configurator", configurator);
+        } catch (IOException e) {
+            LOGGER.warn("Spec cache not used: " + e.getMessage());
+        }
+        return command;
+    }
+
+    /**
+     * Configurator which takes the spec from the cache rather than parsing it
+     * on a hit, and stores the parsed spec on a miss.
+     */
+    static final class Configurator extends CodegenConfigurator {
+        private final MATLABSpecCache cache;
+        private final String key;
+        private final Entry entry;
+        private String inputSpec;
+
+        Configurator(MATLABSpecCache cache, String key, Entry entry) {
+            this.cache = cache;
+            this.key = key;
+            this.entry = entry;
+        }
+
+        /**
+         * @return whether the spec is taken from the cache, in which case
+         *         the input spec does not have to be merged or even exist
+         */
+        boolean isHit() {
+            return entry != null;
+        }
+
+        @Override
+        public CodegenConfigurator setInputSpec(String inputSpec) {
+            this.inputSpec = inputSpec;
+            return super.setInputSpec(inputSpec);
+        }
+
+        @Override
+        public Context<?> toContext() {
+            if (entry == null) {
+                // Throws if the spec is invalid, which is then not stored
+                Context<?> context = super.toContext();
+                if (context.getSpecDocument() instanceof OpenAPI) {
+                    try {
+                        cache.store(key, new Entry(context.getWorkflowSettings().getInputSpec(),
+                                (OpenAPI) context.getSpecDocument()));
+                        MATLABSpecCache.LOGGER.info("Stored spec in cache: " + key);
+                    } catch (IOException e) {
+                        MATLABSpecCache.LOGGER.warn("Unable to store spec in cache: " + e.getMessage());
+                    }
+                }
+                return context;
+            }
+            MATLABSpecCache.LOGGER.info("Using spec from cache: " + key);
+            // Let the configurator determine all settings as usual, with a
+            // spec which takes no time to parse
+            String original = inputSpec;
+            try {
+                super.setInputSpec(cache.placeholder().toString());
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to write spec cache placeholder", e);
+            }
+            Context<?> context;
+            try {
+                context = super.toContext();
+            } finally {
+                super.setInputSpec(original);
+            }
+            // Same input spec as when the entry was stored, such that the
+            // generated code is identical
+            WorkflowSettings workflowSettings = WorkflowSettings.newBuilder(context.getWorkflowSettings())
+                    .withInputSpec(entry.inputSpec).build();
+            return new Context<OpenAPI>(entry.openAPI, context.getGeneratorSettings(), workflowSettings);
+        }
+    }
+
+    static final class Entry {
+        final String inputSpec;
+        final OpenAPI openAPI;
+
+        Entry(String inputSpec, OpenAPI openAPI) {
+            this.inputSpec = inputSpec;
+            this.openAPI = openAPI;
+        }
+    }
+
+    /**
+     * Looks up a spec, see {@link #key} for the arguments.
+     *
+     * @return configurator which takes the spec from the cache or stores it,
+     *         null if the spec cannot be cached
+     * @throws IOException if a spec file cannot be read
+     */
+    Configurator configurator(String spec, String specRoot, String mergedFileName, boolean validate, String auth)
+            throws IOException {
+        String key = key(spec, specRoot, mergedFileName, validate, auth);
+        if (key == null) {
+            LOGGER.info("Spec cache is not used for specs which are downloaded or whose references are unknown");
+            return null;
+        }
+        return new Configurator(this, key, load(key));
+    }
+
+    /**
+     * Determines the key of a spec.
+     *
+     * @param spec           input spec, ignored if specRoot is set
+     * @param specRoot       input spec root directory, may be null
+     * @param mergedFileName name of the file the spec root directory is
+     *                       merged into, excluded from the key
+     * @param validate       whether the spec is validated
+     * @param auth           authorization used to download referenced files
+     * @return key, null if the spec cannot be cached, see {@link #collect}
+     * @throws IOException if a spec file cannot be read
+     */
+    String key(String spec, String specRoot, String mergedFileName, boolean validate, String auth)
+            throws IOException {
+        TreeSet<Path> files = new TreeSet<Path>();
+        MessageDigest digest = sha256();
+        update(digest, String.valueOf(FORMAT));
+        update(digest, String.valueOf(OpenAPIGenerator.class.getPackage().getImplementationVersion()));
+        update(digest, "resolve=true,validate=" + validate + ",auth=" + (auth == null ? "" : auth));
+        if (specRoot != null) {
+            Path root = Paths.get(specRoot).toAbsolutePath().normalize();
+            update(digest, "root=" + root);
+            String merged = mergedFileName == null ? "_merged_spec" : mergedFileName;
+            try (Stream<Path> paths = Files.walk(root)) {
+                for (Path p : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    String name = p.getFileName().toString();
+                    if (isSpecFile(name) && !(p.getParent().equals(root) && name.startsWith(merged + "."))) {
+                        if (!collect(p, files)) {
+                            return null;
+                        }
+                    }
+                }
+            }
+        } else if (spec == null || URL.matcher(spec).matches()) {
+            return null;
+        } else {
+            Path path = Paths.get(spec).toAbsolutePath().normalize();
+            update(digest, "spec=" + path);
+            if (!collect(path, files)) {
+                return null;
+            }
+        }
+        for (Path file : files) {
+            update(digest, file.toString());
+            digest.update(Files.readAllBytes(file));
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Adds file and all files it refers to, recursively, to files.
+     *
+     * @return false if any of these files is downloaded, or if a reference
+     *         cannot be classified as a reference within the file or to an
+     *         existing local file
+     */
+    private static boolean collect(Path file, TreeSet<Path> files) throws IOException {
+        if (!files.add(file)) {
+            return true;
+        }
+        String contents = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int refs = 0;
+        Matcher m = REF.matcher(contents);
+        while (m.find()) {
+            refs++;
+            String ref = m.group(1) != null ? m.group(1) : m.group(2) != null ? m.group(2) : m.group(3);
+            int hash = ref.indexOf('#');
+            String location = hash < 0 ? ref : ref.substring(0, hash);
+            if (hash == 0) {
+                continue;
+            }
+            if (location.isEmpty() || URL.matcher(location).matches()) {
+                return false;
+            }
+            Path referred;
+            try {
+                referred = file.getParent().resolve(location).normalize();
+            } catch (InvalidPathException e) {
+                return false;
+            }
+            if (!Files.isRegularFile(referred) || !collect(referred, files)) {
+                return false;
+            }
+        }
+        // Every occurrence of $ref has to be a reference which was classified,
+        // e.g. not a multi-line or escaped value
+        Matcher keywords = REF_KEYWORD.matcher(contents);
+        while (keywords.find()) {
+            refs--;
+        }
+        return refs == 0;
+    }
+
+    /**
+     * @return the entry stored under key, null if there is none or it cannot
+     *         be read
+     */
+    Entry load(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            LOGGER.info("Spec not in cache: " + key);
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FORMAT) {
+                return null;
+            }
+            String inputSpec = in.readUTF();
+            boolean v31 = in.readBoolean();
+            OpenAPI openAPI = mapper(v31).readValue((InputStream) in, OpenAPI.class);
+            openAPI.setSpecVersion(v31 ? SpecVersion.V31 : SpecVersion.V30);
+            return new Entry(inputSpec, openAPI);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring invalid spec cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores entry under key, such that a reader never sees a partially
+     * written entry.
+     */
+    void store(String key, Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        boolean v31 = entry.openAPI.getSpecVersion() == SpecVersion.V31;
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(FORMAT);
+                out.writeUTF(entry.inputSpec);
+                out.writeBoolean(v31);
+                mapper(v31).writeValue((OutputStream) out, entry.openAPI);
+            }
+            Path file = directory.resolve(key + EXTENSION);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes all entries.
+     */
+    void clear() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        int count = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path entry : entries) {
+                Files.delete(entry);
+                count++;
+            }
+        }
+        LOGGER.info("Cleared spec cache, " + count + " entries deleted");
+    }
+
+    /**
+     * @return spec without any paths or schemas
+     */
+    Path placeholder() throws IOException {
+        Path file = directory.resolve(PLACEHOLDER);
+        if (!Files.isRegularFile(file)) {
+            Files.createDirectories(directory);
+            Files.write(file, String.join("\n", "openapi: 3.0.3", "info:", "  title: placeholder",
+                    "  version: '1'", "paths: {}", "").getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    private static ObjectMapper mapper(boolean v31) {
+        // Streams are closed by the caller
+        ObjectMapper mapper = (v31 ? Json31.mapper() : Json.mapper()).copy();
+        mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        mapper.getFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return mapper;
+    }
+
+    private static boolean isSpecFile(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String extension : SPEC_EXTENSIONS) {
+            if (lower.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(Generate command, String name) throws IOException {
+        try {
+            return (T) field(name).get(command);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unsupported generator version", e);
+        }
+    }
+
+    static void set(Generate command, String name, Object value) throws IOException {
+        try {
+            field(name).set(command, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unsupported generator version", e);
+        }
+    }
+
+    private static Field field(String name) throws NoSuchFieldException {
+        Field field = Generate.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,286 @@
+package com.mathworks.codegen;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.templating.TemplateNotFoundException;
+
+import com.samskivert.mustache.Template;
+
+// Copyright 2026 The MathWorks, Inc.
+
+/**
+ * Mustache engine which rewrites MATLAB supporting files while they are
+ * emitted.
+ *
+ * The JSONMapper and Web Framework helper files are placed inside the
+ * generated package, so references to them have to be qualified with the
+ * package name. Rather than writing these files first and then reading,
+ * rewriting and writing them again, this engine also handles the plain .m
+ * supporting files (which would otherwise be copied as is) and passes their
+ * contents, as well as the output of rendered .m supporting files, through
+ * {@link MATLABCodegen#rewriteSupportingFileLine(String)} line by line.
+ *
+ * Compiled templates are cached for the lifetime of the JVM rather than
+ * compiled again for every model and API file. A template is cached by the
+ * contents of itself and all partials it includes, such that edited templates
+ * are compiled again, which matters when the JVM is kept running by
+ * {@link MATLABGeneratorService}. The least recently used templates are evicted
+ * once the cache is full.
+ */
+class MATLABTemplatingEngineAdapter extends MustacheEngineAdapter {
+
+    // Bounds the cache when templates are edited repeatedly
+    private static final int MAX_TEMPLATES = 1000;
+    // Compiled templates by key in the order in which they were used, see
+    // templateKey. Guarded by itself.
+    private static final Map<String, Template> TEMPLATES = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            return size() > MAX_TEMPLATES;
+        }
+    };
+
+    private static final Pattern PARTIAL = Pattern.compile("\\{\\{>\\s*([^}\\s]+)\\s*}}");
+
+    private final MATLABCodegen codegen;
+
+    // Template files of the .m supporting files, see indexSupportingFiles
+    private volatile Set<String> rewritten;
+
+    MATLABTemplatingEngineAdapter(MATLABCodegen codegen) {
+        this.codegen = codegen;
+    }
+
+    @Override
+    public boolean handlesFile(String filename) {
+        return super.handlesFile(filename) || isRewritten(filename) || MATLABMethodFiles.isMethod(filename);
+    }
+
+    @Override
+    public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile)
+            throws IOException {
+        long start = System.nanoTime();
+        try {
+            return compile(executor, bundle, templateFile);
+        } finally {
+            codegen.getGenerationMetrics().templateRendered(
+                    MATLABMethodFiles.isMethod(templateFile) ? MATLABMethodFiles.TEMPLATE : templateFile,
+                    System.nanoTime() - start);
+        }
+    }
+
+    private String compile(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile)
+            throws IOException {
+        if (!isRewritten(templateFile)) {
+            // Methods of class folders are rendered from the bundle of their
+            // operation only, see MATLABMethodFiles
+            String template = templateFile;
+            if (MATLABMethodFiles.isMethod(templateFile)) {
+                bundle = MATLABMethodFiles.bundle(templateFile, bundle);
+                template = MATLABMethodFiles.TEMPLATE;
+            } else if (Boolean.TRUE.equals(bundle.get("methodFiles"))) {
+                MATLABMethodFiles.deleteClassFile(codegen.apiFileFolder(), bundle);
+            }
+            // When generating incrementally, skip rendering unchanged files
+            MATLABGenerationManifest manifest = codegen.getGenerationManifest();
+            if (manifest != null) {
+                String unchanged = manifest.unchanged(templateFile, bundle);
+                if (unchanged != null) {
+                    return unchanged;
+                }
+            }
+            String rendered = render(executor, bundle, template);
+            return MATLABMethodFiles.isMethod(templateFile) ? MATLABMethodFiles.format(rendered) : rendered;
+        }
+        if (super.handlesFile(templateFile)) {
+            return rewrite(new StringReader(render(executor, bundle, templateFile)));
+        }
+        // Plain file, read it directly rather than through readTemplate which
+        // does not accept the relative paths used for the helper files. Like
+        // TemplateManager, fall back to the path as is if it is not found
+        // relative to the template directories.
+        Path path;
+        try {
+            path = executor.getFullTemplatePath(templateFile);
+        } catch (TemplateNotFoundException e) {
+            path = Paths.get(templateFile);
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return rewrite(reader);
+        }
+    }
+
+    /**
+     * Renders the template like {@link MustacheEngineAdapter#compileTemplate},
+     * using the cached compiled template if it did not change.
+     */
+    private String render(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile)
+            throws IOException {
+        String contents = executor.getFullTemplateContents(templateFile);
+        Map<String, String> partials = new TreeMap<String, String>();
+        String key = templateKey(executor, templateFile, contents, partials);
+        Template template;
+        // Compiled once when rendered by multiple threads at the same time.
+        // Partials are served from what was read for the key, such that the
+        // cached template does not refer to this executor.
+        synchronized (TEMPLATES) {
+            template = TEMPLATES.get(key);
+            if (template == null) {
+                template = getCompiler()
+                        .withLoader(name -> {
+                            String partial = partials.get(name);
+                            if (partial == null) {
+                                throw new TemplateNotFoundException(name);
+                            }
+                            return new StringReader(partial);
+                        })
+                        .defaultValue("")
+                        .compile(contents);
+                TEMPLATES.put(key, template);
+            }
+        }
+        Object parent = bundle.get("MUSTACHE_PARENT_CONTEXT");
+        StringWriter out = new StringWriter();
+        template.execute(bundle, parent == null ? new Object() : parent, out);
+        return out.toString();
+    }
+
+    /**
+     * Reads all partials which are included by contents, directly or
+     * indirectly, into partials and returns a hash of the generator, the
+     * template file, its contents and the partials.
+     */
+    private String templateKey(TemplatingExecutor executor, String templateFile, String contents,
+            Map<String, String> partials) throws IOException {
+        Deque<String> pending = new ArrayDeque<String>();
+        pending.push(contents);
+        while (!pending.isEmpty()) {
+            Matcher m = PARTIAL.matcher(pending.pop());
+            while (m.find()) {
+                String name = m.group(1);
+                if (!partials.containsKey(name)) {
+                    String partial;
+                    try (Reader reader = findTemplate(executor, name)) {
+                        StringBuilder sb = new StringBuilder();
+                        char[] buffer = new char[8192];
+                        int n;
+                        while ((n = reader.read(buffer)) != -1) {
+                            sb.append(buffer, 0, n);
+                        }
+                        partial = sb.toString();
+                    } catch (TemplateNotFoundException e) {
+                        // Only fails when the partial is rendered
+                        partials.put(name, null);
+                        continue;
+                    }
+                    partials.put(name, partial);
+                    pending.push(partial);
+                }
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, codegen.getName());
+            update(digest, templateFile);
+            update(digest, contents);
+            for (Map.Entry<String, String> partial : partials.entrySet()) {
+                update(digest, partial.getKey());
+                update(digest, String.valueOf(partial.getValue()));
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    /**
+     * Rewrites all lines read from reader, line terminators are retained as
+     * is.
+     *
+     * @param reader input
+     * @return rewritten contents
+     * @throws IOException if reading fails
+     */
+    String rewrite(Reader reader) throws IOException {
+        StringBuilder out = new StringBuilder();
+        StringBuilder line = new StringBuilder(128);
+        char[] buffer = new char[8192];
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                char c = buffer[i];
+                if (isLineTerminator(c)) {
+                    out.append(codegen.rewriteSupportingFileLine(line.toString())).append(c);
+                    line.setLength(0);
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+        return out.append(codegen.rewriteSupportingFileLine(line.toString())).toString();
+    }
+
+    /**
+     * Determines which supporting files are rewritten, see
+     * {@link #isRewritten}. Called once the options are processed, and again
+     * whenever supporting files are added later on.
+     */
+    void indexSupportingFiles() {
+        Set<String> templateFiles = new HashSet<String>();
+        for (SupportingFile f : codegen.supportingFiles()) {
+            if (f.getDestinationFilename().endsWith("m")) {
+                templateFiles.add(f.getTemplateFile());
+            }
+        }
+        rewritten = templateFiles;
+    }
+
+    /**
+     * The .m supporting files are rewritten, whether they are rendered from a
+     * template or copied.
+     */
+    private boolean isRewritten(String templateFile) {
+        Set<String> templateFiles = rewritten;
+        if (templateFiles == null) {
+            indexSupportingFiles();
+            templateFiles = rewritten;
+        }
+        return templateFiles.contains(templateFile);
+    }
+
+    // The characters which end a line for the purpose of regular expressions
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -1,22 +1,30 @@
 package com.mathworks.codegen;
 
-import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.model.ModelMap;
 import org.openapitools.codegen.model.OperationMap;
 import org.openapitools.codegen.model.OperationsMap;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.swagger.v3.oas.models.OpenAPI;
+
 public class MatlabServerCodegen extends MATLABCodegen {
 
     private final Logger LOGGER = LoggerFactory.getLogger(MatlabServerCodegen.class);
 
+    String COMPRESSION = "Compression";
+    String COMPRESSION_THRESHOLD = "CompressionThreshold";
+
+    // Regular expression which the base path of the server is matched with,
+    // prefixed to the route of every operation
+    private String baseRoute = "";
+
     public CodegenType getTag() {
         return CodegenType.SERVER;
     }
@@ -114,39 +122,79 @@ public class MatlabServerCodegen extends MATLABCodegen {
                 fullfile(jsonmapperRoot, "app", "sys", "+mws","Static.m"),
                 fullfile(outputPackageRoot, "+mws", "Static.m")));
 
+        // Optionally decode compressed requests and compress responses
+        if (additionalProperties.containsKey(COMPRESSION)
+                && convertPropertyToBooleanAndWriteBack(COMPRESSION)) {
+            supportingFiles.add(new SupportingFile(
+                    fullfile(jsonmapperRoot, "app", "sys", "+mws", "Compression.m"),
+                    fullfile(outputPackageRoot, "+mws", "Compression.m")));
+            // Response bodies of at least this many bytes are compressed
+            String threshold = additionalProperties.getOrDefault(COMPRESSION_THRESHOLD, "1024").toString().trim();
+            try {
+                if (Double.parseDouble(threshold) < 0) {
+                    throw new NumberFormatException("Negative threshold");
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.error("Invalid " + COMPRESSION_THRESHOLD + " " + threshold + ", using 1024");
+                threshold = "1024";
+            }
+            additionalProperties.put(COMPRESSION_THRESHOLD, threshold);
+        }
+
         modelPackage = packageName + "." + modelPackage;
         apiPackage = packageName + "." + apiPackage;
     }
 
+    @Override
+    public void preprocessOpenAPI(OpenAPI openAPI) {
+        super.preprocessOpenAPI(openAPI);
+        // Base path of the first server like basePathWithoutHost, except that
+        // variables without override are kept, such that the routes match
+        // any of their values rather than only the default
+        String basePath = "";
+        if (openAPI.getServers() != null && !openAPI.getServers().isEmpty()) {
+            String url = openAPI.getServers().get(0).getUrl();
+            Map<String, String> overrides = serverVariableOverrides();
+            if (overrides != null) {
+                for (Map.Entry<String, String> override : overrides.entrySet()) {
+                    url = url.replace("{" + override.getKey() + "}", override.getValue());
+                }
+            }
+            basePath = url.replaceFirst("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/]*", "").replaceFirst("[?#].*$", "")
+                    .replaceAll("/+$", "");
+            if (!basePath.isEmpty() && !basePath.startsWith("/")) {
+                basePath = "/" + basePath;
+            }
+        }
+        baseRoute = toBaseRoutePattern(basePath, true);
+        additionalProperties.put("x-matlab-base-route", baseRoute.replace("\"", "\"\""));
+        // routes.json matches the path without named tokens, as JSON string
+        additionalProperties.put("x-matlab-base-match",
+                toBaseRoutePattern(basePath, false).replace("\\", "\\\\").replace("\"", "\\\""));
+    }
+
     @Override
     public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+        objs = super.postProcessSupportingFileData(objs);
         generateJSONSpecFile(objs);
         generateYAMLSpecFile(objs);
-        return super.postProcessSupportingFileData(objs);
+        return objs;
     }    
 
     @Override
-    public void postProcessFile(File file, String fileType) {
-        super.postProcessFile(file, fileType);
-        // Inside the Web Framework helper files
-        if ("supporting-file".equals(fileType) && file.getName().endsWith("m")) {
-            String contents;
-            try {
-                // Replace mws.Application, etc. with packageName.mws.*
-                contents = FileUtils.readFileToString(file, "UTF-8");
-                java.util.regex.Pattern p = java.util.regex.Pattern.compile(
-                        "mws.");
-                java.util.regex.Matcher m = p.matcher(contents);
-                contents = m.replaceAll(packageName + ".mws.");
-                FileUtils.write(file, contents, "UTF-8");
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+    protected String rewriteSupportingFileLine(String line) {
+        line = super.rewriteSupportingFileLine(line);
+        // Inside the Web Framework helper files and server.m, replace
+        // mws.Application, etc. with packageName.mws.*
+        if (!line.contains("mws.")) {
+            return line;
         }
+        return line.replace("mws.", packageName + ".mws.");
     }
 
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        objs = super.postProcessOperationsWithModels(objs, allModels);
         this.additionalProperties.put("x-error-identifier", packageName.replace(".", ":"));
         // Go through all operations
         OperationMap operations = objs.getOperations();
@@ -159,8 +207,63 @@ public class MatlabServerCodegen extends MATLABCodegen {
             } else {
                 op.vendorExtensions.put("x-matlab-method", op.httpMethod.toLowerCase());
             }
+            // Regular expression which mws.Application matches the path,
+            // including the base path, with
+            op.vendorExtensions.put("x-matlab-route", (baseRoute + toRoutePattern(op.path)).replace("\"", "\"\""));
         }
         return objs;
     }
 
+    /**
+     * Translates a path into the regular expression which mws.Application
+     * matches request paths with, such that this does not have to be done in
+     * MATLAB when the server starts. Must produce the same result as
+     * mws.Application.processPath.
+     *
+     * @param path OpenAPI or Express style path
+     * @return regular expression with route parameters as named tokens
+     */
+    static String toRoutePattern(String path) {
+        // Route parameters which are somewhere in the middle of the path,
+        // Express style and OpenAPI style
+        path = path.replaceAll("/:([^/]*)/", "/(?<$1>[^/]*)/");
+        path = path.replaceAll("/\\{([^/]*)\\}/", "/(?<$1>[^/]*)/");
+        // Route parameters at the end of the path, the slash which precedes
+        // them is optional
+        path = path.replaceAll("/:([^/]*)", "[/]?(?<$1>[^/]*)");
+        path = path.replaceAll("/\\{([^/]*)\\}", "[/]?(?<$1>[^/]*)");
+        // OpenAPI style path parameters anywhere else
+        path = path.replaceAll("\\{([^/]*)\\}", "(?<$1>[^/]*)");
+        return path + "$";
+    }
+
+    /**
+     * Translates the base path of the server into the regular expression
+     * which is prefixed to the routes of all operations. Unlike the paths of
+     * operations, characters which have a special meaning in regular
+     * expressions are escaped, as base paths are often versions like /v1.2.
+     *
+     * @param basePath base path without host and trailing slash, which may
+     *                 contain server variables without definition like
+     *                 /{version}
+     * @param named    whether to match the variables as named tokens
+     * @return regular expression which matches the base path
+     */
+    static String toBaseRoutePattern(String basePath, boolean named) {
+        StringBuilder pattern = new StringBuilder();
+        Matcher variable = Pattern.compile("\\{([^/{}]*)\\}").matcher(basePath);
+        int start = 0;
+        while (variable.find()) {
+            pattern.append(escapeRegex(basePath.substring(start, variable.start())));
+            pattern.append(named ? "(?<" + variable.group(1) + ">[^/]*)" : "[^/]*");
+            start = variable.end();
+        }
+        pattern.append(escapeRegex(basePath.substring(start)));
+        return pattern.toString();
+    }
+
+    private static String escapeRegex(String literal) {
+        return literal.replaceAll("([.\\[\\]()?*+{}|^$\\\\])", "\\\\$1");
+    }
+
 }
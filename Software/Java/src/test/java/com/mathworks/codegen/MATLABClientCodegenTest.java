@@ -0,0 +1,213 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABClientCodegenTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Copies the MATLAB files which the generator adds to the client from
+     * ../MATLAB and ../Modules into a temporary openapiRoot.
+     *
+     * @param clientJar content of lib/jar/MATLABClient.jar, null for none
+     * @return openapiRoot
+     */
+    private Path openapiRoot(byte[] clientJar) throws IOException {
+        Path root = folder.newFolder("root").toPath();
+        copy(Paths.get("..", "MATLAB", "app", "system"), root.resolve("MATLAB").resolve("app").resolve("system"));
+        Path jsonmapper = Paths.get("Modules", "matlab-jsonmapper", "Software", "MATLAB", "app", "system");
+        copy(Paths.get("..").resolve(jsonmapper), root.resolve(jsonmapper));
+        if (clientJar != null) {
+            Path jar = root.resolve("MATLAB").resolve("lib").resolve("jar").resolve("MATLABClient.jar");
+            Files.createDirectories(jar.getParent());
+            Files.write(jar, clientJar);
+        }
+        return root.resolve("MATLAB");
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Path target = to.resolve(from.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void clientJarIsCopiedIntoPackage() throws IOException {
+        byte[] jar = "MATLABClient.jar".getBytes(StandardCharsets.UTF_8);
+        Path output = generate(openapiRoot(jar), "HttpTransport", "java");
+        assertArrayEquals(jar, Files.readAllBytes(output.resolve("+Pets").resolve("MATLABClient.jar")));
+        assertTrue(Files.exists(output.resolve("+Pets").resolve("HttpTransport.m")));
+    }
+
+    @Test
+    public void missingClientJarIsReported() throws IOException {
+        Path root = openapiRoot(null);
+        try {
+            generate(root, "HttpTransport", "java");
+            fail("Generated a client without MATLABClient.jar");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(
+                    root.resolve("lib").resolve("jar").resolve("MATLABClient.jar").toString()));
+        }
+    }
+
+    @Test
+    public void clientJarHasOnlyClientClasses() throws IOException {
+        // Built by mvn package
+        File jar = new File("../MATLAB/lib/jar/MATLABClient.jar");
+        Assume.assumeTrue(jar.isFile());
+        List<String> names;
+        byte[] reader;
+        try (JarFile file = new JarFile(jar)) {
+            names = Collections.list(file.entries()).stream().map(e -> e.getName()).collect(Collectors.toList());
+            try (InputStream in = file.getInputStream(file.getEntry("com/mathworks/codegen/MATLABJsonArrayReader.class"))) {
+                reader = in.readAllBytes();
+            }
+        }
+        assertTrue(names.contains("com/mathworks/codegen/MATLABHttpTransport.class"));
+        assertTrue(names.contains("com/mathworks/codegen/MATLABHttpTransport$Batch.class"));
+        // jackson-core is relocated such that it does not conflict with the
+        // version on the class path of MATLAB
+        assertTrue(names.contains("com/mathworks/codegen/jackson/core/JsonParser.class"));
+        String classes = new String(reader, StandardCharsets.ISO_8859_1);
+        assertTrue(classes.contains("com/mathworks/codegen/jackson/core/JsonParser"));
+        assertFalse(classes.contains("com/fasterxml"));
+        for (String name : names) {
+            assertTrue(name, name.startsWith("META-INF/") || name.startsWith("com/mathworks/codegen/jackson/core/")
+                    || name.startsWith("com/mathworks/codegen/MATLABHttpTransport")
+                    || name.startsWith("com/mathworks/codegen/MATLABJsonArrayReader")
+                    || name.endsWith("/"));
+        }
+        assertFalse(names.contains("com/mathworks/codegen/MATLABCodegen.class"));
+    }
+
+    /**
+     * Generates a client with a single API class Pets.
+     *
+     * @param openapiRoot folder with the MATLAB files added to the client
+     * @param properties  additional properties as name value pairs
+     * @return output folder
+     */
+    private Path generate(Path openapiRoot, String... properties) throws IOException {
+        return generate(openapiRoot, false, properties);
+    }
+
+    private Path generate(Path openapiRoot, boolean dryRun, String... properties) throws IOException {
+        File spec = new File(folder.getRoot(), "pet.yaml");
+        Files.write(spec.toPath(), String.join("\n", "openapi: 3.0.3", "info:", "  title: Pets",
+                "  version: '1'", "paths:", "  /pets/{id}:", "    get:", "      operationId: getPet",
+                "      tags: [pets]", "      parameters:", "        - name: id", "          in: path",
+                "          required: true", "          schema:", "            type: integer",
+                "      responses:", "        '200':", "          description: Pet", "          content:",
+                "            application/json:", "              schema:", "                type: string")
+                .getBytes(StandardCharsets.UTF_8));
+        File output = new File(folder.getRoot(), "output");
+        CodegenConfigurator configurator = new CodegenConfigurator().setGeneratorName("matlab-client")
+                .setInputSpec(spec.getPath()).setOutputDir(output.getPath())
+                .setTemplateDir(new File("../Mustache").getCanonicalPath())
+                .addAdditionalProperty("packageName", "Pets")
+                .addAdditionalProperty("openapiRoot", openapiRoot.toFile().getCanonicalPath())
+                .addAdditionalProperty("GenerationMetrics", "false");
+        for (int i = 0; i < properties.length; i += 2) {
+            configurator.addAdditionalProperty(properties[i], properties[i + 1]);
+        }
+        new DefaultGenerator(dryRun).opts(configurator.toClientOptInput()).generate();
+        return output.toPath();
+    }
+
+    /**
+     * Generates a client with ApiMethodFiles set, into an output folder in
+     * which Pets was generated as a single file before.
+     *
+     * @return folder of the API classes
+     */
+    private Path generateMethodFiles(boolean dryRun) throws IOException {
+        Path api = folder.getRoot().toPath().resolve("output").resolve("+Pets").resolve("+api");
+        Files.createDirectories(api);
+        Files.write(api.resolve("Pets.m"), "classdef Pets\nend\n".getBytes(StandardCharsets.UTF_8));
+        generate(Paths.get("..", "MATLAB"), dryRun, "ApiMethodFiles", "true");
+        return api;
+    }
+
+    @Test
+    public void methodFilesStartWithHeader() throws IOException {
+        Path api = generateMethodFiles(false);
+        List<String> lines = Files.readAllLines(api.resolve("@Pets").resolve("getPet.m"));
+        assertEquals("% This file is automatically generated using OpenAPI", lines.get(0));
+        String function = lines.stream().filter(l -> l.trim().startsWith("function ")).findFirst().get();
+        assertTrue(function, function.startsWith("function [code, result, response] = getPet(obj"));
+        // Indented as in a function file rather than in a methods block
+        assertTrue(lines.contains("end % getPet method"));
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("    % getPet ")));
+        // The file of the class which is now a class folder is deleted
+        assertTrue(Files.exists(api.resolve("@Pets").resolve("Pets.m")));
+        assertFalse(Files.exists(api.resolve("Pets.m")));
+    }
+
+    @Test
+    public void dryRunKeepsClassFile() throws IOException {
+        Path api = generateMethodFiles(true);
+        assertTrue(Files.exists(api.resolve("Pets.m")));
+        assertFalse(Files.exists(api.resolve("@Pets")));
+    }
+
+    @Test
+    public void asyncOperationsRequireJavaTransport() throws IOException {
+        try {
+            generate(Paths.get("..", "MATLAB"), "AsyncOperations", "true");
+            fail("Generated asynchronous variants which send requests synchronously");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("HttpTransport java"));
+        }
+        Path output = generate(openapiRoot(new byte[0]), "AsyncOperations", "true", "HttpTransport", "java");
+        assertTrue(Files.isRegularFile(output.resolve("+Pets").resolve("ResponseFuture.m")));
+    }
+
+    @Test
+    public void batchOperationsRequireJavaTransport() throws IOException {
+        try {
+            generate(Paths.get("..", "MATLAB"), "BatchOperations", "true", "HttpTransport", "matlab");
+            fail("Generated batch variants which send requests one after another");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("HttpTransport java"));
+        }
+        Path output = generate(openapiRoot(new byte[0]), "BatchOperations", "true", "HttpTransport", "java");
+        assertTrue(new String(Files.readAllBytes(output.resolve("+Pets").resolve("+api").resolve("Pets.m")),
+                StandardCharsets.UTF_8).contains("getPetBatch"));
+    }
+}
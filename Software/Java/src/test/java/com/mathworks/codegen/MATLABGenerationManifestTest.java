@@ -0,0 +1,247 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import com.samskivert.mustache.Mustache;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABGenerationManifestTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File output;
+    private File templates;
+
+    @Before
+    public void setUp() throws IOException {
+        output = folder.newFolder("output");
+        templates = folder.newFolder("templates");
+        write(new File(templates, "model.mustache"), "classdef {{classname}}");
+    }
+
+    private static void write(File file, String contents) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ModelsMap model(String classname, String... properties) {
+        CodegenModel model = new CodegenModel();
+        model.setName(classname);
+        model.setClassname(classname);
+        for (String name : properties) {
+            CodegenProperty p = new CodegenProperty();
+            p.name = name;
+            p.baseName = name;
+            p.dataType = "string";
+            model.vars.add(p);
+        }
+        ModelMap modelMap = new ModelMap();
+        modelMap.setModel(model);
+        ModelsMap bundle = new ModelsMap();
+        bundle.setModels(Collections.singletonList(modelMap));
+        bundle.put("packageName", "Pets");
+        return bundle;
+    }
+
+    private MATLABGenerationManifest manifest() throws IOException {
+        MATLABGenerationManifest manifest = new MATLABGenerationManifest(output.getPath(), templates.getPath());
+        manifest.load();
+        return manifest;
+    }
+
+    /**
+     * Generates the model like the generator would, returns whether it was
+     * rendered
+     */
+    private boolean generate(MATLABGenerationManifest manifest, Map<String, Object> bundle, String file,
+            String contents) throws IOException {
+        String unchanged = manifest.unchanged("model.mustache", bundle);
+        if (unchanged != null) {
+            assertEquals(contents, unchanged);
+        } else {
+            write(new File(output, file), contents);
+        }
+        manifest.written(new File(output, file));
+        return unchanged == null;
+    }
+
+    private boolean regenerate(Map<String, Object> bundle) throws IOException {
+        MATLABGenerationManifest first = manifest();
+        generate(first, model("Pet", "name"), "+models/Pet.m", "classdef Pet");
+        first.save();
+        return generate(manifest(), bundle, "+models/Pet.m", "classdef Pet");
+    }
+
+    @Test
+    public void unchangedModelIsNotRendered() throws IOException {
+        MATLABGenerationManifest first = manifest();
+        assertTrue(generate(first, model("Pet", "name"), "+models/Pet.m", "classdef Pet"));
+        assertEquals(Collections.singletonList("model.mustache:Pet"), first.regenerated());
+        first.save();
+        assertTrue(new File(output, MATLABGenerationManifest.FILENAME).isFile());
+
+        MATLABGenerationManifest second = manifest();
+        // An identical, but not the same, model
+        assertTrue(!generate(second, model("Pet", "name"), "+models/Pet.m", "classdef Pet"));
+        assertEquals(1, second.unchangedCount());
+        assertTrue(second.regenerated().isEmpty());
+    }
+
+    @Test
+    public void changedModelIsRendered() throws IOException {
+        assertTrue(regenerate(model("Pet", "name", "tag")));
+        ModelsMap renamed = model("Pet", "name");
+        ((ModelMap) renamed.getModels().get(0)).getModel().vars.get(0).dataType = "double";
+        assertTrue(regenerate(renamed));
+        ModelsMap described = model("Pet", "name");
+        ((ModelMap) described.getModels().get(0)).getModel().description = "A pet";
+        assertTrue(regenerate(described));
+        ModelsMap otherPackage = model("Pet", "name");
+        otherPackage.put("packageName", "Animals");
+        assertTrue(regenerate(otherPackage));
+    }
+
+    @Test
+    public void generatedDateIsIgnored() throws IOException {
+        ModelsMap bundle = model("Pet", "name");
+        bundle.put("generatedDate", "2026-01-01T00:00:00");
+        MATLABGenerationManifest first = manifest();
+        generate(first, bundle, "+models/Pet.m", "classdef Pet");
+        first.save();
+        bundle = model("Pet", "name");
+        bundle.put("generatedDate", "2026-01-02T00:00:00");
+        assertTrue(!generate(manifest(), bundle, "+models/Pet.m", "classdef Pet"));
+    }
+
+    @Test
+    public void changedTemplatesRenderAgain() throws IOException {
+        MATLABGenerationManifest first = manifest();
+        generate(first, model("Pet", "name"), "+models/Pet.m", "classdef Pet");
+        first.save();
+        // Any file in the template directory, e.g. a partial
+        write(new File(templates, "partials/header.mustache"), "% Generated");
+        assertTrue(generate(manifest(), model("Pet", "name"), "+models/Pet.m", "classdef Pet"));
+    }
+
+    @Test
+    public void editedFileIsRenderedAgain() throws IOException {
+        MATLABGenerationManifest first = manifest();
+        generate(first, model("Pet", "name"), "+models/Pet.m", "classdef Pet");
+        first.save();
+        write(new File(output, "+models/Pet.m"), "classdef Pet % edited");
+        assertTrue(generate(manifest(), model("Pet", "name"), "+models/Pet.m", "classdef Pet"));
+        assertEquals("classdef Pet", new String(Files.readAllBytes(new File(output, "+models/Pet.m").toPath()),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void deletedFileIsRenderedAgain() throws IOException {
+        MATLABGenerationManifest first = manifest();
+        generate(first, model("Pet", "name"), "+models/Pet.m", "classdef Pet");
+        first.save();
+        new File(output, "+models/Pet.m").delete();
+        assertTrue(generate(manifest(), model("Pet", "name"), "+models/Pet.m", "classdef Pet"));
+    }
+
+    @Test
+    public void filesNotGeneratedAreDropped() throws IOException {
+        MATLABGenerationManifest first = manifest();
+        generate(first, model("Pet", "name"), "+models/Pet.m", "classdef Pet");
+        generate(first, model("Tag", "name"), "+models/Tag.m", "classdef Tag");
+        first.save();
+        MATLABGenerationManifest second = manifest();
+        generate(second, model("Pet", "name"), "+models/Pet.m", "classdef Pet");
+        second.save();
+        // Tag was not generated the second time, so is rendered the third
+        assertTrue(generate(manifest(), model("Tag", "name"), "+models/Tag.m", "classdef Tag"));
+    }
+
+    @Test
+    public void apisAreKeyedByClass() throws IOException {
+        CodegenOperation op = new CodegenOperation();
+        op.operationId = "getPet";
+        op.httpMethod = "GET";
+        OperationMap operations = new OperationMap();
+        operations.setClassname("Pet");
+        operations.setOperation(new ArrayList<CodegenOperation>(Collections.singletonList(op)));
+        OperationsMap bundle = new OperationsMap();
+        bundle.setOperation(operations);
+
+        MATLABGenerationManifest manifest = manifest();
+        assertNull(manifest.unchanged("api.mustache", bundle));
+        assertEquals(Collections.singletonList("api.mustache:Pet"), manifest.regenerated());
+    }
+
+    @Test
+    public void otherFilesAreNotTracked() throws IOException {
+        MATLABGenerationManifest manifest = manifest();
+        Map<String, Object> bundle = new HashMap<String, Object>();
+        bundle.put("packageName", "Pets");
+        assertNull(manifest.unchanged("BaseClient.mustache", bundle));
+        assertTrue(manifest.regenerated().isEmpty());
+    }
+
+    @Test
+    public void cyclicModelsAndLambdas() throws IOException {
+        ModelsMap bundle = model("Node", "next");
+        CodegenModel node = ((ModelMap) bundle.getModels().get(0)).getModel();
+        node.setParentModel(node);
+        node.children = new ArrayList<CodegenModel>(Collections.singletonList(node));
+        bundle.put("lambda", (Mustache.Lambda) (fragment, writer) -> writer.write(fragment.execute()));
+        bundle.put("identity", new Object());
+
+        MATLABGenerationManifest first = manifest();
+        generate(first, bundle, "+models/Node.m", "classdef Node");
+        first.save();
+
+        ModelsMap again = model("Node", "next");
+        CodegenModel other = ((ModelMap) again.getModels().get(0)).getModel();
+        other.setParentModel(other);
+        other.children = new ArrayList<CodegenModel>(Collections.singletonList(other));
+        again.put("lambda", (Mustache.Lambda) (fragment, writer) -> writer.write(fragment.execute()));
+        again.put("identity", new Object());
+        assertTrue(!generate(manifest(), again, "+models/Node.m", "classdef Node"));
+    }
+
+    @Test
+    public void sharedDefaultsAreIncluded() throws IOException {
+        Map<String, Object> defaults = new HashMap<String, Object>();
+        defaults.put("jsonmapperPackage", "Pets");
+        MATLABModelsMap bundle = new MATLABModelsMap(defaults);
+        bundle.setModels(model("Color").getModels());
+
+        MATLABGenerationManifest first = manifest();
+        generate(first, bundle, "+models/Color.m", "classdef Color");
+        first.save();
+
+        defaults.put("jsonmapperPackage", "Animals");
+        MATLABModelsMap changed = new MATLABModelsMap(defaults);
+        changed.setModels(model("Color").getModels());
+        assertTrue(generate(manifest(), changed, "+models/Color.m", "classdef Color"));
+    }
+}
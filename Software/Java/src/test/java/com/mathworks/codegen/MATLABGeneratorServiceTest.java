@@ -0,0 +1,126 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABGeneratorServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<String> args(String... args) {
+        return Arrays.asList(args);
+    }
+
+    @Test
+    public void tokenizeSplitsOnWhitespace() {
+        assertEquals(args("generate", "-g", "matlab-client", "-o", "out"),
+                MATLABGeneratorService.tokenize("  generate\t-g matlab-client\n -o   out "));
+        assertEquals(Collections.emptyList(), MATLABGeneratorService.tokenize("   "));
+    }
+
+    @Test
+    public void tokenizeRemovesQuotes() {
+        assertEquals(args("-i", "C:\\My Specs\\spec.yaml", "-o", "/tmp/out dir"),
+                MATLABGeneratorService.tokenize("-i \"C:\\My Specs\\spec.yaml\" -o '/tmp/out dir'"));
+        // Quotes within an argument are removed as well
+        assertEquals(args("--additional-properties=copyrightNotice=(c) 2026"),
+                MATLABGeneratorService.tokenize("--additional-properties=copyrightNotice=\"(c) 2026\""));
+        // Empty quotes are an empty argument
+        assertEquals(args("a", "", "b"), MATLABGeneratorService.tokenize("a \"\" b"));
+    }
+
+    @Test
+    public void tokenizeKeepsOtherQuotesAndBackslashes() {
+        assertEquals(args("it's here", "say \"hi\""),
+                MATLABGeneratorService.tokenize("\"it's here\" 'say \"hi\"'"));
+        // Backslashes are path separators rather than escape characters, so
+        // they do not escape quotes either
+        assertEquals(args("a\\", "b\\c d"), MATLABGeneratorService.tokenize("a\\ b\\\"c d\""));
+    }
+
+    @Test
+    public void tokenizeUnterminatedQuote() {
+        assertEquals(args("-o", "out dir"), MATLABGeneratorService.tokenize("-o \"out dir"));
+    }
+
+    @Test
+    public void validateAcceptsSupportedArguments() throws IOException {
+        String spec = folder.newFile("spec.yaml").getPath();
+        assertNull(MATLABGeneratorService.validate(args("generate", "-g", "matlab-client", "-i", spec)));
+        assertNull(MATLABGeneratorService.validate(
+                args("generate", "--generator-name=matlab-server", "--input-spec=" + spec, "-o", "out")));
+        assertNull(MATLABGeneratorService.validate(
+                args("generate", "-g", "matlab-client", "-i", "https://example.com/spec.yaml")));
+        assertNull(MATLABGeneratorService.validate(args("generate", "-g", "matlab-client",
+                "--input-spec-root-directory", folder.getRoot().getPath())));
+    }
+
+    @Test
+    public void validateRejectsOtherCommands() {
+        assertTrue(MATLABGeneratorService.validate(Collections.<String>emptyList()).contains("generate"));
+        assertTrue(MATLABGeneratorService.validate(args("list")).contains("generate"));
+    }
+
+    @Test
+    public void validateRejectsOtherGenerators() throws IOException {
+        String spec = folder.newFile("spec.yaml").getPath();
+        assertTrue(MATLABGeneratorService.validate(args("generate", "-g", "java", "-i", spec))
+                .startsWith("Generator has to be one of"));
+        assertTrue(MATLABGeneratorService.validate(args("generate", "-i", spec))
+                .startsWith("Generator has to be one of"));
+        // A missing value is not taken from the next option
+        assertTrue(MATLABGeneratorService.validate(args("generate", "-i", spec, "-g"))
+                .startsWith("Generator has to be one of"));
+    }
+
+    @Test
+    public void validateRejectsConfigurationFiles() throws IOException {
+        String spec = folder.newFile("spec.yaml").getPath();
+        String config = folder.newFile("config.json").getPath();
+        assertEquals("Configuration files are not supported",
+                MATLABGeneratorService.validate(args("generate", "-g", "matlab-client", "-i", spec, "-c", config)));
+        assertEquals("Configuration files are not supported", MATLABGeneratorService
+                .validate(args("generate", "-g", "matlab-client", "-i", spec, "--config=" + config)));
+    }
+
+    @Test
+    public void validateRejectsMissingSpecs() {
+        assertEquals("Required option '-i' is missing",
+                MATLABGeneratorService.validate(args("generate", "-g", "matlab-client")));
+        String missing = new File(folder.getRoot(), "missing.yaml").getPath();
+        assertEquals("The spec file is not found: " + missing,
+                MATLABGeneratorService.validate(args("generate", "-g", "matlab-client", "-i", missing)));
+        String missingRoot = new File(folder.getRoot(), "missing").getPath();
+        assertEquals("Input spec root directory not found: " + missingRoot, MATLABGeneratorService
+                .validate(args("generate", "-g", "matlab-client", "--input-spec-root-directory", missingRoot)));
+    }
+
+    @Test
+    public void resolveMakesPathsRelativeToDirectory() {
+        String dir = folder.getRoot().getPath();
+        String absolute = new File(folder.getRoot(), "out").getAbsolutePath();
+        assertEquals(args("generate", "-g", "matlab-client", "-i", new File(dir, "spec.yaml").getPath(),
+                "-o", absolute, "--template-dir=" + new File(dir, "templates").getPath(),
+                "--spec-cache", new File(dir, "cache").getPath(), "--package-name", "spec.yaml"),
+                MATLABGeneratorService.resolve(args("generate", "-g", "matlab-client", "-i", "spec.yaml",
+                        "-o", absolute, "--template-dir=templates", "--spec-cache", "cache",
+                        "--package-name", "spec.yaml"), dir));
+        assertEquals(args("generate", "--input-spec", "https://example.com/spec.yaml"),
+                MATLABGeneratorService.resolve(args("generate", "--input-spec", "https://example.com/spec.yaml"),
+                        dir));
+    }
+}
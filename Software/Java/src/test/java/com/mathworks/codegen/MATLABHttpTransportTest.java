@@ -0,0 +1,210 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABHttpTransportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+
+    private String base;
+
+    private String certificates;
+
+    // Method, protocol, Upgrade header and body of the requests received
+    private final List<String> received = new CopyOnWriteArrayList<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write("{\"name\":\"Fluffy\"}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+        // /redirect/n redirects to /redirect/n-1, /redirect/0 is the target
+        server.createContext("/redirect/", exchange -> {
+            int n = Integer.parseInt(exchange.getRequestURI().getPath().substring("/redirect/".length()));
+            if (n > 0) {
+                exchange.getResponseHeaders().add("Location", "/redirect/" + (n - 1));
+                respond(exchange, 302, new byte[0]);
+            } else {
+                respond(exchange, 200, "target".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/see-other", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/redirect/0");
+            respond(exchange, 303, new byte[0]);
+        });
+        server.start();
+        base = "http://localhost:" + server.getAddress().getPort();
+        certificates = writeCertificates();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        byte[] request;
+        try (InputStream in = exchange.getRequestBody()) {
+            request = in.readAllBytes();
+        }
+        received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " "
+                + exchange.getProtocol() + " " + exchange.getRequestHeaders().getFirst("Upgrade") + " "
+                + new String(request, StandardCharsets.UTF_8));
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * @return PEM file with the first certificate of the JDK's trust store
+     */
+    private String writeCertificates() throws Exception {
+        KeyStore cacerts = KeyStore.getInstance(KeyStore.getDefaultType());
+        try (InputStream in = Files.newInputStream(
+                Paths.get(System.getProperty("java.home"), "lib", "security", "cacerts"))) {
+            cacerts.load(in, null);
+        }
+        String alias = Collections.list(cacerts.aliases()).stream()
+                .filter(a -> {
+                    try {
+                        return cacerts.isCertificateEntry(a);
+                    } catch (GeneralSecurityException e) {
+                        return false;
+                    }
+                }).findFirst().get();
+        String pem = "Certificates trusted by the client\n-----BEGIN CERTIFICATE-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII))
+                        .encodeToString(cacerts.getCertificate(alias).getEncoded())
+                + "\n-----END CERTIFICATE-----\n";
+        File file = folder.newFile("rootcerts.pem");
+        Files.write(file.toPath(), pem.getBytes(StandardCharsets.US_ASCII));
+        return file.getPath();
+    }
+
+    private MATLABHttpTransport transport(int maxRedirects) throws Exception {
+        return new MATLABHttpTransport(10, true, maxRedirects, "", 0, certificates);
+    }
+
+    @Test
+    public void decodedResponsesHaveNoEncodingHeaders() throws Exception {
+        MATLABHttpTransport.Response r = transport(20).send("GET", base + "/gzip", null, null, null, 10);
+        assertEquals(200, r.getStatusCode());
+        assertArrayEquals("{\"name\":\"Fluffy\"}".getBytes(StandardCharsets.UTF_8), r.getBody());
+        for (String name : r.getHeaderNames()) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            assertFalse(name, lower.equals("content-encoding") || lower.equals("content-length"));
+        }
+        assertEquals(1, Arrays.stream(r.getHeaderNames()).filter(n -> n.equalsIgnoreCase("Content-Type")).count());
+
+        MATLABHttpTransport.Response streamed = transport(20).sendStreaming("GET", base + "/gzip", null, null,
+                null, 10);
+        assertArrayEquals(r.getHeaderNames(), streamed.getHeaderNames());
+        assertArrayEquals(r.getBody(), streamed.readBody().getBody());
+    }
+
+    @Test
+    public void cleartextUsesHttp11WithoutUpgrade() throws Exception {
+        transport(20).send("GET", base + "/redirect/0", null, null, null, 10);
+        // No upgrade to HTTP/2 over cleartext although HTTP/2 is enabled
+        assertEquals(Arrays.asList("GET /redirect/0 HTTP/1.1 null "), received);
+    }
+
+    @Test
+    public void followsUpToMaxRedirects() throws Exception {
+        MATLABHttpTransport.Response r = transport(20).send("GET", base + "/redirect/7", null, null, null, 10);
+        assertEquals(200, r.getStatusCode());
+        assertEquals("target", new String(r.getBody(), StandardCharsets.UTF_8));
+
+        // HttpClient itself follows at most five redirects, the last
+        // redirect is returned once the maximum is reached
+        received.clear();
+        r = transport(2).send("GET", base + "/redirect/7", null, null, null, 10);
+        assertEquals(302, r.getStatusCode());
+        assertEquals(3, received.size());
+
+        r = transport(0).sendAsync("GET", base + "/redirect/1", null, null, null, 10).get();
+        assertEquals(302, r.getStatusCode());
+        r = transport(1).sendAsync("GET", base + "/redirect/1", null, null, null, 10).get();
+        assertEquals(200, r.getStatusCode());
+
+        MATLABHttpTransport.Batch batch = transport(6).newBatch(2);
+        batch.add("GET", base + "/redirect/6", null, null, null, 10);
+        batch.add("GET", base + "/redirect/7", null, null, null, 10);
+        MATLABHttpTransport.Response[] responses = batch.await();
+        assertEquals(200, responses[0].getStatusCode());
+        assertEquals(302, responses[1].getStatusCode());
+    }
+
+    @Test
+    public void seeOtherIsFollowedWithGet() throws Exception {
+        MATLABHttpTransport.Response r = transport(20).send("POST", base + "/see-other",
+                new String[] { "Content-Type" }, new String[] { "application/json" },
+                "{}".getBytes(StandardCharsets.UTF_8), 10);
+        assertEquals(200, r.getStatusCode());
+        assertNull(r.getError());
+        assertEquals(Arrays.asList("POST /see-other HTTP/1.1 null {}", "GET /redirect/0 HTTP/1.1 null "),
+                received);
+    }
+
+    @Test
+    public void requiresCertificates() throws Exception {
+        File empty = folder.newFile("empty.pem");
+        try {
+            new MATLABHttpTransport(10, true, 20, "", 0, empty.getPath());
+            fail("Created a client which trusts no certificates");
+        } catch (GeneralSecurityException e) {
+            assertEquals("No certificates in " + empty.getPath(), e.getMessage());
+        }
+        try {
+            new MATLABHttpTransport(10, true, 20, "", 0, new File(folder.getRoot(), "missing.pem").getPath());
+            fail("Created a client without certificate file");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABJsonArrayReaderTest {
+
+    private static MATLABJsonArrayReader reader(String json) throws IOException {
+        return new MATLABJsonArrayReader(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void readsElementsInChunks() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[{\"id\":1},{\"id\":2},{\"id\":3}]")) {
+            assertTrue(r.hasNext());
+            assertEquals("[{\"id\":1},{\"id\":2}]", r.next(2));
+            assertTrue(r.hasNext());
+            assertEquals("[{\"id\":3}]", r.next(2));
+            assertFalse(r.hasNext());
+            assertEquals("[]", r.next(2));
+        }
+    }
+
+    @Test
+    public void emptyDocuments() throws IOException {
+        try (MATLABJsonArrayReader r = reader(" [ ] ")) {
+            assertFalse(r.hasNext());
+            assertEquals("[]", r.next(10));
+        }
+        try (MATLABJsonArrayReader r = reader("")) {
+            assertFalse(r.hasNext());
+        }
+    }
+
+    @Test
+    public void singleValueIsOneElement() throws IOException {
+        try (MATLABJsonArrayReader r = reader("{\"id\":1}")) {
+            assertTrue(r.hasNext());
+            assertEquals("[{\"id\":1}]", r.next(10));
+            assertFalse(r.hasNext());
+        }
+    }
+
+    @Test
+    public void escapedQuotes() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[{\"name\":\"say \\\"hi\\\", bye\"},\"\\\\\"]")) {
+            assertEquals("[{\"name\":\"say \\\"hi\\\", bye\"},\"\\\\\"]", r.next(10));
+            assertFalse(r.hasNext());
+        }
+    }
+
+    @Test
+    public void bracketsInStrings() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[{\"a\":\"]}, [{\"},{\"b\":\"[\"}]")) {
+            assertEquals("[{\"a\":\"]}, [{\"}]", r.next(1));
+            assertEquals("[{\"b\":\"[\"}]", r.next(1));
+            assertFalse(r.hasNext());
+        }
+    }
+
+    @Test
+    public void nestedArrays() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[[1,[2,3]],[],{\"a\":[{\"b\":[]}]},4]")) {
+            assertEquals("[[1,[2,3]],[]]", r.next(2));
+            assertEquals("[{\"a\":[{\"b\":[]}]},4]", r.next(2));
+            assertFalse(r.hasNext());
+        }
+    }
+
+    @Test
+    public void numbersAreKeptAsWritten() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[0.1000000000000000055511151231257827, 1E400, 12345678901234567890]")) {
+            assertEquals("[0.1000000000000000055511151231257827,1E400,12345678901234567890]", r.next(10));
+        }
+    }
+
+    @Test
+    public void readsFromStream() throws IOException {
+        byte[] json = "\uFEFF[\"\u00e9\",\"\u20ac\"]".getBytes(StandardCharsets.UTF_8);
+        try (MATLABJsonArrayReader r = new MATLABJsonArrayReader(new ByteArrayInputStream(json))) {
+            assertEquals("[\"\u00e9\",\"\u20ac\"]", r.next(10));
+        }
+    }
+
+    @Test
+    public void truncatedInElement() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[{\"id\":1},{\"id\":2},{\"na")) {
+            assertEquals("[{\"id\":1},{\"id\":2}]", r.next(2));
+            r.next(2);
+            fail("Expected truncated element to be reported");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void truncatedAfterElement() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[{\"id\":1},")) {
+            r.next(10);
+            fail("Expected truncated array to be reported");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void malformedArray() throws IOException {
+        try (MATLABJsonArrayReader r = reader("[1 2]")) {
+            r.next(10);
+            fail("Expected missing comma to be reported");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABModelDeduplicatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, ModelsMap> models = new LinkedHashMap<String, ModelsMap>();
+    private final Map<String, CodegenModel> modelIndex = new HashMap<String, CodegenModel>();
+
+    /**
+     * Adds a model with properties given as name:Type, where Type is string
+     * or a class name, optionally prefixed by [ for arrays, which like in
+     * DefaultCodegen have data type List and the class of the items as complex
+     * type.
+     */
+    private CodegenModel model(String classname, String... properties) {
+        CodegenModel model = new CodegenModel();
+        model.setName(classname);
+        model.setClassname(classname);
+        for (String property : properties) {
+            String[] parts = property.split(":");
+            CodegenProperty p = property(parts[0], parts[1].replace("[", ""));
+            if (parts[1].startsWith("[")) {
+                CodegenProperty items = p;
+                p = property(parts[0], "List");
+                p.isArray = true;
+                p.isPrimitiveType = items.isPrimitiveType;
+                p.complexType = items.complexType;
+                p.items = items;
+                p.mostInnerItems = items;
+            }
+            model.vars.add(p);
+            model.allVars.add(p);
+            if (p.complexType != null) {
+                model.imports.add(p.complexType);
+            }
+        }
+        model.hasVars = !model.vars.isEmpty();
+        ModelMap modelMap = new ModelMap();
+        modelMap.setModel(model);
+        ModelsMap bundle = new ModelsMap();
+        bundle.setModels(Collections.singletonList(modelMap));
+        models.put(classname, bundle);
+        modelIndex.put(classname, model);
+        return model;
+    }
+
+    private static CodegenProperty property(String name, String type) {
+        CodegenProperty p = new CodegenProperty();
+        p.name = name;
+        p.baseName = name;
+        p.dataType = type;
+        p.datatypeWithEnum = type;
+        p.baseType = type;
+        if (Character.isUpperCase(type.charAt(0))) {
+            p.complexType = type;
+        } else {
+            p.isPrimitiveType = true;
+        }
+        return p;
+    }
+
+    private MATLABModelDeduplicator deduplicate() {
+        MATLABModelDeduplicator deduplicator = new MATLABModelDeduplicator();
+        deduplicator.deduplicate(models, modelIndex);
+        return deduplicator;
+    }
+
+    @Test
+    public void identicalModelsAreMerged() {
+        model("ShipmentAddress", "street:string", "city:string").description = "Where to ship";
+        model("Address", "street:string", "city:string");
+        model("InvoiceAddress", "street:string", "city:string");
+        model("Location", "street:string", "town:string");
+        MATLABModelDeduplicator deduplicator = deduplicate();
+
+        // The shortest class name is kept, descriptions do not matter
+        assertEquals(Arrays.asList("Address", "Location"), Arrays.asList(models.keySet().toArray()));
+        assertEquals(2, deduplicator.mergedModels());
+        assertEquals("Address", deduplicator.canonical("ShipmentAddress"));
+        assertEquals("Address", deduplicator.canonical("InvoiceAddress"));
+        assertEquals("Location", deduplicator.canonical("Location"));
+        assertEquals("Unknown", deduplicator.canonical("Unknown"));
+    }
+
+    @Test
+    public void nothingToMerge() {
+        model("Pet", "name:string");
+        model("Tag", "label:string");
+        MATLABModelDeduplicator deduplicator = deduplicate();
+        assertEquals(0, deduplicator.mergedModels());
+        assertEquals(2, models.size());
+    }
+
+    @Test
+    public void mergesInSeveralRounds() {
+        model("Address", "street:string");
+        model("ShipmentAddress", "street:string");
+        // Only identical once the addresses are merged
+        model("Order", "shipTo:ShipmentAddress", "history:[ShipmentAddress");
+        model("Invoice", "shipTo:Address", "history:[Address");
+        // Only identical once the orders are merged
+        model("Customer", "order:Invoice");
+        model("Client", "order:Order");
+        MATLABModelDeduplicator deduplicator = deduplicate();
+
+        assertEquals(Arrays.asList("Address", "Order", "Client"), Arrays.asList(models.keySet().toArray()));
+        assertEquals(3, deduplicator.mergedModels());
+        // Merged into a model which was merged later on
+        assertEquals("Client", deduplicator.canonical("Customer"));
+        assertEquals("Order", deduplicator.canonical("Invoice"));
+    }
+
+    @Test
+    public void referencesAreRewritten() {
+        model("Address", "street:string");
+        model("ShipmentAddress", "street:string");
+        CodegenModel order = model("Order", "shipTo:ShipmentAddress", "history:[ShipmentAddress",
+                "billTo:Address");
+        // Shared between models, rewritten once
+        CodegenProperty shared = order.vars.get(0);
+        model("Person", "name:string").allVars.add(shared);
+        deduplicate();
+
+        for (CodegenModel model : Arrays.asList(modelIndex.get("Order"), modelIndex.get("Person"))) {
+            for (CodegenProperty p : model.allVars) {
+                for (CodegenProperty q : Arrays.asList(p, p.items, p.mostInnerItems)) {
+                    if (q != null) {
+                        assertFalse(q.dataType, q.dataType.contains("ShipmentAddress"));
+                        assertFalse(String.valueOf(q.complexType).contains("ShipmentAddress"));
+                        assertFalse(String.valueOf(q.baseType).contains("ShipmentAddress"));
+                        assertFalse(String.valueOf(q.datatypeWithEnum).contains("ShipmentAddress"));
+                    }
+                }
+            }
+        }
+        assertEquals("Address", order.vars.get(0).dataType);
+        assertEquals("Address", order.vars.get(1).items.complexType);
+        // Imports are not duplicated
+        assertEquals(Collections.singleton("Address"), order.imports);
+    }
+
+    @Test
+    public void selfReferencesAreIdentical() {
+        model("Node", "next:Node");
+        model("Link", "next:Link");
+        // Not considered identical, even though Node could be used instead
+        model("Chain", "next:Node");
+        deduplicate();
+        assertEquals(Arrays.asList("Node", "Chain"), Arrays.asList(models.keySet().toArray()));
+        assertEquals("Node", modelIndex.get("Node").vars.get(0).dataType);
+    }
+
+    @Test
+    public void enumsAreComparedByValues() {
+        CodegenModel color = model("Color");
+        CodegenModel colour = model("Colour");
+        CodegenModel shade = model("Shade");
+        for (CodegenModel m : Arrays.asList(color, colour, shade)) {
+            m.isEnum = true;
+            m.dataType = "string";
+            m.allowableValues = new HashMap<String, Object>();
+            m.allowableValues.put("values", m == shade ? Arrays.asList("dark", "light")
+                    : Arrays.asList("red", "green"));
+        }
+        deduplicate();
+        assertEquals(Arrays.asList("Color", "Shade"), Arrays.asList(models.keySet().toArray()));
+    }
+
+    @Test
+    public void modelsReferredToByNameAreNotMerged() {
+        model("Animal", "name:string").children = Collections.singletonList(model("Dog", "name:string"));
+        modelIndex.get("Dog").parent = "Animal";
+        model("Cat", "name:string");
+        CodegenModel pet = model("Pet", "name:string");
+        pet.oneOf.add("Cat");
+        model("Plant", "name:string");
+        model("Tree", "name:string").vendorExtensions.put("x-is-one-of-interface", true);
+        deduplicate();
+        // Only Plant is left to merge with, and there is nothing identical
+        assertEquals(Arrays.asList("Animal", "Dog", "Cat", "Pet", "Plant", "Tree"),
+                Arrays.asList(models.keySet().toArray()));
+    }
+
+    private static CodegenProperty enumProperty(String dataType) {
+        CodegenProperty property = new CodegenProperty();
+        property.dataType = dataType;
+        property.isEnum = true;
+        return property;
+    }
+
+    @Test
+    public void inlineEnums() {
+        MATLABModelDeduplicator deduplicator = new MATLABModelDeduplicator();
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("values", Arrays.asList("open", "closed"));
+        assertNull(deduplicator.inlineEnum(enumProperty("string"), values));
+        deduplicator.addInlineEnum(enumProperty("string"), values, "OrderStatus");
+        // The first enum is kept
+        deduplicator.addInlineEnum(enumProperty("string"), values, "InvoiceStatus");
+        Map<String, Object> same = new HashMap<String, Object>();
+        same.put("values", Arrays.asList("open", "closed"));
+        assertEquals("OrderStatus", deduplicator.inlineEnum(enumProperty("string"), same));
+        assertEquals(1, deduplicator.mergedInlineEnums());
+    }
+
+    @Test
+    public void inlineEnumsOfOtherTypesAreNotMerged() {
+        MATLABModelDeduplicator deduplicator = new MATLABModelDeduplicator();
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("values", Arrays.asList(1, 2));
+        deduplicator.addInlineEnum(enumProperty("string"), values, "Level");
+        assertNull(deduplicator.inlineEnum(enumProperty("int32"), values));
+        CodegenProperty integer = enumProperty("string");
+        integer.isInteger = true;
+        assertNull(deduplicator.inlineEnum(integer, values));
+        CodegenProperty named = enumProperty("string");
+        named.vendorExtensions.put("x-enum-varnames", Arrays.asList("Low", "High"));
+        assertNull(deduplicator.inlineEnum(named, values));
+        assertEquals(0, deduplicator.mergedInlineEnums());
+    }
+
+    @Test
+    public void generatedClientHasNoReferencesToMergedModels() throws IOException {
+        File spec = folder.newFile("holders.yaml");
+        Files.write(spec.toPath(), String.join("\n", "openapi: 3.0.3", "info: {title: Holders, version: '1'}",
+                "paths:", "  /holders:", "    post:", "      operationId: addHolder", "      tags: [holders]",
+                "      requestBody:", "        content:", "          application/json:",
+                "            schema: {$ref: '#/components/schemas/Holder2'}", "      responses:",
+                "        '200':", "          description: ok", "          content:",
+                "            application/json:",
+                "              schema: {$ref: '#/components/schemas/Registry2'}", "components:",
+                "  schemas:", "    Holder1:", "      type: object", "      properties:",
+                "        value: {type: string}", "        state: {type: string, enum: [on, off]}",
+                "    Holder2:", "      type: object", "      properties:", "        value: {type: string}",
+                "        state: {type: string, enum: [on, off]}", "    Registry1:", "      type: object",
+                "      properties:", "        holders: {type: array, items: {$ref: '#/components/schemas/Holder1'}}",
+                "    Registry2:", "      type: object", "      properties:",
+                "        holders: {type: array, items: {$ref: '#/components/schemas/Holder2'}}")
+                .getBytes(StandardCharsets.UTF_8));
+        File output = new File(folder.getRoot(), "out");
+        new MATLABGenerator().opts(new CodegenConfigurator().setGeneratorName("matlab-client")
+                .setInputSpec(spec.getPath()).setOutputDir(output.getPath())
+                .setTemplateDir(new File("../Mustache").getCanonicalPath())
+                .addAdditionalProperty("packageName", "Pets")
+                .addAdditionalProperty("openapiRoot", new File("../MATLAB").getCanonicalPath())
+                .addAdditionalProperty("GenerationMetrics", "false")
+                .addAdditionalProperty("DeduplicateModels", "true").toClientOptInput()).generate();
+
+        File modelsFolder = new File(output, "+Pets/+models");
+        assertTrue(new File(modelsFolder, "Holder1.m").isFile());
+        assertTrue(new File(modelsFolder, "Registry1.m").isFile());
+        assertFalse(new File(modelsFolder, "Holder2.m").exists());
+        assertFalse(new File(modelsFolder, "Registry2.m").exists());
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(output.toPath())) {
+            files = paths.filter(p -> p.toString().endsWith(".m")).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            String contents = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            // Holder2 is only left as name of the body parameter
+            contents = contents.replaceAll("optionals\\.Holder2|optionals,\"Holder2\"|%   Holder2 - ", "");
+            assertFalse(file.toString(), contents.contains("Holder2"));
+            assertFalse(file.toString(), contents.contains("Registry2"));
+        }
+        // The body parameter keeps the name of the model it refers to, only
+        // its type is the model which is kept
+        String api = new String(Files.readAllBytes(output.toPath().resolve("+Pets/+api/Holders.m")),
+                StandardCharsets.UTF_8);
+        assertTrue(api, api.contains("optionals.Holder2 Pets.models.Holder1"));
+    }
+}
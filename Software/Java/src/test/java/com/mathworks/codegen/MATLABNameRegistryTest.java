@@ -0,0 +1,119 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABNameRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String repeat(char c, int n) {
+        return String.join("", Collections.nCopies(n, String.valueOf(c)));
+    }
+
+    @Test
+    public void shortNamesAreNotTruncated() {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        String name = repeat('a', 60);
+        assertEquals(name + "Sfx", registry.truncate(name, "Sfx"));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void longNamesGetCounter() {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        String first = registry.truncate(repeat('a', 70), "");
+        String second = registry.truncate(repeat('a', 70) + "b", "");
+        assertEquals(repeat('a', 58) + "_0000", first);
+        assertEquals(repeat('a', 58) + "_0001", second);
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void sameNameSameResult() {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        String name = repeat('a', 70);
+        assertEquals(registry.truncate(name, ""), registry.truncate(name, ""));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void suffixIsKept() {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        String truncated = registry.truncate(repeat('a', 70), "Enum");
+        assertEquals(MATLABNameRegistry.MAX_LENGTH, truncated.length());
+        assertEquals(repeat('a', 54) + "Enum_0000", truncated);
+        // A suffix which is too long by itself is cut as well
+        truncated = registry.truncate("a", repeat('s', 70));
+        assertEquals("a" + repeat('s', 57) + "_0000", truncated);
+    }
+
+    @Test
+    public void counterBeyondFourDigits() {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        String last = null;
+        for (int i = 0; i <= 10000; i++) {
+            last = registry.truncate(repeat('a', 70) + i, "");
+        }
+        // The name is cut further to make room for the fifth digit
+        assertEquals(repeat('a', 57) + "_10000", last);
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+        File file = new File(folder.getRoot(), "sub/registry.json");
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        String first = registry.truncate(repeat('a', 70), "");
+        String second = registry.truncate(repeat('a', 70) + "b", "");
+        registry.save(file);
+
+        // Names truncated before keep their suffix, regardless of the order
+        // in which they are requested, and new names get a new suffix
+        MATLABNameRegistry loaded = new MATLABNameRegistry();
+        loaded.load(file);
+        assertEquals(second, loaded.truncate(repeat('a', 70) + "b", ""));
+        String third = loaded.truncate(repeat('a', 70) + "c", "");
+        assertEquals(repeat('a', 58) + "_0002", third);
+        assertEquals(first, loaded.truncate(repeat('a', 70), ""));
+        assertEquals(3, loaded.size());
+    }
+
+    @Test
+    public void loadMissingFile() throws IOException {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        registry.load(new File(folder.getRoot(), "missing.json"));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void concurrentNamesAreUnique() {
+        MATLABNameRegistry registry = new MATLABNameRegistry();
+        List<String> names = new CopyOnWriteArrayList<String>();
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            names.add(registry.truncate(repeat('a', 70) + i, ""));
+            // Requesting the same name again gives the same result
+            assertEquals(registry.truncate(repeat('a', 70) + i, ""), registry.truncate(repeat('a', 70) + i, ""));
+        });
+        Set<String> unique = new HashSet<String>(names);
+        assertEquals(1000, unique.size());
+        for (String name : unique) {
+            assertTrue(name.length() <= MATLABNameRegistry.MAX_LENGTH);
+        }
+    }
+}
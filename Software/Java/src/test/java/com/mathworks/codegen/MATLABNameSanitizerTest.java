@@ -0,0 +1,102 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABNameSanitizerTest {
+
+    private final MATLABClientCodegen codegen = new MATLABClientCodegen();
+
+    private static String repeat(char c, int n) {
+        return String.join("", Collections.nCopies(n, String.valueOf(c)));
+    }
+
+    @Test
+    public void modelNames() {
+        assertEquals("pet_name", codegen.toModelName("pet-name"));
+        assertEquals("Model1st", codegen.toModelName("1st"));
+        assertEquals("x_hidden", codegen.toModelName("_hidden"));
+        assertEquals("Modelreturn", codegen.toModelName("return"));
+    }
+
+    @Test
+    public void varNames() {
+        assertEquals("pet_name", codegen.toVarName("pet-name"));
+        assertEquals("ref", codegen.toVarName("$ref"));
+        assertEquals("agteqb", codegen.toVarName("a>=b"));
+        assertEquals("notx", codegen.toVarName("!x"));
+        assertEquals("tildey", codegen.toVarName("~y"));
+        assertEquals("x1st", codegen.toVarName("1st"));
+        assertEquals("x_hidden", codegen.toVarName("_hidden"));
+        assertEquals("xend", codegen.toVarName("end"));
+        // Words which are not valid property names, in any case
+        assertEquals("xproperties", codegen.toVarName("properties"));
+        assertEquals("xMethods", codegen.toVarName("Methods"));
+        assertEquals("x_y_z", codegen.toVarName("x.y z"));
+    }
+
+    @Test
+    public void paramNames() {
+        assertEquals("pet_name", codegen.toParamName("pet-name"));
+        assertEquals("x1st", codegen.toParamName("1st"));
+        assertEquals("xreturn", codegen.toParamName("return"));
+        // Only keywords are reserved for parameters
+        assertEquals("properties", codegen.toParamName("properties"));
+    }
+
+    @Test
+    public void apiNames() {
+        assertEquals("PetName", codegen.toApiName("pet-name"));
+        assertEquals("Api1st", codegen.toApiName("1st"));
+        assertEquals("Apireturn", codegen.toApiName("return"));
+    }
+
+    @Test
+    public void operationIds() {
+        assertEquals("pet_name", codegen.toOperationId("pet-name"));
+        assertEquals("_1st", codegen.toOperationId("1st"));
+        assertEquals("call_end", codegen.toOperationId("end"));
+    }
+
+    @Test
+    public void replaceOperators() {
+        String plain = "plainName";
+        assertSame(plain, MATLABNameSanitizer.replaceOperators(plain));
+        assertEquals("a_bnotceqdgtelttildef", MATLABNameSanitizer.replaceOperators("$a-b!c=d>e<~f"));
+    }
+
+    @Test
+    public void longNamesAreTruncated() {
+        String name = repeat('a', 70);
+        assertEquals(repeat('a', 58) + "_0000", codegen.toVarName(name));
+        assertEquals(repeat('a', 58) + "_0001", codegen.toVarName(name + "b"));
+        // Results are remembered
+        assertEquals(repeat('a', 58) + "_0000", codegen.toVarName(name));
+    }
+
+    @Test
+    public void prepareDoesNotTruncate() {
+        MATLABNameSanitizer sanitizer = new MATLABNameSanitizer(codegen);
+        String name = repeat('a', 70) + "-b";
+        String prepared = repeat('a', 70) + "_b";
+        assertEquals(prepared, sanitizer.prepare(MATLABNameSanitizer.Kind.VAR, name));
+        // Preparing does not take up a truncated name, so the order in which
+        // names are truncated alone determines their suffix
+        assertEquals(repeat('a', 58) + "_0000", sanitizer.sanitize(MATLABNameSanitizer.Kind.VAR, repeat('a', 71)));
+        assertEquals(repeat('a', 58) + "_0001", sanitizer.sanitize(MATLABNameSanitizer.Kind.VAR, name));
+    }
+
+    @Test
+    public void nullNames() {
+        MATLABNameSanitizer sanitizer = new MATLABNameSanitizer(codegen);
+        assertNull(sanitizer.sanitize(MATLABNameSanitizer.Kind.MODEL, null));
+        assertNull(sanitizer.prepare(MATLABNameSanitizer.Kind.MODEL, null));
+    }
+}
@@ -0,0 +1,325 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.api.TemplateProcessor;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABParallelRendererTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MATLABParallelRenderer renderer;
+
+    @After
+    public void tearDown() {
+        if (renderer != null) {
+            renderer.close();
+        }
+    }
+
+    /**
+     * Template processor which records the files it writes.
+     */
+    private static class Recorder implements TemplateProcessor {
+        final List<String> written = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public File write(Map<String, Object> data, String template, File target) throws IOException {
+            written.add(target.getName() + ":" + data.get("value"));
+            return target;
+        }
+
+        @Override
+        public File writeToFile(String filename, byte[] contents) throws IOException {
+            written.add(new File(filename).getName());
+            return new File(filename);
+        }
+
+        @Override
+        public void ignore(Path path, String context) {
+        }
+
+        @Override
+        public void skip(Path path, String context) {
+        }
+    }
+
+    /**
+     * @return codegen whose files are written by renderer, which writes them
+     *         with delegate
+     */
+    private MATLABClientCodegen codegen(String workers, TemplateProcessor delegate) {
+        MATLABClientCodegen codegen = new MATLABClientCodegen();
+        codegen.setOutputDir(folder.getRoot().getPath());
+        codegen.additionalProperties().put("ParallelRendering", workers);
+        // Like MATLABGenerator, before the options are processed
+        renderer = new MATLABParallelRenderer(codegen, delegate);
+        codegen.processOpts();
+        return codegen;
+    }
+
+    private static Map<String, Object> data(Object value) {
+        Map<String, Object> data = new TreeMap<String, Object>();
+        data.put("value", value);
+        return data;
+    }
+
+    private String modelTemplate(MATLABClientCodegen codegen) {
+        return codegen.modelTemplateFiles().keySet().iterator().next();
+    }
+
+    @Test
+    public void serialWithoutWorkers() throws IOException {
+        Recorder recorder = new Recorder();
+        MATLABClientCodegen codegen = codegen("1", recorder);
+        File target = new File(folder.getRoot(), "Pet.m");
+        assertSame(target, renderer.write(data(1), modelTemplate(codegen), target));
+        // Written before write returns
+        assertEquals(Collections.singletonList("Pet.m:1"), recorder.written);
+        assertFalse(renderer.isScheduled(target));
+    }
+
+    @Test
+    public void otherTemplatesAreWrittenSerially() throws IOException {
+        Recorder recorder = new Recorder();
+        codegen("4", recorder);
+        File target = new File(folder.getRoot(), "README.md");
+        renderer.write(data(1), "unknown.mustache", target);
+        assertEquals(Collections.singletonList("README.md:1"), recorder.written);
+        assertFalse(renderer.isScheduled(target));
+    }
+
+    @Test
+    public void filesAreWrittenByWorkers() throws IOException, InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            @Override
+            public File write(Map<String, Object> data, String template, File target) throws IOException {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return super.write(data, template, target);
+            }
+        };
+        MATLABClientCodegen codegen = codegen("4", recorder);
+        List<File> targets = new ArrayList<File>();
+        for (int i = 0; i < 10; i++) {
+            File target = new File(folder.getRoot(), "Model" + i + ".m");
+            targets.add(target);
+            // Returned right away, while the workers are blocked
+            assertSame(target, renderer.write(data(i), modelTemplate(codegen), target));
+            assertTrue(renderer.isScheduled(target));
+        }
+        assertTrue(recorder.written.isEmpty());
+        release.countDown();
+        renderer.flush();
+        assertEquals(10, recorder.written.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(recorder.written.contains("Model" + i + ".m:" + i));
+        }
+    }
+
+    @Test
+    public void sameFileIsWrittenInOrder() throws IOException {
+        Recorder recorder = new Recorder();
+        MATLABClientCodegen codegen = codegen("4", recorder);
+        String template = modelTemplate(codegen);
+        for (int i = 0; i < 20; i++) {
+            // Files which differ in case only may be the same file
+            String name = i % 2 == 0 ? "Pet.m" : "PET.m";
+            renderer.write(data(i), template, new File(folder.getRoot(), name));
+        }
+        renderer.flush();
+        List<String> values = recorder.written.stream().map(s -> s.substring(s.indexOf(':') + 1))
+                .collect(Collectors.toList());
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, values);
+    }
+
+    @Test
+    public void failuresAreReportedByFlush() throws IOException {
+        Recorder recorder = new Recorder() {
+            @Override
+            public File write(Map<String, Object> data, String template, File target) throws IOException {
+                // The first and last writes succeed, the others fail
+                Object value = data.get("value");
+                if (value.equals(2) || value.equals(3)) {
+                    throw new IOException("Cannot render " + target.getName());
+                }
+                return super.write(data, template, target);
+            }
+        };
+        MATLABClientCodegen codegen = codegen("4", recorder);
+        String template = modelTemplate(codegen);
+        renderer.write(data(1), template, new File(folder.getRoot(), "Good.m"));
+        renderer.write(data(2), template, new File(folder.getRoot(), "Bad1.m"));
+        renderer.write(data(3), template, new File(folder.getRoot(), "Bad2.m"));
+        // Later writes of the same file still happen
+        renderer.write(data(4), template, new File(folder.getRoot(), "Bad1.m"));
+        try {
+            renderer.flush();
+            fail("Expected failure to be reported");
+        } catch (RuntimeException e) {
+            // The first failure in the order in which files were scheduled
+            assertTrue(e.getMessage(), e.getMessage().contains("Bad1.m"));
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertTrue(recorder.written.contains("Good.m:1"));
+        assertTrue(recorder.written.contains("Bad1.m:4"));
+    }
+
+    private Map<String, byte[]> generate(String name, String workers, boolean dryRun, String... properties)
+            throws IOException {
+        File spec = new File(folder.getRoot(), "pet.yaml");
+        if (!spec.exists()) {
+            Files.write(spec.toPath(), String.join("\n", "openapi: 3.0.3", "info:", "  title: Pets",
+                    "  version: '1'", "paths:", "  /pets/{id}:", "    get:", "      operationId: getPet",
+                    "      tags: [pets]", "      parameters:", "        - name: id", "          in: path",
+                    "          required: true", "          schema:", "            type: integer",
+                    "      responses:", "        '200':", "          description: Pet", "          content:",
+                    "            application/json:", "              schema:",
+                    "                $ref: '#/components/schemas/Pet'", "    delete:",
+                    "      operationId: deletePet", "      tags: [pets]", "      parameters:",
+                    "        - name: id", "          in: path", "          required: true", "          schema:",
+                    "            type: integer", "      responses:", "        '204':",
+                    "          description: Deleted", "  /stores:", "    get:",
+                    "      operationId: listStores", "      tags: [stores]", "      responses:", "        '200':",
+                    "          description: Stores", "          content:", "            application/json:",
+                    "              schema:", "                type: array", "                items:",
+                    "                  $ref: '#/components/schemas/Store'", "components:", "  schemas:",
+                    "    Pet:", "      type: object", "      properties:", "        name:",
+                    "          type: string", "        status:", "          type: string",
+                    "          enum: [available, sold]", "    Store:", "      type: object",
+                    "      properties:", "        pets:", "          type: array", "          items:",
+                    "            $ref: '#/components/schemas/Pet'")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        File output = new File(folder.getRoot(), name);
+        CodegenConfigurator configurator = new CodegenConfigurator().setGeneratorName("matlab-client")
+                .setInputSpec(spec.getPath()).setOutputDir(output.getPath())
+                .setTemplateDir(new File("../Mustache").getCanonicalPath())
+                .addAdditionalProperty("packageName", "Pets")
+                .addAdditionalProperty("openapiRoot", new File("../MATLAB").getCanonicalPath())
+                .addAdditionalProperty("GenerationMetrics", "false");
+        if (workers != null) {
+            configurator.addAdditionalProperty("ParallelRendering", workers);
+        }
+        for (int i = 0; i < properties.length; i += 2) {
+            configurator.addAdditionalProperty(properties[i], properties[i + 1]);
+        }
+        ClientOptInput input = configurator.toClientOptInput();
+        new MATLABGenerator(dryRun).opts(input).generate();
+
+        Map<String, byte[]> files = new TreeMap<String, byte[]>();
+        if (!output.exists()) {
+            return files;
+        }
+        try (Stream<Path> paths = Files.walk(output.toPath())) {
+            for (Path p : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                files.put(output.toPath().relativize(p).toString(), Files.readAllBytes(p));
+            }
+        }
+        return files;
+    }
+
+    @Test
+    public void generatesSameFilesAsSerial() throws IOException {
+        Map<String, byte[]> serial = generate("serial", null, false);
+        Map<String, byte[]> parallel = generate("parallel", "4", false);
+        assertEquals(serial.keySet(), parallel.keySet());
+        assertTrue(serial.size() > 5);
+        for (String file : serial.keySet()) {
+            assertArrayEquals(file, serial.get(file), parallel.get(file));
+        }
+    }
+
+    @Test
+    public void methodFilesAreSameAsSerial() throws IOException {
+        // Only the pets API has enough operations for a class folder, the
+        // method templates are registered while the other API is rendered
+        String[] properties = { "ApiMethodFiles", "2", "IncrementalGeneration", "true" };
+        for (int run = 0; run < 2; run++) {
+            // The second run reuses unchanged files using the manifest
+            Map<String, byte[]> serial = generate("serial", null, false, properties);
+            Map<String, byte[]> parallel = generate("parallel", "4", false, properties);
+            assertEquals(serial.keySet(), parallel.keySet());
+            assertTrue(serial.containsKey(Paths.get("+Pets", "+api", "@Pets", "deletePet.m").toString()));
+            assertTrue(serial.containsKey(Paths.get("+Pets", "+api", "Stores.m").toString()));
+            for (String file : serial.keySet()) {
+                assertArrayEquals(file, serial.get(file), parallel.get(file));
+            }
+        }
+    }
+
+    @Test
+    public void dryRunIsSerial() throws IOException {
+        assertTrue(generate("dryRun", "4", true).isEmpty());
+    }
+
+    @Test
+    public void requiresMATLABGenerator() {
+        MATLABClientCodegen codegen = new MATLABClientCodegen();
+        codegen.setOutputDir(folder.getRoot().getPath());
+        codegen.additionalProperties().put("ParallelRendering", "4");
+        try {
+            // As when run by OpenAPIGenerator or DefaultGenerator
+            codegen.processOpts();
+            fail("Expected ParallelRendering without renderer to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("com.mathworks.codegen.MATLABGenerator"));
+        }
+    }
+
+    @Test
+    public void generateCommandUsesMATLABGenerator() throws Exception {
+        Map<String, byte[]> serial = generate("serial", null, false);
+        File output = new File(folder.getRoot(), "command");
+        // As run by MATLABGenerator.main, ParallelRendering would be rejected
+        // with DefaultGenerator
+        MATLABGenerator.generateCommand(Arrays.asList("generate", "-g", "matlab-client", "-i",
+                new File(folder.getRoot(), "pet.yaml").getPath(), "-o", output.getPath(), "-t",
+                new File("../Mustache").getCanonicalPath(), "--additional-properties",
+                "packageName=Pets,GenerationMetrics=false,ParallelRendering=4,openapiRoot="
+                        + new File("../MATLAB").getCanonicalPath()))
+                .run();
+        for (String file : serial.keySet()) {
+            assertArrayEquals(file, serial.get(file), Files.readAllBytes(output.toPath().resolve(file)));
+        }
+    }
+}
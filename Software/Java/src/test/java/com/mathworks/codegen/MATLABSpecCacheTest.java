@@ -0,0 +1,194 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.cmd.Generate;
+import org.openapitools.codegen.config.Context;
+
+import io.airlift.airline.ParseException;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.info.Info;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABSpecCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File specs;
+    private MATLABSpecCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        specs = folder.newFolder("specs");
+        cache = new MATLABSpecCache(folder.getRoot().toPath().resolve("cache"));
+        write("pet.yaml", "openapi: 3.0.3", "info:", "  title: Pets", "  version: '1'", "paths:",
+                "  /pets:", "    get:", "      operationId: listPets", "      responses:", "        '200':",
+                "          description: Pets", "          content:", "            application/json:",
+                "              schema:", "                $ref: 'schemas.yaml#/Pet'");
+        write("schemas.yaml", "Pet:", "  type: object", "  properties:", "    name:", "      type: string");
+    }
+
+    private String write(String name, String... lines) throws IOException {
+        File file = new File(specs, name);
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    private String key(String spec) throws IOException {
+        return cache.key(new File(specs, spec).getPath(), null, null, true, null);
+    }
+
+    @Test
+    public void keyDependsOnReferencedFiles() throws IOException {
+        String key = key("pet.yaml");
+        assertNotNull(key);
+        assertEquals(key, key("pet.yaml"));
+        write("schemas.yaml", "Pet:", "  type: object", "  properties:", "    tag:", "      type: string");
+        assertNotEquals(key, key("pet.yaml"));
+    }
+
+    @Test
+    public void keyDependsOnOptions() throws IOException {
+        String spec = new File(specs, "pet.yaml").getPath();
+        String key = cache.key(spec, null, null, true, null);
+        assertNotEquals(key, cache.key(spec, null, null, false, null));
+        assertNotEquals(key, cache.key(spec, null, null, true, "Authorization:Bearer x"));
+    }
+
+    @Test
+    public void specRootIgnoresMergedSpec() throws IOException {
+        String key = cache.key(null, specs.getPath(), "merged", true, null);
+        assertNotNull(key);
+        write("merged.yaml", "openapi: 3.0.3");
+        write("notes.txt", "not a spec");
+        assertEquals(key, cache.key(null, specs.getPath(), "merged", true, null));
+        write("other.yaml", "openapi: 3.0.3");
+        assertNotEquals(key, cache.key(null, specs.getPath(), "merged", true, null));
+    }
+
+    @Test
+    public void downloadedSpecsAreNotCached() throws IOException {
+        assertNull(cache.key("https://example.com/pet.yaml", null, null, true, null));
+        write("remote.yaml", "openapi: 3.0.3", "paths:", "  /pets:",
+                "    $ref: \"https://example.com/paths.yaml#/pets\"");
+        assertNull(key("remote.yaml"));
+        assertNull(cache.configurator(new File(specs, "remote.yaml").getPath(), null, null, true, null));
+    }
+
+    @Test
+    public void unknownReferencesAreNotCached() throws IOException {
+        write("internal.json", "{\"paths\": {\"/pets\": {\"$ref\": \"#/components/pathItems/pets\"}},",
+                "  \"x\": {\"$ref\": \"schemas.yaml#/Pet\"}}");
+        assertNotNull(key("internal.json"));
+        // Multi-line and escaped values cannot be classified
+        write("folded.yaml", "openapi: 3.0.3", "components:", "  schemas:", "    Pet:", "      $ref: >-",
+                "        schemas.yaml#/Pet");
+        assertNull(key("folded.yaml"));
+        write("escaped.json", "{\"x\": {\"$ref\": \"schemas\\u002eyaml#/Pet\"}}");
+        assertNull(key("escaped.json"));
+        // Neither can references to files which do not exist
+        write("missing.yaml", "openapi: 3.0.3", "components:", "  schemas:", "    Pet:",
+                "      $ref: 'absent.yaml#/Pet'");
+        assertNull(key("missing.yaml"));
+    }
+
+    @Test
+    public void generatesWithMATLABGeneratorOnlyIfRequired() throws Exception {
+        String spec = new File(specs, "pet.yaml").getPath();
+        for (String mode : Arrays.asList("use", "bypass")) {
+            Generate command = (Generate) MATLABSpecCache.generateCommand(Arrays.asList("generate", "-g",
+                    "matlab-client", "-i", spec, "--spec-cache", folder.getRoot().getPath() + "/cache",
+                    "--spec-cache-mode", mode, "--additional-properties", "packageName=Pets,ParallelRendering=false"));
+            assertFalse(mode, MATLABSpecCache.get(command, "generator") instanceof MATLABGenerator);
+            command = (Generate) MATLABSpecCache.generateCommand(Arrays.asList("generate", "-g", "matlab-client",
+                    "-i", spec, "--spec-cache", folder.getRoot().getPath() + "/cache", "--spec-cache-mode", mode,
+                    "--additional-properties", "packageName=Pets", "--additional-properties", "ParallelRendering=4"));
+            assertTrue(mode, MATLABSpecCache.get(command, "generator") instanceof MATLABGenerator);
+        }
+    }
+
+    @Test
+    public void storeAndLoad() throws IOException {
+        OpenAPI openAPI = new OpenAPI(SpecVersion.V31).info(new Info().title("Pets").version("1"));
+        cache.store("abc", new MATLABSpecCache.Entry("pet.yaml", openAPI));
+        MATLABSpecCache.Entry entry = cache.load("abc");
+        assertEquals("pet.yaml", entry.inputSpec);
+        assertEquals("Pets", entry.openAPI.getInfo().getTitle());
+        assertEquals(SpecVersion.V31, entry.openAPI.getSpecVersion());
+        assertNull(cache.load("def"));
+    }
+
+    @Test
+    public void invalidEntriesAreIgnored() throws IOException {
+        Path dir = folder.newFolder("cache").toPath();
+        Files.write(dir.resolve("abc.spec"), "not compressed".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.load("abc"));
+    }
+
+    @Test
+    public void clearDeletesEntries() throws IOException {
+        cache.clear();
+        cache.store("abc", new MATLABSpecCache.Entry("pet.yaml", new OpenAPI()));
+        Path placeholder = cache.placeholder();
+        cache.clear();
+        assertNull(cache.load("abc"));
+        assertTrue(Files.isRegularFile(placeholder));
+    }
+
+    @Test
+    public void invalidMode() {
+        try {
+            MATLABSpecCache.generateCommand(Arrays.asList("generate", "-g", "matlab-client", "-i", "pet.yaml",
+                    "--spec-cache", "cache", "--spec-cache-mode", "sometimes"));
+            fail("Expected invalid mode to be reported");
+        } catch (ParseException e) {
+            assertTrue(e.getMessage().contains("sometimes"));
+        }
+    }
+
+    @Test
+    public void parsedSpecIsReused() throws IOException {
+        String spec = new File(specs, "pet.yaml").getPath();
+        MATLABSpecCache.Configurator miss = cache.configurator(spec, null, null, true, null);
+        assertFalse(miss.isHit());
+        miss.setGeneratorName("matlab-client");
+        miss.setInputSpec(spec);
+        miss.setOutputDir(folder.getRoot().getPath());
+        Context<?> parsed = miss.toContext();
+
+        // The spec does not even have to exist anymore
+        MATLABSpecCache.Configurator hit = cache.configurator(spec, null, null, true, null);
+        assertTrue(hit.isHit());
+        Files.delete(new File(spec).toPath());
+        hit.setGeneratorName("matlab-client");
+        hit.setInputSpec(spec);
+        hit.setOutputDir(folder.getRoot().getPath());
+        Context<?> cached = hit.toContext();
+
+        OpenAPI expected = (OpenAPI) parsed.getSpecDocument();
+        OpenAPI actual = (OpenAPI) cached.getSpecDocument();
+        assertEquals(expected.getPaths().keySet(), actual.getPaths().keySet());
+        assertEquals(expected.getComponents().getSchemas().keySet(), actual.getComponents().getSchemas().keySet());
+        assertEquals(parsed.getWorkflowSettings().getInputSpec(), cached.getWorkflowSettings().getInputSpec());
+    }
+}
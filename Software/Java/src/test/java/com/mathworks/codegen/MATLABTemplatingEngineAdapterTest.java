@@ -0,0 +1,149 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openapitools.codegen.SupportingFile;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MATLABTemplatingEngineAdapterTest {
+
+    // How supporting files were rewritten before, after they were written
+    private static final Pattern LEGACY = Pattern.compile(
+            "(?<!(classdef|function|error|warning).*)(JSONMapper|JSONPropertyInfo|JSONDiscriminator)");
+
+    private MATLABClientCodegen codegen;
+    private MATLABTemplatingEngineAdapter adapter;
+
+    @Before
+    public void setUp() {
+        codegen = new MATLABClientCodegen();
+        codegen.additionalProperties().put("jsonmapperPackage", "Pkg");
+        adapter = new MATLABTemplatingEngineAdapter(codegen);
+    }
+
+    /**
+     * Applies the legacy rewrite line by line, as applying it to a whole file
+     * takes quadratic time. Every line is preceded by a line terminator, as
+     * in the middle of a file; the lookbehind does not look back to the very
+     * start of the input.
+     */
+    private static String legacy(String contents) {
+        StringBuilder out = new StringBuilder();
+        Matcher m = Pattern.compile("[^\\r\\n]*(\\r\\n|\\r|\\n|$)").matcher(contents);
+        while (m.find() && m.end() > m.start()) {
+            out.append(LEGACY.matcher("\n" + m.group()).replaceAll("Pkg.$2").substring(1));
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void handlesSupportingFilesAddedLater() {
+        codegen.supportingFiles().add(new SupportingFile("Client.mustache", "", "Client.m"));
+        adapter.indexSupportingFiles();
+        assertTrue(adapter.handlesFile("Client.mustache"));
+        assertFalse(adapter.handlesFile("ResponseCache.m"));
+
+        codegen.supportingFiles().add(new SupportingFile("ResponseCache.m", "", "ResponseCache.m"));
+        codegen.supportingFiles().add(new SupportingFile("routes.json", "", "routes.json"));
+        adapter.indexSupportingFiles();
+        assertTrue(adapter.handlesFile("ResponseCache.m"));
+        assertFalse(adapter.handlesFile("routes.json"));
+    }
+
+    @Test
+    public void qualifiesReferences() {
+        assertEquals("obj = Pkg.JSONMapper.fromJSON(x);",
+                codegen.rewriteSupportingFileLine("obj = JSONMapper.fromJSON(x);"));
+        assertEquals("p = Pkg.JSONPropertyInfo(a); d = Pkg.JSONDiscriminator(b);",
+                codegen.rewriteSupportingFileLine("p = JSONPropertyInfo(a); d = JSONDiscriminator(b);"));
+        assertEquals("    arguments, x Pkg.JSONMapper, end",
+                codegen.rewriteSupportingFileLine("    arguments, x JSONMapper, end"));
+    }
+
+    @Test
+    public void keepsDefinitionsAndIdentifiers() {
+        for (String line : Arrays.asList(
+                "classdef JSONMapper < handle",
+                "classdef (Abstract) JSONPropertyInfo",
+                "        function obj = JSONMapper(varargin)",
+                "    error('JSONMapper:Decode','Unable to decode');",
+                "    warning('JSONPropertyInfo:Type','Unexpected type');",
+                "no references at all")) {
+            assertEquals(line, codegen.rewriteSupportingFileLine(line));
+        }
+        // Only references before the keyword are qualified
+        assertEquals("x = Pkg.JSONMapper; error('JSONMapper:x','y')",
+                codegen.rewriteSupportingFileLine("x = JSONMapper; error('JSONMapper:x','y')"));
+    }
+
+    @Test
+    public void keepsLineTerminators() throws IOException {
+        String contents = "a = JSONMapper;\r\nb = JSONMapper;\rc = JSONMapper;\n\nd = JSONMapper;";
+        assertEquals("a = Pkg.JSONMapper;\r\nb = Pkg.JSONMapper;\rc = Pkg.JSONMapper;\n\nd = Pkg.JSONMapper;",
+                adapter.rewrite(new StringReader(contents)));
+        assertEquals("", adapter.rewrite(new StringReader("")));
+        assertEquals("\n", adapter.rewrite(new StringReader("\n")));
+    }
+
+    @Test
+    public void longInput() throws IOException {
+        // Lines span the boundaries of the read buffer
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            contents.append("x").append(i).append(" = JSONMapper.fromJSON(y); % ").append(i).append('\n');
+        }
+        assertEquals(legacy(contents.toString()), adapter.rewrite(new StringReader(contents.toString())));
+    }
+
+    @Test
+    public void sameAsLegacyRewrite() throws IOException {
+        List<String> lines = Arrays.asList(
+                "classdef JSONMapper < handle & JSONPropertyInfo",
+                "function JSONDiscriminator = JSONMapper(JSONPropertyInfo)",
+                "error(JSONMapper.id, 'JSONMapper:x')",
+                "JSONMapperMap JSONMapper2 myJSONMapper",
+                "% classdef is mentioned after JSONMapper, functions too",
+                "x = warning2 + JSONDiscriminator");
+        for (String line : lines) {
+            assertEquals(line, legacy(line), codegen.rewriteSupportingFileLine(line));
+        }
+    }
+
+    @Test
+    public void sameAsLegacyRewriteForHelperFiles() throws IOException {
+        List<Path> files = new ArrayList<Path>();
+        for (String dir : Arrays.asList("../Modules/matlab-jsonmapper/Software/MATLAB/app/system",
+                "../Modules/matlab-web-service/Software/MATLAB/app/sys/+mws", "../MATLAB/app/system")) {
+            if (new File(dir).isDirectory()) {
+                try (Stream<Path> s = Files.list(Paths.get(dir))) {
+                    files.addAll(s.filter(p -> p.toString().endsWith(".m")).collect(Collectors.toList()));
+                }
+            }
+        }
+        assertTrue("No helper files found", !files.isEmpty());
+        for (Path file : files) {
+            String contents = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertEquals(file.toString(), legacy(contents), adapter.rewrite(new StringReader(contents)));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mathworks.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+// Copyright 2026 The MathWorks, Inc.
+
+public class MatlabServerCodegenTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void baseRoutePatternEscapesLiterals() {
+        assertEquals("", MatlabServerCodegen.toBaseRoutePattern("", true));
+        assertEquals("/api/v1\\.2", MatlabServerCodegen.toBaseRoutePattern("/api/v1.2", true));
+        assertEquals("/a\\+b\\(c\\)\\$", MatlabServerCodegen.toBaseRoutePattern("/a+b(c)$", true));
+        assertEquals("/(?<version>[^/]*)/api\\.v1",
+                MatlabServerCodegen.toBaseRoutePattern("/{version}/api.v1", true));
+        assertEquals("/[^/]*/api\\.v1", MatlabServerCodegen.toBaseRoutePattern("/{version}/api.v1", false));
+    }
+
+    /**
+     * @return contents of server.m and routes.json generated for a spec
+     *         whose server has the specified URL
+     */
+    private String[] generate(String serverUrl) throws IOException {
+        File spec = folder.newFile();
+        Files.write(spec.toPath(), String.join("\n", "openapi: 3.0.3", "info:", "  title: Pets",
+                "  version: '1'", "servers:", "  - url: " + serverUrl, "paths:", "  /pets/{id}:", "    get:",
+                "      operationId: getPet", "      tags: [pets]", "      parameters:", "        - name: id",
+                "          in: path", "          required: true", "          schema:", "            type: integer",
+                "      responses:", "        '204':", "          description: Found").getBytes(StandardCharsets.UTF_8));
+        File output = folder.newFolder();
+        CodegenConfigurator configurator = new CodegenConfigurator().setGeneratorName("matlab-server")
+                .setInputSpec(spec.getPath()).setOutputDir(output.getPath())
+                .setTemplateDir(new File("../Mustache").getCanonicalPath())
+                .addAdditionalProperty("packageName", "PetServer")
+                .addAdditionalProperty("openapiRoot", new File("../MATLAB").getCanonicalPath())
+                .addAdditionalProperty("GenerationMetrics", "false");
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        return new String[] {
+                new String(Files.readAllBytes(output.toPath().resolve("server.m")), StandardCharsets.UTF_8),
+                new String(Files.readAllBytes(output.toPath().resolve("routes.json")), StandardCharsets.UTF_8) };
+    }
+
+    @Test
+    public void routesIncludeProcessedBasePath() throws IOException {
+        String[] files = generate("http://localhost:9910/{version}/api.v1");
+        assertTrue(files[0], files[0].contains(
+                "app.addRoute(\"GET\",\"/(?<version>[^/]*)/api\\.v1/pets[/]?(?<id>[^/]*)$\",@PetServer.impl.Pets.getPet);"));
+        assertTrue(files[0], files[0].contains(
+                "app.addRoute(\"GET\",\"/(?<version>[^/]*)/api\\.v1/openapi(?<format>[^/]*)$\",@openApiSpec);"));
+        assertTrue(files[1], files[1].contains("\"match\": \"/[^/]*/api\\\\.v1/.*\","));
+    }
+
+    @Test
+    public void routesWithoutBasePath() throws IOException {
+        String[] files = generate("http://localhost:9910");
+        assertTrue(files[0], files[0].contains(
+                "app.addRoute(\"GET\",\"/pets[/]?(?<id>[^/]*)$\",@PetServer.impl.Pets.getPet);"));
+        assertTrue(files[1], files[1].contains("\"match\": \"/.*\","));
+    }
+}
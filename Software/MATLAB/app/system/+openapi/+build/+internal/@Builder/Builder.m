@@ -49,6 +49,19 @@ classdef (Abstract) Builder < openapi.build.Object
         generatorVersion string
         % Location of build log file
         logPath string
+        % Submit the build to a long running generator process which is
+        % started on first use and reused by subsequent builds, rather than
+        % starting a new Java process for every build. Not supported with
+        % inputConfigurationFile. See openapi.build.GeneratorService.
+        useService (1,1) logical
+        % Directory in which parsed specs are cached, such that a spec
+        % which did not change is not parsed, resolved and validated again
+        % by the next build. Not supported with inputConfigurationFile.
+        specCache string
+        % How the spec cache is used: "use" reads and writes entries,
+        % "bypass" parses the spec without using the cache and "clear"
+        % deletes all entries before building.
+        specCacheMode string {mustBeMember(specCacheMode, ["use", "bypass", "clear"])} = "use"
     end
 
     properties (Hidden)
@@ -75,6 +88,9 @@ classdef (Abstract) Builder < openapi.build.Object
                 options.generatorJarPath string {mustBeTextScalar, mustBeNonzeroLengthText}
                 options.generatorVersion string {mustBeTextScalar, mustBeNonzeroLengthText}
                 options.logPath string {mustBeTextScalar, mustBeNonzeroLengthText}
+                options.useService (1,1) logical = false
+                options.specCache string {mustBeTextScalar, mustBeNonzeroLengthText}
+                options.specCacheMode string {mustBeMember(options.specCacheMode, ["use", "bypass", "clear"])} = "use"
             end            
             % Call all the setters
             for p = string(fieldnames(options))'
@@ -136,9 +152,15 @@ classdef (Abstract) Builder < openapi.build.Object
             end
 
             classpath = obj.generatorJarPath + openapi.internal.utils.classpathSep + obj.matlabJarPath;
+            % Arguments of the generate command, only set if the build can
+            % be submitted to the generator service
+            argStr = "";
 
             if ~isempty(obj.inputConfigurationFile)
                 obj.dispLog(sprintf('Using configuration file: %s', obj.inputConfigurationFile));
+                if strlength(obj.specCache) > 0
+                    obj.dispLog('The spec cache does not support inputConfigurationFile, the spec is parsed again.');
+                end
                 obj.buildAdditionalPropertiesFileEntry();
                 obj.writeCLIConfigurationFile();
                 if ~isfile(obj.inputConfigurationFile)
@@ -155,34 +177,63 @@ classdef (Abstract) Builder < openapi.build.Object
             else
                 cmdStr = openapi.internal.utils.createJavaCLICmdString();
                 cmdStr = cmdStr + " -cp " + '"' + classpath + '"';
-                cmdStr = cmdStr + " org.openapitools.codegen.OpenAPIGenerator";
-                cmdStr = cmdStr + " generate --generator-name " + obj.generatorName;
+                if strlength(obj.specCache) > 0
+                    % Generates like OpenAPIGenerator, using the spec cache
+                    cmdStr = cmdStr + " com.mathworks.codegen.MATLABSpecCache";
+                elseif isKey(obj.additionalProperties, 'ParallelRendering')
+                    % Generates like OpenAPIGenerator, supporting
+                    % ParallelRendering
+                    cmdStr = cmdStr + " com.mathworks.codegen.MATLABGenerator";
+                else
+                    cmdStr = cmdStr + " org.openapitools.codegen.OpenAPIGenerator";
+                end
+                argStr = "generate --generator-name " + obj.generatorName;
                 if ~isempty(obj.inputSpecRootDirectory)
-                    cmdStr = cmdStr + " --input-spec-root-directory " + '"' + obj.inputSpecRootDirectory + '"';
+                    argStr = argStr + " --input-spec-root-directory " + '"' + obj.inputSpecRootDirectory + '"';
                 elseif ~isempty(obj.inputSpec)
-                    cmdStr = cmdStr + " --input-spec " + '"' + obj.inputSpec + '"';
+                    argStr = argStr + " --input-spec " + '"' + obj.inputSpec + '"';
                 end
-                cmdStr = cmdStr + " --output " + '"' + obj.output + '"';
-                cmdStr = cmdStr + " --package-name " + '"' + obj.packageName + '"';
-                cmdStr = cmdStr + " --template-dir " + '"' + obj.templateDir + '"';
-                cmdStr = cmdStr + obj.buildAdditionalPropertiesCLIEntry();
+                argStr = argStr + " --output " + '"' + obj.output + '"';
+                argStr = argStr + " --package-name " + '"' + obj.packageName + '"';
+                argStr = argStr + " --template-dir " + '"' + obj.templateDir + '"';
+                argStr = argStr + obj.buildAdditionalPropertiesCLIEntry();
 
                 if obj.skipValidateSpec
-                    cmdStr = cmdStr + " --skip-validate-spec";
+                    argStr = argStr + " --skip-validate-spec";
                 end
 
-                cmdStr = cmdStr + obj.buildGlobalPropertiesCLIEntry();
+                argStr = argStr + obj.buildGlobalPropertiesCLIEntry();
 
                 if strlength(obj.additionalArguments) > 0
-                   cmdStr = cmdStr + " " + obj.additionalArguments;
+                   argStr = argStr + " " + obj.additionalArguments;
+                end
+
+                if strlength(obj.specCache) > 0
+                    argStr = argStr + " --spec-cache " + '"' + obj.specCache + '"';
+                    argStr = argStr + " --spec-cache-mode " + obj.specCacheMode;
                 end
+                cmdStr = cmdStr + " " + argStr;
             end
 
-            obj.dispLog(['Building client, executing command:', newline, '  ', char(cmdStr), newline]);
+            buildStart = datetime('now');
+            buildTimer = tic;
+            if obj.useService && strlength(argStr) > 0
+                obj.dispLog(['Building client, submitting to generator service:', newline, '  ', char(argStr), newline]);
 
-            [cmdStatus, cmdOut, cmdStrExec] = openapi.internal.utils.wrappedSystem(cmdStr);
-    
-            obj.log(sprintf('Prefixed command: %s\n', cmdStrExec));
+                service = openapi.build.GeneratorService.instance(classpath);
+                [cmdStatus, cmdOut] = service.generate(argStr);
+
+                obj.log(sprintf('Generator service log: %s\n', service.logFile));
+            else
+                if obj.useService
+                    obj.dispLog('The generator service does not support inputConfigurationFile, starting a new process instead.');
+                end
+                obj.dispLog(['Building client, executing command:', newline, '  ', char(cmdStr), newline]);
+
+                [cmdStatus, cmdOut, cmdStrExec] = openapi.internal.utils.wrappedSystem(cmdStr);
+
+                obj.log(sprintf('Prefixed command: %s\n', cmdStrExec));
+            end
             obj.log(sprintf('Command result: %d\n', cmdStatus));
             obj.log(sprintf('Command output:\n%s\n', cmdOut));
     
@@ -190,6 +241,7 @@ classdef (Abstract) Builder < openapi.build.Object
                 error('Client:build', 'build failed: \n%s\nLog: %s', cmdOut, fullfile(obj.output, obj.packageName + "_build.log"));
             else
                 obj.dispLog(sprintf('build completed, output directory: %s', obj.output));
+                obj.summarizeMetrics(buildStart, toc(buildTimer));
             end
         end
 
@@ -234,7 +286,7 @@ classdef (Abstract) Builder < openapi.build.Object
             if ~isfolder(templateDir)
                 error('Client:set_templateDir', 'Mustache/template directory not found: %s', templateDir);
             else
-                obj.templateDir = templateDir;
+                obj.templateDir = openapi.internal.utils.absolutePath(templateDir);
             end
         end
 
@@ -245,6 +297,9 @@ classdef (Abstract) Builder < openapi.build.Object
                 output string {mustBeTextScalar}
             end
 
+            % Paths are passed to the generator as absolute paths, as the
+            % generator service does not run in the current folder
+            output = openapi.internal.utils.absolutePath(output);
             if isfile(output)
                 error('Client:set_output','A file already exists: %s', output);
             elseif isfolder(output)
@@ -267,7 +322,7 @@ classdef (Abstract) Builder < openapi.build.Object
                 if ~isfile(inputSpec)
                     error('Client:set_inputSpec','OpenAPI Spec file not found: %s', inputSpec);
                 else
-                    obj.inputSpec = inputSpec;
+                    obj.inputSpec = openapi.internal.utils.absolutePath(inputSpec);
                 end
             else
                 obj.inputSpec = inputSpec;
@@ -282,11 +337,20 @@ classdef (Abstract) Builder < openapi.build.Object
             if ~isfolder(inputSpecRootDirectory)
                 error('Client:set_inputSpecRootDirectory','Specified input spec root directory does not exist: %s', inputSpecRootDirectory);
             else
-                obj.inputSpecRootDirectory = inputSpecRootDirectory;
+                obj.inputSpecRootDirectory = openapi.internal.utils.absolutePath(inputSpecRootDirectory);
             end
         end        
 
 
+        function set.specCache(obj, specCache)
+            arguments
+                obj (1,1) openapi.build.internal.Builder
+                specCache string {mustBeTextScalar}
+            end
+            obj.specCache = openapi.internal.utils.absolutePath(specCache);
+        end
+
+
         function set.matlabJarPath(obj, matlabJarPath)
             arguments
                 obj (1,1) openapi.build.internal.Builder
@@ -369,6 +433,91 @@ classdef (Abstract) Builder < openapi.build.Object
     end
 
 
+    methods (Static)
+        function report = buildBatch(builders, options)
+            % buildBatch Builds multiple clients and/or servers in a single
+            % Java process, generating the packages in parallel.
+            %
+            % builders is an array or cell array of openapi.build.Client and
+            % openapi.build.Server objects, or the name of a batch manifest
+            % JSON file. Returns the report of the batch with the status
+            % and durations of every build. A warning is issued for every
+            % build which failed.
+            %
+            % Example:
+            %   c = openapi.build.Client(inputSpec="pets.yaml", packageName="Pets", output="out/Pets");
+            %   s = openapi.build.Server(inputSpec="pets.yaml", packageName="PetServer", output="out/PetServer");
+            %   report = openapi.build.Client.buildBatch({c, s}, workers=2);
+            arguments
+                builders
+                options.workers (1,1) double {mustBeInteger, mustBePositive}
+                options.specCache string {mustBeTextScalar, mustBeNonzeroLengthText}
+                options.reportFile string {mustBeTextScalar, mustBeNonzeroLengthText} = string(tempname) + "_batch_report.json"
+            end
+
+            if isStringScalar(builders) || ischar(builders)
+                manifestFile = string(builders);
+                if ~isfile(manifestFile)
+                    error('Client:buildBatch:FileNotFound', 'Manifest file not found: %s', manifestFile);
+                end
+                first = openapi.build.Client();
+            else
+                if ~iscell(builders)
+                    builders = num2cell(builders);
+                end
+                if isempty(builders)
+                    error('Client:buildBatch', 'No builders specified.');
+                end
+                jobs = cell(1, numel(builders));
+                for n = 1:numel(builders)
+                    jobs{n} = builders{n}.batchJob();
+                end
+                manifest = struct('jobs', {jobs});
+                if isfield(options, 'specCache')
+                    manifest.specCache = options.specCache;
+                end
+                manifestFile = string(tempname) + "_batch_manifest.json";
+                fid = fopen(manifestFile, 'w');
+                fwrite(fid, jsonencode(manifest), 'char');
+                fclose(fid);
+                cleanup = onCleanup(@()delete(manifestFile));
+                first = builders{1};
+            end
+
+            if ~first.checkJavaDeps
+                error('Client:buildBatch', 'Dependency check failed, review warnings\nCheck if java and javac (>= v11) paths are configured.');
+            end
+
+            classpath = first.generatorJarPath + openapi.internal.utils.classpathSep + first.matlabJarPath;
+            cmdStr = openapi.internal.utils.createJavaCLICmdString();
+            cmdStr = cmdStr + " -cp " + '"' + classpath + '"';
+            cmdStr = cmdStr + " com.mathworks.codegen.MATLABBatchGenerator " + '"' + manifestFile + '"';
+            cmdStr = cmdStr + " --report " + '"' + options.reportFile + '"';
+            if isfield(options, 'workers')
+                cmdStr = cmdStr + " --workers " + options.workers;
+            end
+
+            fprintf('Building batch, executing command:\n  %s\n', cmdStr);
+            [~, cmdOut] = openapi.internal.utils.wrappedSystem(cmdStr);
+
+            if ~isfile(options.reportFile)
+                error('Client:buildBatch', 'batch build failed: \n%s', cmdOut);
+            end
+            report = jsondecode(fileread(options.reportFile));
+            fprintf('%s\n', strtrim(cmdOut));
+            jobReports = report.jobs;
+            if ~iscell(jobReports)
+                jobReports = num2cell(jobReports);
+            end
+            for n = 1:numel(jobReports)
+                if ~strcmp(jobReports{n}.status, 'succeeded')
+                    warning('Client:buildBatch:jobFailed', 'Build of %s failed: %s', jobReports{n}.name, jobReports{n}.error);
+                end
+            end
+        end
+    end
+
+
     methods (Access = protected, Hidden)
         function obj = log(obj, text)
             arguments
@@ -429,6 +578,60 @@ classdef (Abstract) Builder < openapi.build.Object
         end
 
 
+        function summarizeMetrics(obj, buildStart, buildSeconds)
+            % summarizeMetrics Displays and logs a summary of the metrics
+            % report which the generator writes next to the build log,
+            % unless it was disabled with the GenerationMetrics property
+            arguments
+                obj (1,1) openapi.build.internal.Builder
+                buildStart (1,1) datetime
+                buildSeconds (1,1) double
+            end
+
+            metricsFile = fullfile(obj.output, obj.packageName + "_metrics.json");
+            info = dir(metricsFile);
+            % Ignore a report left behind by an earlier build
+            if isempty(info) || datetime(info.datenum, 'ConvertFrom', 'datenum') < buildStart - seconds(2)
+                return;
+            end
+            try
+                m = jsondecode(fileread(metricsFile));
+            catch ME
+                obj.log(sprintf('Unable to read generation metrics: %s\n%s', metricsFile, ME.message));
+                return;
+            end
+
+            c = m.counts;
+            lines = string({ ...
+                sprintf('Generation metrics: %s', metricsFile), ...
+                sprintf('  generation: %.1f s of %.1f s in total, which also includes parsing the spec and starting Java', m.totalSeconds, buildSeconds), ...
+                sprintf('  models: %d (+%d synthesized enums), APIs: %d, operations: %d, truncated names: %d', ...
+                    c.models, c.synthesizedEnums, c.apis, c.operations, c.truncatedNames), ...
+                sprintf('  files written: %d, %.1f kB', c.filesWritten, c.bytesWritten / 1024)});
+            if c.mergedModels > 0 || c.mergedInlineEnums > 0
+                lines(end+1) = sprintf('  merged into identical classes: %d models, %d inline enums', ...
+                    c.mergedModels, c.mergedInlineEnums);
+            end
+
+            phaseNames = string(fieldnames(m.phases));
+            phaseSeconds = cellfun(@(f) m.phases.(f), cellstr(phaseNames));
+            [phaseSeconds, order] = sort(phaseSeconds, 'descend');
+            top = min(3, numel(order));
+            lines(end+1) = "  slowest phases: " + strjoin(compose("%s %.2f s", phaseNames(order(1:top)), phaseSeconds(1:top)), ", ");
+
+            % Templates are reported slowest first
+            if ~isempty(m.templates)
+                t = m.templates(1:min(3, numel(m.templates)));
+                lines(end+1) = "  slowest templates: " + strjoin(compose("%s %.2f s (%dx)", ...
+                    string({t.template})', [t.seconds]', [t.renders]'), ", ");
+            end
+
+            for n = 1:numel(lines)
+                obj.dispLog(lines(n));
+            end
+        end
+
+
         function arg = buildAdditionalPropertiesCLIEntry(obj)
             arguments
                 obj (1,1) openapi.build.internal.Builder
@@ -485,6 +688,41 @@ classdef (Abstract) Builder < openapi.build.Object
         end
 
 
+        function job = batchJob(obj)
+            % batchJob Returns the job describing this build in a batch
+            % manifest, see buildBatch
+            arguments
+                obj (1,1) openapi.build.internal.Builder
+            end
+
+            if ~isempty(obj.inputConfigurationFile) || strlength(obj.additionalArguments) > 0
+                warning('Client:buildBatch:unsupported', 'inputConfigurationFile and additionalArguments are not supported by buildBatch and are ignored for: %s', obj.packageName);
+            end
+            job = struct('name', obj.packageName, 'generator', obj.generatorName, ...
+                'packageName', obj.packageName, 'output', obj.output, ...
+                'templateDir', obj.templateDir, 'skipValidateSpec', obj.skipValidateSpec);
+            if ~isempty(obj.inputSpecRootDirectory)
+                job.inputSpecRootDirectory = obj.inputSpecRootDirectory;
+            elseif ~isempty(obj.inputSpec)
+                job.inputSpec = obj.inputSpec;
+            else
+                error('client:NeitherInputSpecNorInputSpecRootDirectorySet','Either inputSpec or inputSpecRootDirectory must be set.')
+            end
+
+            obj.buildAdditionalPropertiesFileEntry();
+            job.additionalProperties = struct();
+            for key = keys(obj.additionalProperties)
+                job.additionalProperties.(key{1}) = obj.additionalProperties(key{1});
+            end
+            job.globalProperties = struct();
+            if ~isempty(obj.globalProperty)
+                for key = keys(obj.globalProperty)
+                    job.globalProperties.(key{1}) = char(obj.globalProperty(key{1}));
+                end
+            end
+        end
+
+
         function arg = buildGlobalPropertiesCLIEntry(obj)
             arguments
                 obj (1,1) openapi.build.internal.Builder
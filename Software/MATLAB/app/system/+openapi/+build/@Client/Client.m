@@ -46,6 +46,18 @@ classdef Client < openapi.build.internal.Builder
     %       property on the generated classes rather than being inputs to
     %       specific operations, specified as containers.Map
     %
+    %   useService - Submit the build to a long running generator process
+    %       which is reused by subsequent builds, rather than starting a
+    %       new Java process for every build.
+    %
+    %   specCache - Directory in which parsed specs are cached, such that
+    %       a spec which did not change is not parsed again by the next
+    %       build.
+    %
+    %   specCacheMode - "use" (default), "bypass" to parse the spec
+    %       without using the cache or "clear" to delete all cached specs
+    %       before building.
+    %
     % Client Methods:
     %
     %   Client - constructor. Can be called with Name-Value pairs where
@@ -53,6 +65,10 @@ classdef Client < openapi.build.internal.Builder
     %       to set this property to.
     %
     %   build - build the package.
+    %
+    %   buildBatch - build multiple clients and/or servers in a single Java
+    %       process, in parallel, e.g.
+    %       openapi.build.Client.buildBatch({builder1, builder2}, workers=2).
 
     %  (c) 2021-2024 MathWorks, Inc.
 
@@ -87,6 +103,9 @@ classdef Client < openapi.build.internal.Builder
                 options.generatorJarPath string {mustBeTextScalar, mustBeNonzeroLengthText}
                 options.generatorVersion string {mustBeTextScalar, mustBeNonzeroLengthText}
                 options.logPath string {mustBeTextScalar, mustBeNonzeroLengthText}
+                options.useService (1,1) logical = false
+                options.specCache string {mustBeTextScalar, mustBeNonzeroLengthText}
+                options.specCacheMode string {mustBeMember(options.specCacheMode, ["use", "bypass", "clear"])} = "use"
             end
             
             opts = namedargs2cell(options);
@@ -0,0 +1,173 @@
+classdef GeneratorService < handle
+    % GeneratorService Long running generator process which builds are
+    % submitted to, such that consecutive builds do not start a new JVM and
+    % compile the templates again every time. Used by openapi.build.Client
+    % and openapi.build.Server when useService is set.
+    %
+    % The process listens on the loopback interface only, requests have to
+    % include a random token which is only readable by the current user.
+    % It exits when MATLAB exits, when shut down or when it was idle for
+    % idleTimeout seconds.
+    %
+    % Example:
+    %   service = openapi.build.GeneratorService.instance(classpath);
+    %   [status, output] = service.generate("generate -g matlab-client -i spec.yaml -o out");
+    %
+    %   % Stop all services
+    %   openapi.build.GeneratorService.shutdown();
+
+    %  (c) 2026 MathWorks, Inc.
+
+    properties (SetAccess=private)
+        % Class path of the generator
+        classpath string
+        % File to which the output of the process is written
+        logFile string
+        % Port on which the process listens
+        port double
+    end
+
+    properties (Access=private)
+        process
+        token
+    end
+
+    methods
+        function obj = GeneratorService(classpath, options)
+            % GeneratorService Starts a new generator process, use
+            % instance to reuse a running process instead
+            arguments
+                classpath string {mustBeTextScalar, mustBeNonzeroLengthText}
+                options.idleTimeout (1,1) double {mustBePositive} = 1800
+                options.startTimeout (1,1) double {mustBePositive} = 60
+            end
+            obj.classpath = classpath;
+            obj.logFile = string(tempname) + "_generator_service.log";
+            portFile = string(tempname) + "_generator_service.json";
+
+            jh = getenv("JAVA_HOME");
+            if ~isempty(jh)
+                javaCmd = string(fullfile(jh, "bin", "java"));
+            else
+                javaCmd = "java";
+            end
+            cmd = [javaCmd, openapi.internal.utils.javaSharedArchiveOptions(), "-cp", classpath, "com.mathworks.codegen.MATLABGeneratorService", ...
+                "--port", "0", "--port-file", portFile, "--exit-with-parent", ...
+                "--idle-timeout", string(options.idleTimeout)];
+            pb = java.lang.ProcessBuilder(cellstr(cmd));
+            pb.redirectErrorStream(true);
+            pb.redirectOutput(java.lang.ProcessBuilder.Redirect.appendTo(java.io.File(obj.logFile)));
+            if ~ispc && ~ismac
+                % Like wrappedSystem, avoid potential glibc issues
+                pb.environment().remove("LD_LIBRARY_PATH");
+            end
+            % stdin stays connected to MATLAB, the process exits when it is
+            % closed
+            obj.process = pb.start();
+
+            started = tic;
+            while ~isfile(portFile)
+                if ~obj.process.isAlive()
+                    error('GeneratorService:start', 'Generator service exited, log: %s\n%s', ...
+                        obj.logFile, fileread(obj.logFile));
+                end
+                if toc(started) > options.startTimeout
+                    obj.process.destroy();
+                    error('GeneratorService:start', 'Generator service did not start within %g seconds, log: %s', ...
+                        options.startTimeout, obj.logFile);
+                end
+                pause(0.05);
+            end
+            info = jsondecode(fileread(portFile));
+            obj.port = info.port;
+            obj.token = info.token;
+        end
+
+        function tf = isRunning(obj)
+            % isRunning Returns whether the process is still running
+            tf = ~isempty(obj.process) && obj.process.isAlive();
+        end
+
+        function [status, output] = generate(obj, args)
+            % generate Runs the generator with the arguments of its
+            % generate command, given as command line string. Returns 0 if
+            % the generation succeeded, 1 otherwise, and the output of the
+            % generator. Relative paths are resolved against the current
+            % folder, not the folder the process was started in.
+            arguments
+                obj (1,1) openapi.build.GeneratorService
+                args string {mustBeTextScalar, mustBeNonzeroLengthText}
+            end
+            response = obj.request("generate", args);
+            status = double(~strcmp(response.status, "ok"));
+            output = response.output;
+        end
+
+        function delete(obj)
+            % delete Stops the process
+            if obj.isRunning()
+                obj.process.destroy();
+            end
+        end
+    end
+
+    methods (Access=private)
+        function response = request(obj, command, args)
+            % request Sends a request and waits for the response
+            if ~obj.isRunning()
+                error('GeneratorService:request', 'Generator service is not running, log: %s', obj.logFile);
+            end
+            socket = java.net.Socket(java.net.InetAddress.getLoopbackAddress(), obj.port);
+            closeSocket = onCleanup(@() socket.close());
+            writer = java.io.OutputStreamWriter(socket.getOutputStream(), "UTF-8");
+            writer.write([jsonencode(struct("token", obj.token, "command", command, ...
+                "arguments", args, "directory", pwd)), newline]);
+            writer.flush();
+            reader = java.io.BufferedReader(java.io.InputStreamReader(socket.getInputStream(), "UTF-8"));
+            line = reader.readLine();
+            if isempty(line)
+                error('GeneratorService:request', 'Generator service closed the connection, log: %s', obj.logFile);
+            end
+            response = jsondecode(char(line));
+        end
+    end
+
+    methods (Static)
+        function obj = instance(classpath)
+            % instance Returns the running generator service for classpath,
+            % starting it if there is none
+            arguments
+                classpath string {mustBeTextScalar, mustBeNonzeroLengthText}
+            end
+            services = registry();
+            key = char(classpath);
+            if isKey(services, key)
+                obj = services(key);
+                if obj.isRunning()
+                    return
+                end
+            end
+            obj = openapi.build.GeneratorService(classpath);
+            services(key) = obj;
+        end
+
+        function shutdown()
+            % shutdown Stops all generator services started by instance
+            services = registry();
+            for key = keys(services)
+                delete(services(key{1}));
+                remove(services, key{1});
+            end
+        end
+    end
+end
+
+function services = registry()
+    % registry Returns the services by class path, containers.Map is a handle
+    % such that changes to it persist
+    persistent map
+    if isempty(map)
+        map = containers.Map('KeyType', 'char', 'ValueType', 'any');
+    end
+    services = map;
+end
@@ -0,0 +1,24 @@
+function path = absolutePath(path)
+    % ABSOLUTEPATH Returns path with relative paths resolved against the
+    % current folder, absolute paths are returned unchanged.
+    % Returns a string.
+
+    %  (c) 2026 MathWorks, Inc.
+
+    arguments
+        path string {mustBeTextScalar}
+    end
+
+    if strlength(path) == 0
+        return;
+    end
+    if ispc
+        isAbsolute = startsWith(path, lettersPattern(1) + ":" + characterListPattern("\/")) || ...
+            startsWith(path, ["\\", "//"]);
+    else
+        isAbsolute = startsWith(path, "/");
+    end
+    if ~isAbsolute
+        path = string(fullfile(pwd, path));
+    end
+end
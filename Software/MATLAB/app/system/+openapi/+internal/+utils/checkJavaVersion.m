@@ -11,7 +11,7 @@ function tf = checkJavaVersion(min)
         min int32 {mustBeInteger, mustBeNonnegative} = 11
     end
 
-    cmdStr = openapi.internal.utils.createJavaCLICmdString() + " -version";
+    cmdStr = openapi.internal.utils.createJavaCLICmdString(sharedArchive=false) + " -version";
     [status, cmdOut] = system(cmdStr);
     if status == 0
         lines = split(cmdOut, newline);
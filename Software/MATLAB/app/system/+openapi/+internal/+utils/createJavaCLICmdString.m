@@ -1,8 +1,15 @@
-function cmdStr = createJavaCLICmdString()
+function cmdStr = createJavaCLICmdString(options)
     % CREATEJAVACLICMDSTRING Return the command to run java
     % A string is returned.
+    % If available, the options to use the Class Data Sharing archive of
+    % the generator jars are included to reduce the startup time, unless
+    % sharedArchive=false is specified.
 
-    % (c) MathWorks Inc 2024-2025
+    % (c) MathWorks Inc 2024-2026
+
+    arguments
+        options.sharedArchive (1,1) logical = true
+    end
 
     jh = getenv("JAVA_HOME");
     if ~isempty(jh)
@@ -10,4 +17,11 @@ function cmdStr = createJavaCLICmdString()
     else
         cmdStr = "java ";
     end
+
+    if options.sharedArchive
+        archiveOpts = openapi.internal.utils.javaSharedArchiveOptions();
+        if ~isempty(archiveOpts)
+            cmdStr = cmdStr + """" + strjoin(archiveOpts, """ """) + """ ";
+        end
+    end
 end
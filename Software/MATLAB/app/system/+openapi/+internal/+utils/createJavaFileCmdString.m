@@ -10,7 +10,7 @@ function cmdStr = createJavaFileCmdString(classpath, configurationFile, options)
         options.additionalArguments string {mustBeTextScalar, mustBeNonzeroLengthText}
     end
 
-    javaCmdStr = openapi.internal.utils.createJavaCmdString;
+    javaCmdStr = openapi.internal.utils.createJavaCLICmdString();
     cmdStr = javaCmdStr + " -cp " + '"' + classpath + '"';
     cmdStr = cmdStr + " --config " + '"' + configurationFile + '"';
 
@@ -0,0 +1,37 @@
+function opts = javaSharedArchiveOptions()
+    % JAVASHAREDARCHIVEOPTIONS Returns the options to start Java with the
+    % Class Data Sharing archive of the generator jars
+    % Returns a string array, which is empty if the archive does not exist
+    % or if the Java version does not support it (Java 13 or later is
+    % required). The archive is built by "mvn package" in Software/Java.
+    % If the archive does not match the jars or the Java version, Java
+    % ignores it and starts as without the archive.
+
+    % (c) MathWorks Inc 2026
+
+    persistent javaHome javaMajor
+
+    opts = string.empty(1, 0);
+    archive = fullfile(openapiRoot('lib', 'jar'), "openapi-generator.jsa");
+    if ~isfile(archive)
+        return
+    end
+
+    % Only run java -version again if JAVA_HOME changed
+    if isempty(javaMajor) || ~strcmp(javaHome, getenv("JAVA_HOME"))
+        javaHome = getenv("JAVA_HOME");
+        javaMajor = 0;
+        cmdStr = openapi.internal.utils.createJavaCLICmdString(sharedArchive=false) + " -version";
+        [status, cmdOut] = system(cmdStr);
+        if status == 0
+            tokens = regexp(cmdOut, 'version "(\d+)', 'tokens', 'once');
+            if ~isempty(tokens)
+                javaMajor = str2double(tokens{1});
+            end
+        end
+    end
+
+    if javaMajor >= 13
+        opts = ["-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off", "-Xlog:cds+dynamic=off"];
+    end
+end
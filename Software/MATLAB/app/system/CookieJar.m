@@ -5,7 +5,9 @@ classdef CookieJar < handle
     % cookies which should be included in a request to a given URL.
     %
     % CookieJar Properties:
-    %   path       - Directory where to save cookies.mat
+    %   path          - Directory where to save cookies.mat
+    %   flushInterval - Minimum number of seconds between saves of
+    %                   cookies.mat, 0 to save whenever cookies are added
     %
     % CookieJar Methods:
     %   setCookies - Adds cookies to the jar.
@@ -15,20 +17,44 @@ classdef CookieJar < handle
     %   load       - Forces cookie jar to be loaded from disk
     %   purge      - Empties the entire cookie jar and deletes cookies from
     %                disk
+    %
+    % By default cookies.mat is saved every time cookies are added. When
+    % responses set cookies at a high rate this can dominate the request
+    % latency. With flushInterval set, added cookies are written behind:
+    % cookies.mat is saved at most once per flushInterval seconds, when the
+    % jar is deleted (e.g. when MATLAB exits) or when persist is called.
+    %
+    % Example:
+    %
+    %   jar = CookieJar(tempdir, flushInterval=60);
     
-    % Copyright 2022 The MathWorks, Inc.
+    % Copyright 2022-2026 The MathWorks, Inc.
     
     properties(Access=private)
-        cookiejar
+        % Cookies indexed by lower case domain, each a containers.Map with
+        % the cookies for that domain
+        domains
+        % Whether the jar contains changes which have not been saved yet
+        dirty = false
+        % Time of the last save
+        saved
     end
     properties
         path
     end
+    properties (SetAccess=private)
+        flushInterval = 0
+    end
     
     methods
 
-        function obj = CookieJar(path)
-            if nargin == 0
+        function obj = CookieJar(path, options)
+            % CookieJar Constructor
+            arguments
+                path = []
+                options.flushInterval (1,1) double {mustBeNonnegative} = 0
+            end
+            if isempty(path)
                 path = prefdir;
             else
                 % For other paths ensure it actually exists
@@ -40,11 +66,25 @@ classdef CookieJar < handle
                     end
                 end
             end
-            % CookieJar Constructor
             obj.path = path;
+            obj.flushInterval = options.flushInterval;
             obj.load;
         end
 
+        function delete(obj)
+            % DELETE saves changes which have not been saved yet. As
+            % errors cannot be thrown from a destructor, failures to save
+            % are reported as warning.
+            if obj.dirty
+                try
+                    obj.persist;
+                catch ME
+                    warning('CookieJar:SaveFailed','Unable to save cookies to %s: %s', ...
+                        fullfile(obj.path,'cookies.mat'),ME.message);
+                end
+            end
+        end
+
         function setCookies(obj, cookies)
             % SETCOOKIES Adds cookies to the jar. Expects an array of
             % matlab.net.http.CookieInfo as input. This can for example be
@@ -59,61 +99,104 @@ classdef CookieJar < handle
                 key = sprintf('%s|%s|%d|%d|%d|%s',cookie.Domain,cookie.Path,cookie.Secure,cookie.HttpOnly,cookie.HostOnly,cookie.Cookie.Name);
                 
                 % Use they to automatically either add or update
-                obj.cookiejar(key) = cookie;
+                domain = char(lower(cookie.Domain));
+                if ~isKey(obj.domains,domain)
+                    obj.domains(domain) = containers.Map();
+                end
+                jar = obj.domains(domain);
+                jar(key) = cookie;
             end
-            obj.persist;
+            obj.dirty = true;
+            obj.flush;
         end
 
         function cookies = getCookies(obj, uri)
             % GETCOOKIES returns an array of matlab.net.http.Cookie for the
-            % given URI which must be provided as first input.
-            if isempty(obj.cookiejar)
-                cookies = [];
-            else
-                % Start a new Map
-                c = containers.Map;
-                % Sort cookies such that broadest applicable cookies are
-                % evaluated first. They may then get overwritten with
-                % a more specific cookie later. First sort by whether
-                % Cookie is Host specific and then by path length
-                cs = cellfun(@(x)[x.HostOnly,strlength(x.Path)],obj.cookiejar.values,'UniformOutput',false);
-                [~,ii] = sortrows(vertcat(cs{:}));
-                % Go through the cookies in this sorted order
-                allCookies = obj.cookiejar.values;
-                for i = ii'
-                    % Get current cookie
-                    cc = allCookies{i};
-                    
-                    if  (~endsWith(uri.Host, cc.Domain, "IgnoreCase", true)) || ...                           % Do NOT add if host does not match
-                        (~startsWith(uri.EncodedPath,cc.Path, "IgnoreCase", true)) || ... % Do NOT add if path does not match
-                        (cc.Secure && uri.Scheme ~= "https") || ...                       % Do NOT add if secure cookie but not HTTPS
-                        (cc.ExpirationTime < datetime('now','timezone','local'))          % Do NOT add if cookie expired
-                        continue
+            % given URI which must be provided as first input. Expired
+            % cookies are removed from the jar, they are removed from
+            % cookies.mat the next time it is saved.
+            cookies = [];
+            if isempty(obj.domains)
+                return
+            end
+            t = datetime('now','timezone','local');
+            % Only cookies whose domain is at the end of the host can
+            % match, look up all the ends of the host
+            host = lower(string(uri.Host));
+            cookieKeys = {};
+            allCookies = {};
+            for k = 0:strlength(host)
+                domain = char(extractAfter(host,k));
+                if ~isKey(obj.domains,domain)
+                    continue
+                end
+                jar = obj.domains(domain);
+                for key = jar.keys
+                    cc = jar(key{1});
+                    if cc.ExpirationTime < t
+                        % Remove expired cookies
+                        jar.remove(key{1});
+                        obj.dirty = true;
+                    else
+                        cookieKeys{end+1} = key{1}; %#ok<AGROW>
+                        allCookies{end+1} = cc; %#ok<AGROW>
                     end
-                    
-                    % If everything matches, include cookie, this may add a
-                    % new cookie to the map or overwrite a less specific one
-                    c(cc.Cookie.Name) = cc.Cookie;
                 end
-
-                % Then return all matching cookies
-                cookies = c.values;
-                cookies = [cookies{:}];
+                if jar.Count == 0
+                    obj.domains.remove(domain);
+                end
+            end
+            if isempty(allCookies)
+                return
+            end
+            % Start a new Map
+            c = containers.Map;
+            % Sort cookies such that broadest applicable cookies are
+            % evaluated first. They may then get overwritten with
+            % a more specific cookie later. First sort by whether
+            % Cookie is Host specific and then by path length
+            [~,ii] = sort(cookieKeys);
+            allCookies = allCookies(ii);
+            cs = cellfun(@(x)[x.HostOnly,strlength(x.Path)],allCookies,'UniformOutput',false);
+            [~,ii] = sortrows(vertcat(cs{:}));
+            % Go through the cookies in this sorted order
+            for i = ii'
+                % Get current cookie
+                cc = allCookies{i};
+                
+                if  (~startsWith(uri.EncodedPath,cc.Path, "IgnoreCase", true)) || ... % Do NOT add if path does not match
+                    (cc.Secure && uri.Scheme ~= "https")                              % Do NOT add if secure cookie but not HTTPS
+                    continue
+                end
+                
+                % If everything matches, include cookie, this may add a
+                % new cookie to the map or overwrite a less specific one
+                c(cc.Cookie.Name) = cc.Cookie;
             end
+
+            % Then return all matching cookies
+            cookies = c.values;
+            cookies = [cookies{:}];
         end
 
         function persist(obj, path)
             % PERSIST forces cookie jar to be saved to disk. This method is
             % also called automatically by setCookies if new cookies are
-            % added. Can be called with a alternative directory as input to
+            % added, at most once per flushInterval seconds. Can be called with a alternative directory as input to
             % force saving cookies.mat to this alternative location. The
             % CookieJar instance is then also reconfigured to continue 
             % working with this new location.
             if nargin == 2
                 obj.path = path;
             end
-            cookies = obj.cookiejar;
+            % Saved as a single map for all domains
+            cookies = containers.Map();
+            for jar = obj.domains.values
+                cookies = [cookies; jar{1}]; %#ok<AGROW>
+            end
             save(fullfile(obj.path,'cookies.mat'),'cookies');
+            obj.dirty = false;
+            obj.saved = tic;
         end
 
         function load(obj,path)
@@ -126,22 +209,42 @@ classdef CookieJar < handle
             if nargin == 2
                 obj.path = path;
             end
+            obj.domains = containers.Map();
             if isfile(fullfile(obj.path,'cookies.mat'))
                 c = load(fullfile(obj.path,'cookies.mat'),'cookies');
-                obj.cookiejar = c.cookies;
-            else
-                obj.cookiejar = containers.Map();
+                for key = c.cookies.keys
+                    cookie = c.cookies(key{1});
+                    domain = char(lower(cookie.Domain));
+                    if ~isKey(obj.domains,domain)
+                        obj.domains(domain) = containers.Map();
+                    end
+                    jar = obj.domains(domain);
+                    jar(key{1}) = cookie;
+                end
             end
+            obj.dirty = false;
+            obj.saved = tic;
         end
 
         function purge(obj)
             % PURGE completely empties the cookie jar and also deletes
             % cookies.mat from disk.
-            obj.cookiejar = containers.Map;
+            obj.domains = containers.Map;
+            obj.dirty = false;
             if isfile(fullfile(obj.path,'cookies.mat'))
                 delete(fullfile(obj.path,'cookies.mat'))
             end
         end
 
     end
+
+    methods (Access=private)
+        function flush(obj)
+            % FLUSH saves changes if the flush interval has passed since
+            % the last save
+            if obj.dirty && (obj.flushInterval == 0 || toc(obj.saved) >= obj.flushInterval)
+                obj.persist;
+            end
+        end
+    end
 end
\ No newline at end of file
@@ -0,0 +1,293 @@
+classdef HttpTransport < handle
+    % HTTPTRANSPORT helper class in MATLAB Generator for OpenAPI package,
+    % sends requests using a java.net.http.HttpClient rather than
+    % matlab.net.http.RequestMessage.send.
+    %
+    % The Java client is shared by all requests with the same options, it
+    % keeps connections alive and reuses them for subsequent requests to
+    % the same server and uses HTTP/2 if an HTTPS server supports it. This
+    % avoids a new connection (and TLS handshake) for every request.
+    %
+    % HttpTransport Properties:
+    %   http2 - Whether to use HTTP/2 if supported by the server
+    %
+    % HttpTransport Methods:
+    %   send          - Sends a request message
+    %   sendStreaming - Sends a request message, returning the body as stream
+    %   sendAsync     - Sends a request message in the background
+    %   sendBatch     - Sends request messages concurrently
+    %
+    % Requires MATLAB to run on Java 11 or newer. The Java client honours
+    % the ConnectTimeout, ResponseTimeout, MaxRedirects and
+    % CertificateFilename of the HTTPOptions, and UseProxy with a ProxyURI.
+    % Requests with other options which differ from their defaults, or
+    % with UseProxy set but no ProxyURI, i.e. with the proxy of the MATLAB
+    % preferences or of the system, are sent using
+    % matlab.net.http.RequestMessage.send.
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (SetAccess=private)
+        http2 = true
+    end
+    properties (Access=private)
+        % Default HTTPOptions
+        defaultOptions
+        % Names of the HTTPOptions which the Java client does not pass on,
+        % these must have their default values
+        fixedOptions string
+    end
+
+    methods
+        function obj = HttpTransport(options)
+            % HttpTransport Constructor
+            arguments
+                options.http2 (1,1) logical = true
+            end
+            obj.http2 = options.http2;
+            obj.defaultOptions = matlab.net.http.HTTPOptions;
+            obj.fixedOptions = setdiff(string(properties(obj.defaultOptions))', ...
+                ["ConnectTimeout", "ResponseTimeout", "MaxRedirects", "UseProxy", ...
+                "ProxyURI", "CertificateFilename"]);
+        end
+
+        function [response, cookieInfos] = send(obj, request, uri, httpOptions)
+            % SEND sends request to uri and returns the response and the
+            % cookies which were set by the response as
+            % matlab.net.http.CookieInfo.
+            if ~obj.supports(httpOptions)
+                [response, ~, history] = send(request, uri, httpOptions);
+                cookieInfos = matlab.net.http.CookieInfo.collectFromLog(history);
+                return
+            end
+            transport = obj.getTransport(httpOptions);
+            [method, names, values, payload] = obj.toJava(request, uri, httpOptions);
+            r = transport.send(method, char(uri.EncodedURI), ...
+                names, values, payload, httpOptions.ResponseTimeout);
+            [response, cookieInfos] = obj.fromJava(r, uri);
+        end
+
+        function [response, source, cookieInfos] = sendStreaming(obj, request, uri, httpOptions, streamCode)
+            % SENDSTREAMING sends request to uri and returns the response
+            % and the cookies which were set by it. If the response has
+            % status code streamCode, its body is not read but returned as
+            % source for a JSONArrayStream. For other responses the body is
+            % read and source is empty.
+            if ~obj.supports(httpOptions)
+                % Write the body to a temporary file rather than to memory
+                file = [tempname '.json'];
+                [response, ~, history] = send(request, uri, httpOptions, matlab.net.http.io.FileConsumer(file));
+                cookieInfos = matlab.net.http.CookieInfo.collectFromLog(history);
+                if response.StatusCode == streamCode
+                    source = file;
+                else
+                    % The consumer may not have been used for other responses
+                    if isfile(file)
+                        response.Body = matlab.net.http.MessageBody(native2unicode(readBytes(file), 'UTF-8'));
+                        delete(file);
+                    end
+                    source = [];
+                end
+                return
+            end
+            [method, names, values, payload] = obj.toJava(request, uri, httpOptions);
+            r = obj.getTransport(httpOptions).sendStreaming(method, char(uri.EncodedURI), ...
+                names, values, payload, httpOptions.ResponseTimeout);
+            if r.getStatusCode() == streamCode
+                source = r.getBodyStream();
+            else
+                r.readBody();
+                source = [];
+            end
+            [response, cookieInfos] = obj.fromJava(r, uri);
+        end
+
+        function [pending, receive] = sendAsync(obj, request, uri, httpOptions)
+            % SENDASYNC starts sending request to uri and returns without
+            % waiting for the response. Returns the Java request in flight
+            % and a function which returns the response and the cookies
+            % which were set by it once the request completed. Requests
+            % with options which the Java client does not support are sent
+            % immediately with a warning, pending is then empty.
+            if ~obj.supports(httpOptions)
+                warning('HttpTransport:Synchronous', ['The request to %s is sent right away rather than ' ...
+                    'in the background, as the Java client cannot honour its HTTPOptions exactly.'], string(uri));
+                [response, cookieInfos] = obj.send(request, uri, httpOptions);
+                pending = [];
+                receive = @() deal(response, cookieInfos);
+                return
+            end
+            [method, names, values, payload] = obj.toJava(request, uri, httpOptions);
+            pending = obj.getTransport(httpOptions).sendAsync(method, char(uri.EncodedURI), ...
+                names, values, payload, httpOptions.ResponseTimeout);
+            receive = @() obj.receive(pending, uri);
+        end
+
+        function [responses, cookieInfos, errors] = sendBatch(obj, requests, uris, httpOptions, maxInFlight)
+            % SENDBATCH sends the requests in cell array requests to the
+            % corresponding uris, with up to maxInFlight requests
+            % concurrently. Returns cell arrays with the responses, the
+            % cookies which were set by the responses and the errors of
+            % requests which failed, in the same order as the requests.
+            n = numel(requests);
+            responses = cell(1,n);
+            cookieInfos = cell(1,n);
+            errors = cell(1,n);
+            if n == 0
+                return
+            end
+            % Requests are sent concurrently by a single Java client, all
+            % requests with options which it does not support are sent one
+            % by one with a warning
+            concurrent = cellfun(@(o) obj.supports(o), httpOptions);
+            ii = find(concurrent);
+            if ~isempty(ii)
+                batch = obj.getTransport(httpOptions{ii(1)}).newBatch(maxInFlight);
+                for i = ii
+                    [method, names, values, payload] = obj.toJava(requests{i}, uris{i}, httpOptions{i});
+                    batch.add(method, char(uris{i}.EncodedURI), ...
+                        names, values, payload, httpOptions{i}.ResponseTimeout);
+                end
+                r = batch.await();
+                for k = 1:length(ii)
+                    i = ii(k);
+                    if isempty(r(k).getError())
+                        [responses{i}, cookieInfos{i}] = obj.fromJava(r(k), uris{i});
+                    else
+                        errors{i} = MException('HttpTransport:RequestFailed', ...
+                            'Request to %s failed: %s', string(uris{i}), char(r(k).getError()));
+                    end
+                end
+            end
+            if ~all(concurrent)
+                warning('HttpTransport:Sequential', ['%d of %d requests are sent one after another ' ...
+                    'rather than concurrently, as the Java client cannot honour their HTTPOptions exactly.'], ...
+                    nnz(~concurrent), n);
+            end
+            for i = find(~concurrent)
+                try
+                    [responses{i}, cookieInfos{i}] = obj.send(requests{i}, uris{i}, httpOptions{i});
+                catch ME
+                    errors{i} = ME;
+                end
+            end
+        end
+    end
+
+    methods (Access=private)
+        function tf = supports(obj, httpOptions)
+            % SUPPORTS returns whether the Java client honours httpOptions
+            % exactly
+            tf = false;
+            for name = obj.fixedOptions
+                if ~isequal(httpOptions.(name), obj.defaultOptions.(name))
+                    return
+                end
+            end
+            % The proxy of the MATLAB preferences or of the system is not
+            % known, nor can proxy credentials be passed on
+            if httpOptions.UseProxy && (isempty(httpOptions.ProxyURI) || ...
+                    ~any(strcmpi(string(httpOptions.ProxyURI.Scheme), ["", "http"])) || ...
+                    isempty(httpOptions.ProxyURI.Port) || ~isempty(httpOptions.ProxyURI.UserInfo))
+                return
+            end
+            % Without certificate file, server certificates are not
+            % verified
+            tf = isfile(httpOptions.CertificateFilename);
+        end
+
+        function transport = getTransport(obj, httpOptions)
+            % GETTRANSPORT returns the Java transport, which shares its
+            % client with all transports with the same options
+            if ~exist('com.mathworks.codegen.MATLABHttpTransport', 'class')
+                % Not added here, javaaddpath clears the global variables
+                error('HttpTransport:ClassPath', ['MATLABClient.jar is not on the Java class ' ...
+                    'path. Add %s to the static Java class path in javaclasspath.txt, or call ' ...
+                    'javaaddpath with it once before using the client.'], ...
+                    fullfile(fileparts(mfilename('fullpath')), 'MATLABClient.jar'));
+            end
+            proxyHost = '';
+            proxyPort = 0;
+            if httpOptions.UseProxy
+                proxyHost = char(httpOptions.ProxyURI.Host);
+                proxyPort = httpOptions.ProxyURI.Port;
+            end
+            try
+                transport = com.mathworks.codegen.MATLABHttpTransport( ...
+                    httpOptions.ConnectTimeout, obj.http2, httpOptions.MaxRedirects, ...
+                    proxyHost, proxyPort, char(httpOptions.CertificateFilename));
+            catch ME
+                error('HttpTransport:JavaClient', ['Unable to create the Java HTTP client, ' ...
+                    'HttpTransport requires MATLAB to run on Java 11 or newer: %s'], ME.message);
+            end
+        end
+
+        function [response, cookieInfos] = receive(obj, pending, uri)
+            % RECEIVE waits for a request sent by sendAsync to complete
+            r = pending.get();
+            if ~isempty(r.getError())
+                error('HttpTransport:RequestFailed', ...
+                    'Request to %s failed: %s', string(uri), char(r.getError()));
+            end
+            [response, cookieInfos] = obj.fromJava(r, uri);
+        end
+
+        function [method, names, values, payload] = toJava(~, request, uri, httpOptions)
+            % TOJAVA converts a request message to the inputs of the Java
+            % transport
+
+            % Add default headers and convert the body
+            request = complete(request, uri, httpOptions);
+            method = char(request.Method);
+            names = cellstr(string([request.Header.Name]));
+            values = cellstr(string([request.Header.Value]));
+            payload = uint8.empty;
+            if ~isempty(request.Body)
+                payload = request.Body.Payload;
+                if isempty(payload) && ~isempty(request.Body.Data)
+                    payload = unicode2native(char(string(request.Body.Data)), 'UTF-8');
+                end
+            end
+        end
+
+        function [response, cookieInfos] = fromJava(~, r, uri)
+            % FROMJAVA converts a response of the Java transport to a
+            % response message and the cookies it sets
+            names = cell(r.getHeaderNames());
+            values = cell(r.getHeaderValues());
+            header = matlab.net.http.HeaderField.empty;
+            for i = 1:length(names)
+                if strcmpi(names{i}, 'Set-Cookie')
+                    header(end+1) = matlab.net.http.field.SetCookieField(values{i}); %#ok<AGROW>
+                else
+                    header(end+1) = matlab.net.http.HeaderField(names{i}, values{i}); %#ok<AGROW>
+                end
+            end
+            data = typecast(reshape(r.getBody(), 1, []), 'uint8');
+            contentType = header(strcmpi([header.Name], 'Content-Type'));
+            if ~isempty(data) && ~isempty(contentType) && ...
+                    contains(contentType(1).Value, ["text/", "json", "xml"], 'IgnoreCase', true)
+                % Like with ConvertResponse=false, return text as char
+                data = native2unicode(data, 'UTF-8');
+            end
+            response = matlab.net.http.ResponseMessage;
+            response.StatusCode = matlab.net.http.StatusCode(r.getStatusCode());
+            response.Header = header;
+            response.Body = matlab.net.http.MessageBody(data);
+
+            cookieFields = header(strcmpi([header.Name], 'Set-Cookie'));
+            if isempty(cookieFields)
+                cookieInfos = matlab.net.http.CookieInfo.empty;
+            else
+                cookieInfos = convert(cookieFields, uri);
+            end
+        end
+    end
+end
+
+function bytes = readBytes(file)
+    % READBYTES Helper function which reads a file as uint8
+    fid = fopen(file, 'r');
+    closeFile = onCleanup(@() fclose(fid));
+    bytes = fread(fid, Inf, '*uint8')';
+end
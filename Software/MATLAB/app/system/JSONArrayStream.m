@@ -0,0 +1,132 @@
+classdef JSONArrayStream < handle
+    % JSONARRAYSTREAM helper class in MATLAB Generator for OpenAPI package,
+    % decodes a JSON array of objects in chunks.
+    %
+    % Rather than parsing the whole JSON document and creating all objects
+    % at once, the document is read incrementally and objects are created
+    % for at most ChunkSize elements at a time. Memory use is therefore
+    % bounded by the chunk size rather than by the size of the document.
+    %
+    % JSONArrayStream Properties:
+    %   ChunkSize - Maximum number of objects returned by next
+    %
+    % JSONArrayStream Methods:
+    %   hasNext - Returns whether there are more objects
+    %   next    - Returns the next objects
+    %   forEach - Calls a function with all remaining objects, chunk by chunk
+    %   readAll - Returns all remaining objects
+    %   close   - Closes the document
+    %
+    % Example:
+    %
+    %   [code, stream] = client.findPetsStream();
+    %   while stream.hasNext()
+    %       pets = stream.next();
+    %       ...
+    %   end
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties
+        ChunkSize (1,1) double {mustBeInteger, mustBePositive} = 1000
+    end
+    properties (Access=private)
+        % Class of the objects
+        className
+        % Java reader of the document
+        reader
+        % Temporary file with the document, deleted when closed
+        tempFile = ""
+    end
+
+    methods
+        function obj = JSONArrayStream(prototype, source, options)
+            % JSONArrayStream Constructor
+            %
+            % Decodes the document in source into objects of the same class
+            % as prototype. source can be the name of a file, the document
+            % as uint8 bytes, or a java.io.InputStream.
+            arguments
+                prototype
+                source
+                options.ChunkSize (1,1) double {mustBeInteger, mustBePositive} = 1000
+                % Delete file source once closed
+                options.DeleteFile (1,1) logical = false
+            end
+            obj.className = class(prototype);
+            obj.ChunkSize = options.ChunkSize;
+            if ~exist('com.mathworks.codegen.MATLABJsonArrayReader', 'class')
+                % Not added here, javaaddpath clears the global variables
+                error('JSONArrayStream:ClassPath', ['MATLABClient.jar is not on the Java class ' ...
+                    'path. Add %s to the static Java class path in javaclasspath.txt, or call ' ...
+                    'javaaddpath with it once before using the client.'], ...
+                    fullfile(fileparts(mfilename('fullpath')), 'MATLABClient.jar'));
+            end
+            if isstring(source) || ischar(source)
+                obj.reader = com.mathworks.codegen.MATLABJsonArrayReader(char(source));
+                if options.DeleteFile
+                    obj.tempFile = string(source);
+                end
+            else
+                obj.reader = com.mathworks.codegen.MATLABJsonArrayReader(source);
+            end
+        end
+
+        function tf = hasNext(obj)
+            % HASNEXT returns whether there are more objects
+            tf = ~isempty(obj.reader) && obj.reader.hasNext();
+            if ~tf
+                obj.close();
+            end
+        end
+
+        function objects = next(obj)
+            % NEXT returns the next objects, at most ChunkSize. Returns an
+            % empty array if there are no more objects.
+            if ~obj.hasNext()
+                objects = feval([obj.className '.empty']);
+                return
+            end
+            objects = feval(obj.className).fromJSON(char(obj.reader.next(obj.ChunkSize)));
+        end
+
+        function forEach(obj, fcn)
+            % FOREACH calls fcn with all remaining objects, ChunkSize at a
+            % time
+            while obj.hasNext()
+                fcn(obj.next());
+            end
+        end
+
+        function objects = readAll(obj)
+            % READALL returns all remaining objects. Note that this requires
+            % memory for all of them.
+            chunks = {};
+            while obj.hasNext()
+                chunks{end+1} = obj.next(); %#ok<AGROW>
+            end
+            if isempty(chunks)
+                objects = feval([obj.className '.empty']);
+            else
+                objects = [chunks{:}];
+            end
+        end
+
+        function close(obj)
+            % CLOSE closes the document, subsequent calls to hasNext return
+            % false
+            if ~isempty(obj.reader)
+                obj.reader.close();
+                obj.reader = [];
+            end
+            if obj.tempFile ~= "" && isfile(obj.tempFile)
+                delete(obj.tempFile);
+            end
+            obj.tempFile = "";
+        end
+
+        function delete(obj)
+            obj.close();
+        end
+    end
+end
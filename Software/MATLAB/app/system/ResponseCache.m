@@ -0,0 +1,234 @@
+classdef ResponseCache < handle
+    % RESPONSECACHE helper class in MATLAB Generator for OpenAPI package,
+    % caches the decoded responses of GET operations.
+    %
+    % Operations which were generated with the x-matlab-cache vendor
+    % extension look up their request in the cache before sending it. A
+    % response which is still fresh according to its Cache-Control or
+    % Expires header is returned without sending the request. A stale
+    % response with an ETag or Last-Modified header is revalidated with
+    % If-None-Match or If-Modified-Since. If the server responds with 304
+    % Not Modified the cached, already decoded, result is returned. Note
+    % that cached model objects are therefore shared between calls.
+    %
+    % Responses are cached by method, URI and the Accept and Authorization
+    % headers, as well as the request headers listed in their Vary header.
+    % Responses with Cache-Control no-store are not cached. The least
+    % recently used response is removed when the cache is full.
+    %
+    % ResponseCache Properties:
+    %   Capacity      - Maximum number of cached responses, 0 to disable
+    %   Count         - Number of cached responses
+    %   Hits          - Number of responses returned without a request
+    %   Revalidations - Number of cached responses returned after a 304
+    %   Misses        - Number of responses which were not in the cache
+    %
+    % ResponseCache Methods:
+    %   purge - Removes all responses and resets the counters
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties
+        Capacity (1,1) double {mustBeInteger, mustBeNonnegative} = 100
+    end
+    properties (Dependent)
+        Count
+    end
+    properties (SetAccess=private)
+        Hits = 0
+        Revalidations = 0
+        Misses = 0
+    end
+    properties (Access=private)
+        % Cached responses by key
+        entries
+        % Incremented on every use, to determine the least recently used
+        % response
+        counter = 0
+    end
+
+    methods
+        function obj = ResponseCache(options)
+            % ResponseCache Constructor
+            arguments
+                options.Capacity (1,1) double {mustBeInteger, mustBeNonnegative} = 100
+            end
+            obj.Capacity = options.Capacity;
+            obj.entries = containers.Map('KeyType','char','ValueType','any');
+        end
+
+        function n = get.Count(obj)
+            n = obj.entries.Count;
+        end
+
+        function [request, entry] = lookup(obj, request, uri)
+            % LOOKUP returns the cached entry for request to uri, or empty
+            % if there is none. If entry.fresh is true, entry.outputs can
+            % be returned without sending the request. Otherwise request is
+            % made conditional and after sending it, a 304 response has to
+            % be passed to revalidated and other responses to store.
+            entry = [];
+            key = obj.keyOf(request, uri);
+            if obj.Capacity == 0 || ~isKey(obj.entries, key)
+                return
+            end
+            e = obj.entries(key);
+            if ~isequal(e.varyValues, headerValues(request, e.varyNames))
+                return
+            end
+            obj.counter = obj.counter + 1;
+            e.used = obj.counter;
+            e.fresh = nowSeconds() < e.expires;
+            obj.entries(key) = e;
+            if e.fresh
+                obj.Hits = obj.Hits + 1;
+            elseif e.etag ~= "" || e.lastModified ~= ""
+                if e.etag ~= "" && isempty(request.getFields('If-None-Match'))
+                    request.Header(end+1) = matlab.net.http.field.GenericField('If-None-Match', e.etag);
+                end
+                if e.lastModified ~= "" && isempty(request.getFields('If-Modified-Since'))
+                    request.Header(end+1) = matlab.net.http.field.GenericField('If-Modified-Since', e.lastModified);
+                end
+            else
+                return
+            end
+            entry = e;
+        end
+
+        function [code, result, response] = revalidated(obj, entry, response)
+            % REVALIDATED returns the cached outputs of entry after the
+            % server responded with 304 Not Modified, and updates the
+            % freshness of entry according to response
+            obj.Revalidations = obj.Revalidations + 1;
+            entry.expires = nowSeconds() + lifetime(response);
+            etag = headerValue(response, 'ETag');
+            if etag ~= ""
+                entry.etag = etag;
+            end
+            if isKey(obj.entries, entry.key)
+                obj.entries(entry.key) = entry;
+            end
+            [code, result, response] = entry.outputs{:};
+        end
+
+        function store(obj, request, uri, response, code, result)
+            % STORE caches the decoded outputs of a response to request to
+            % uri, if the response allows this
+            obj.Misses = obj.Misses + 1;
+            key = obj.keyOf(request, uri);
+            if obj.Capacity == 0 || response.StatusCode ~= matlab.net.http.StatusCode.OK
+                return
+            end
+            cacheControl = lower(headerValue(response, 'Cache-Control'));
+            vary = headerValue(response, 'Vary');
+            if contains(cacheControl, "no-store") || strtrim(vary) == "*"
+                if isKey(obj.entries, key)
+                    remove(obj.entries, key);
+                end
+                return
+            end
+            e.key = key;
+            e.expires = nowSeconds() + lifetime(response);
+            e.fresh = false;
+            e.etag = headerValue(response, 'ETag');
+            e.lastModified = headerValue(response, 'Last-Modified');
+            if e.expires <= nowSeconds() && e.etag == "" && e.lastModified == ""
+                % Could neither be reused nor revalidated
+                return
+            end
+            e.varyNames = strings(1,0);
+            if vary ~= ""
+                e.varyNames = strtrim(split(vary, ","))';
+            end
+            e.varyValues = headerValues(request, e.varyNames);
+            e.outputs = {code, result, response};
+            obj.counter = obj.counter + 1;
+            e.used = obj.counter;
+            obj.entries(key) = e;
+            obj.evict();
+        end
+
+        function purge(obj)
+            % PURGE removes all responses and resets the counters
+            obj.entries = containers.Map('KeyType','char','ValueType','any');
+            obj.Hits = 0;
+            obj.Revalidations = 0;
+            obj.Misses = 0;
+        end
+    end
+
+    methods (Access=private)
+        function key = keyOf(~, request, uri)
+            % KEYOF returns the key of request to uri
+            key = char(join([string(request.Method), string(uri), ...
+                headerValues(request, ["Accept", "Authorization"])], newline));
+        end
+
+        function evict(obj)
+            % EVICT removes the least recently used responses while there
+            % are more than Capacity
+            while obj.entries.Count > obj.Capacity
+                keys = obj.entries.keys();
+                used = cellfun(@(e) e.used, obj.entries.values());
+                [~, i] = min(used);
+                remove(obj.entries, keys{i});
+            end
+        end
+    end
+end
+
+function t = nowSeconds()
+    % NOWSECONDS returns the current time in seconds
+    t = posixtime(datetime('now', 'TimeZone', 'UTC'));
+end
+
+function value = headerValue(message, name)
+    % HEADERVALUE returns the comma separated values of the header fields
+    % of message with the specified name, "" if there are none
+    fields = message.getFields(name);
+    if isempty(fields)
+        value = "";
+    else
+        value = join(string([fields.Value]), ", ");
+    end
+end
+
+function values = headerValues(request, names)
+    % HEADERVALUES returns the values of the request header fields
+    values = strings(size(names));
+    for i = 1:numel(names)
+        values(i) = headerValue(request, names(i));
+    end
+end
+
+function t = lifetime(response)
+    % LIFETIME returns the number of seconds for which response is fresh,
+    % according to its Cache-Control or Expires header
+    t = 0;
+    cacheControl = lower(headerValue(response, 'Cache-Control'));
+    if contains(cacheControl, "no-cache")
+        return
+    end
+    maxAge = regexp(cacheControl, 'max-age\s*=\s*"?(\d+)', 'tokens', 'once');
+    if ~isempty(maxAge)
+        age = str2double(headerValue(response, 'Age'));
+        t = str2double(maxAge{1}) - max(0, age, 'omitnan');
+        return
+    end
+    expires = headerValue(response, 'Expires');
+    if expires ~= ""
+        try
+            format = 'eee, dd MMM yyyy HH:mm:ss z';
+            expires = datetime(expires, 'InputFormat', format, 'Locale', 'en_US', 'TimeZone', 'UTC');
+            date = headerValue(response, 'Date');
+            if date == ""
+                date = datetime('now', 'TimeZone', 'UTC');
+            else
+                date = datetime(date, 'InputFormat', format, 'Locale', 'en_US', 'TimeZone', 'UTC');
+            end
+            t = seconds(expires - date);
+        catch
+            % Invalid dates, e.g. 0, mean already expired
+        end
+    end
+end
@@ -0,0 +1,109 @@
+classdef ResponseFuture < handle
+    % RESPONSEFUTURE helper class in MATLAB Generator for OpenAPI package,
+    % returned by the asynchronous variants of operations.
+    %
+    % The request is created, authenticated and sent when the operation is
+    % called. While the response is awaited MATLAB can continue with other
+    % work. When the response is fetched, cookies are handled, postSend is
+    % called and the response is decoded, exactly like the synchronous
+    % operation does.
+    %
+    % ResponseFuture Properties:
+    %   State - "running", "finished" or "cancelled"
+    %
+    % ResponseFuture Methods:
+    %   wait   - Waits for the response to be received
+    %   fetch  - Returns the outputs of the operation
+    %   cancel - Cancels the request
+    %
+    % Asynchronous variants require the package to be generated with
+    % HttpTransport java. Requests with HTTPOptions which the Java client
+    % cannot honour are sent by the operation itself with a warning, the
+    % future is then already finished when it is returned.
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (SetAccess=private)
+        State (1,1) string = "running"
+    end
+    properties (Access=private)
+        % Request in flight, empty if no request is in flight
+        pending
+        % Function returning the response and its history or cookies
+        receive
+        % Function handling the response like the synchronous operation
+        complete
+        % Outputs of complete once fetched
+        outputs = {}
+        % Error of receive or complete
+        err = MException.empty
+    end
+
+    methods
+        function obj = ResponseFuture(pending, receive, complete)
+            % ResponseFuture Constructor
+            %
+            % pending is an object with isDone, await and cancel methods
+            % for the request in flight, or empty if the response was
+            % already received. receive returns [response, history] once
+            % the request completed and complete returns the outputs of
+            % the operation for these.
+            obj.pending = pending;
+            obj.receive = receive;
+            obj.complete = complete;
+            if isempty(pending)
+                obj.State = "finished";
+            end
+        end
+
+        function tf = wait(obj, timeout)
+            % WAIT waits up to timeout seconds (default Inf) for the
+            % response to be received. Returns whether it was received, or
+            % the request failed or was cancelled.
+            arguments
+                obj
+                timeout (1,1) double {mustBeNonnegative} = Inf
+            end
+            if obj.State == "running"
+                if obj.pending.await(timeout)
+                    obj.State = "finished";
+                end
+            end
+            tf = obj.State ~= "running";
+        end
+
+        function varargout = fetch(obj)
+            % FETCH waits for the response and returns the outputs of the
+            % operation, i.e. [code, result, response]. Errors of the
+            % request or of handling the response are thrown by every call
+            % to fetch.
+            obj.wait();
+            if obj.State == "cancelled"
+                error('ResponseFuture:Cancelled', 'The request was cancelled.');
+            end
+            if isempty(obj.outputs) && isempty(obj.err)
+                try
+                    [response, history] = obj.receive();
+                    [obj.outputs{1:3}] = obj.complete(response, history);
+                catch ME
+                    obj.err = ME;
+                end
+                % Release the request and response
+                obj.pending = [];
+                obj.receive = [];
+            end
+            if ~isempty(obj.err)
+                throw(obj.err);
+            end
+            varargout = obj.outputs(1:max(nargout,1));
+        end
+
+        function cancel(obj)
+            % CANCEL cancels the request if it is still running
+            if obj.State == "running"
+                obj.pending.cancel();
+                obj.State = "cancelled";
+            end
+        end
+    end
+end
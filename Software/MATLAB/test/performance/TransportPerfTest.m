@@ -0,0 +1,62 @@
+classdef TransportPerfTest < matlab.perftest.TestCase
+    % TransportPerfTest Compares the latency of operations of a client
+    % which sends requests using matlab.net.http.RequestMessage.send with a
+    % client which uses the pooled Java HttpTransport, against the local
+    % test server. No results of this test have been recorded yet, so
+    % whether the Java transport is faster is not known.
+    %
+    % Run using:
+    %
+    %   results = runperf('TransportPerfTest');
+    %   sampleSummary(results)
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (TestParameter)
+        Package = {"Test", "TestJava"}
+    end
+
+    properties
+        clientDir
+    end
+
+    methods (TestClassSetup)
+        function startServer(testCase)
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture( ...
+                fullfile(fileparts(mfilename('fullpath')),'..','unit')));
+            % Starts the server and generates the Test client
+            testCase.applyFixture(testServerFixture);
+
+            % Generate the same client using the Java transport
+            testCase.clientDir = tempname;
+            c = openapi.build.Client;
+            c.packageName = "TestJava";
+            c.inputSpec = "http://localhost:3000/api-yaml";
+            c.output = testCase.clientDir;
+            c.additionalProperties = containers.Map({'HttpTransport'},{'java'});
+            c.build;
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture(testCase.clientDir));
+            testCase.addTeardown(@rmdir,testCase.clientDir,'s');
+            % The client does not add its jar to the Java class path
+            jar = fullfile(testCase.clientDir, "+TestJava", "MATLABClient.jar");
+            javaaddpath(jar);
+            testCase.addTeardown(@javarmpath, jar);
+        end
+    end
+
+    methods (Test)
+        function sequentialRequests(testCase,Package)
+            client = feval(Package + ".api.Cookies");
+            % Connect directly, the Java transport does not know the proxy
+            % of the preferences and would fall back to the MATLAB one
+            client.httpOptions.UseProxy = false;
+            % Establish the connection before measuring
+            client.cookiecheckCookie;
+            while testCase.keepMeasuring
+                for i = 1:100
+                    client.cookiecheckCookie;
+                end
+            end
+        end
+    end
+end
@@ -0,0 +1,113 @@
+classdef JSONArrayStreamTest < matlab.unittest.TestCase
+    % JSONArrayStreamTest Verifies that JSONArrayStream of a generated
+    % client decodes JSON arrays in chunks, also for documents which are
+    % hard to split into their elements.
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (Constant)
+        spec = [ ...
+            "openapi: 3.0.3"
+            "info:"
+            "  title: Streaming"
+            "  version: 1.0.0"
+            "paths:"
+            "  /pets:"
+            "    get:"
+            "      operationId: listPets"
+            "      responses:"
+            "        '200':"
+            "          description: All pets"
+            "          content:"
+            "            application/json:"
+            "              schema:"
+            "                type: array"
+            "                items:"
+            "                  $ref: '#/components/schemas/Pet'"
+            "components:"
+            "  schemas:"
+            "    Pet:"
+            "      type: object"
+            "      properties:"
+            "        id:"
+            "          type: integer"
+            "          format: int64"
+            "        name:"
+            "          type: string"
+            "        tags:"
+            "          type: array"
+            "          items:"
+            "            type: string"
+            ]
+    end
+
+    methods (TestClassSetup)
+        function generateClient(testCase)
+            folder = tempname;
+            mkdir(folder);
+            testCase.addTeardown(@rmdir,folder,'s');
+            specFile = fullfile(folder,'streaming.yaml');
+            writelines(JSONArrayStreamTest.spec,specFile);
+
+            c = openapi.build.Client;
+            c.packageName = "Streaming";
+            c.inputSpec = specFile;
+            c.output = fullfile(folder,"Streaming");
+            c.additionalProperties = containers.Map({'StreamingResponses'},{'true'});
+            c.build;
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture(c.output));
+            % The client does not add its jar to the Java class path
+            jar = fullfile(c.output, "+Streaming", "MATLABClient.jar");
+            javaaddpath(jar);
+            testCase.addTeardown(@javarmpath, jar);
+        end
+    end
+
+    methods (Test)
+        function testChunks(testCase)
+            json = '[{"id":1,"name":"a"},{"id":2,"name":"b"},{"id":3,"name":"c"}]';
+            stream = Streaming.JSONArrayStream(Streaming.models.Pet,unicode2native(json,'UTF-8'),ChunkSize=2);
+            testCase.verifyTrue(stream.hasNext());
+            pets = stream.next();
+            testCase.verifyEqual([pets.id],int64([1 2]));
+            pets = stream.next();
+            testCase.verifyEqual([pets.id],int64(3));
+            testCase.verifyFalse(stream.hasNext());
+            testCase.verifyEmpty(stream.next());
+        end
+
+        function testStringsWithSpecialCharacters(testCase)
+            json = '[{"name":"say \"hi\", bye"},{"name":"]}, [{"},{"name":"back\\slash"}]';
+            stream = Streaming.JSONArrayStream(Streaming.models.Pet,unicode2native(json,'UTF-8'),ChunkSize=1);
+            pets = stream.readAll();
+            testCase.verifyEqual([pets.name],["say ""hi"", bye", "]}, [{", "back\slash"]);
+        end
+
+        function testNestedArrays(testCase)
+            json = '[{"id":1,"tags":["x","y"]},{"id":2,"tags":[]},{"id":3,"tags":["[z]"]}]';
+            stream = Streaming.JSONArrayStream(Streaming.models.Pet,unicode2native(json,'UTF-8'),ChunkSize=2);
+            pets = stream.readAll();
+            testCase.verifyEqual([pets.id],int64([1 2 3]));
+            testCase.verifyEqual(pets(1).tags,["x" "y"]);
+            testCase.verifyEqual(pets(3).tags,"[z]");
+        end
+
+        function testFile(testCase)
+            file = [tempname '.json'];
+            writelines('[{"id":1},{"id":2}]',file);
+            stream = Streaming.JSONArrayStream(Streaming.models.Pet,file,DeleteFile=true);
+            pets = stream.readAll();
+            testCase.verifyEqual([pets.id],int64([1 2]));
+            % The file is deleted once the stream is closed
+            testCase.verifyFalse(isfile(file));
+        end
+
+        function testTruncated(testCase)
+            json = '[{"id":1},{"id":2},{"na';
+            stream = Streaming.JSONArrayStream(Streaming.models.Pet,unicode2native(json,'UTF-8'),ChunkSize=2);
+            pets = stream.next();
+            testCase.verifyEqual([pets.id],int64([1 2]));
+            testCase.verifyError(@()stream.next(),'MATLAB:Java:GenericException');
+        end
+    end
+end
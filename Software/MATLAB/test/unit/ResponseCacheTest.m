@@ -0,0 +1,238 @@
+classdef ResponseCacheTest < matlab.unittest.TestCase
+    % ResponseCacheTest Verifies the ResponseCache of a generated client
+    % with operations which have the x-matlab-cache vendor extension:
+    % fresh and stale responses, revalidation and eviction.
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (Constant)
+        spec = [ ...
+            "openapi: 3.0.3"
+            "info:"
+            "  title: Caching"
+            "  version: 1.0.0"
+            "paths:"
+            "  /pets/{petId}:"
+            "    get:"
+            "      operationId: getPetById"
+            "      tags: [pets]"
+            "      x-matlab-cache: true"
+            "      parameters:"
+            "        - name: petId"
+            "          in: path"
+            "          required: true"
+            "          schema:"
+            "            type: integer"
+            "      responses:"
+            "        '200':"
+            "          description: A pet"
+            "          content:"
+            "            application/json:"
+            "              schema:"
+            "                type: object"
+            "                properties:"
+            "                  name:"
+            "                    type: string"
+            ]
+    end
+
+    properties
+        cache
+    end
+
+    methods (TestClassSetup)
+        function generateClient(testCase)
+            folder = tempname;
+            mkdir(folder);
+            testCase.addTeardown(@rmdir,folder,'s');
+            specFile = fullfile(folder,'caching.yaml');
+            writelines(ResponseCacheTest.spec,specFile);
+
+            c = openapi.build.Client;
+            c.packageName = "Caching";
+            c.inputSpec = specFile;
+            c.output = fullfile(folder,"Caching");
+            c.build;
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture(c.output));
+        end
+    end
+
+    methods (TestMethodSetup)
+        function createCache(testCase)
+            testCase.cache = Caching.ResponseCache();
+        end
+    end
+
+    methods (Test)
+        function testSharedByClients(testCase)
+            testCase.verifyClass(Caching.api.Pets().responseCache, 'Caching.ResponseCache');
+            testCase.verifySameHandle(Caching.api.Pets().responseCache, Caching.BaseClient.responseCache);
+        end
+
+        function testFresh(testCase)
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60'), 200, "pet");
+            testCase.verifyEqual(testCase.cache.Count, 1);
+            testCase.verifyEqual(testCase.cache.Misses, 1);
+
+            [request, entry] = testCase.cache.lookup(ResponseCacheTest.request(1), uri);
+            testCase.verifyTrue(entry.fresh);
+            testCase.verifyEqual(entry.outputs{2}, "pet");
+            testCase.verifyEqual(testCase.cache.Hits, 1);
+            % Not made conditional
+            testCase.verifyEmpty(request.getFields('If-None-Match'));
+
+            % Other URIs are not cached
+            [request, uri] = ResponseCacheTest.request(2);
+            [~, entry] = testCase.cache.lookup(request, uri);
+            testCase.verifyEmpty(entry);
+        end
+
+        function testExpires(testCase)
+            format = 'eee, dd MMM yyyy HH:mm:ss';
+            t = datetime('now', 'TimeZone', 'UTC');
+            date = string(char(t, format, 'en_US')) + " GMT";
+            expires = string(char(t + minutes(5), format, 'en_US')) + " GMT";
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Date', date, 'Expires', expires), 200, "pet");
+            [~, entry] = testCase.cache.lookup(request, uri);
+            testCase.verifyTrue(entry.fresh);
+        end
+
+        function testRevalidateETag(testCase)
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'no-cache', 'ETag', '"v1"'), 200, "pet");
+
+            [request, entry] = testCase.cache.lookup(ResponseCacheTest.request(1), uri);
+            testCase.verifyFalse(entry.fresh);
+            testCase.verifyEqual(string(request.getFields('If-None-Match').Value), """v1""");
+            testCase.verifyEqual(testCase.cache.Hits, 0);
+
+            % The server responds with 304, the cached result is returned
+            % and is fresh for a minute
+            [code, result] = testCase.cache.revalidated(entry, ResponseCacheTest.response(304, 'Cache-Control', 'max-age=60'));
+            testCase.verifyEqual(code, 200);
+            testCase.verifyEqual(result, "pet");
+            testCase.verifyEqual(testCase.cache.Revalidations, 1);
+            [~, entry] = testCase.cache.lookup(ResponseCacheTest.request(1), uri);
+            testCase.verifyTrue(entry.fresh);
+            testCase.verifyEqual(testCase.cache.Hits, 1);
+        end
+
+        function testRevalidateLastModified(testCase)
+            modified = "Wed, 21 Oct 2015 07:28:00 GMT";
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Last-Modified', modified), 200, "pet");
+            [request, entry] = testCase.cache.lookup(ResponseCacheTest.request(1), uri);
+            testCase.verifyFalse(entry.fresh);
+            testCase.verifyEqual(string(request.getFields('If-Modified-Since').Value), modified);
+            testCase.verifyEmpty(request.getFields('If-None-Match'));
+        end
+
+        function testStaleWithoutValidators(testCase)
+            % Neither fresh nor can it be revalidated
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200), 200, "pet");
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60', 'Age', '120'), 200, "pet");
+            testCase.verifyEqual(testCase.cache.Count, 0);
+            testCase.verifyEqual(testCase.cache.Misses, 2);
+        end
+
+        function testNotStored(testCase)
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(404, 'Cache-Control', 'max-age=60'), 404, []);
+            testCase.verifyEqual(testCase.cache.Count, 0);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60', 'Vary', '*'), 200, "pet");
+            testCase.verifyEqual(testCase.cache.Count, 0);
+
+            % no-store also removes the response which was cached before
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60'), 200, "pet");
+            testCase.verifyEqual(testCase.cache.Count, 1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'no-store'), 200, "pet");
+            testCase.verifyEqual(testCase.cache.Count, 0);
+        end
+
+        function testVary(testCase)
+            [request, uri] = ResponseCacheTest.request(1, 'Accept-Language', 'en');
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60', 'Vary', 'Accept-Language'), 200, "pet");
+            [~, entry] = testCase.cache.lookup(ResponseCacheTest.request(1, 'Accept-Language', 'de'), uri);
+            testCase.verifyEmpty(entry);
+            [~, entry] = testCase.cache.lookup(ResponseCacheTest.request(1, 'Accept-Language', 'en'), uri);
+            testCase.verifyNotEmpty(entry);
+        end
+
+        function testAuthorization(testCase)
+            [request, uri] = ResponseCacheTest.request(1, 'Authorization', 'Bearer a');
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60'), 200, "pet");
+            [~, entry] = testCase.cache.lookup(ResponseCacheTest.request(1, 'Authorization', 'Bearer b'), uri);
+            testCase.verifyEmpty(entry);
+        end
+
+        function testEviction(testCase)
+            testCase.cache.Capacity = 2;
+            response = ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60');
+            for id = 1:2
+                [request, uri] = ResponseCacheTest.request(id);
+                testCase.cache.store(request, uri, response, 200, id);
+            end
+            % 1 is used more recently than 2
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.lookup(request, uri);
+            [request, uri] = ResponseCacheTest.request(3);
+            testCase.cache.store(request, uri, response, 200, 3);
+
+            testCase.verifyEqual(testCase.cache.Count, 2);
+            for id = 1:3
+                [request, uri] = ResponseCacheTest.request(id);
+                [~, entry] = testCase.cache.lookup(request, uri);
+                if id == 2
+                    testCase.verifyEmpty(entry);
+                else
+                    testCase.verifyEqual(entry.outputs{2}, id);
+                end
+            end
+        end
+
+        function testDisabled(testCase)
+            testCase.cache.Capacity = 0;
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60'), 200, "pet");
+            testCase.verifyEqual(testCase.cache.Count, 0);
+            [~, entry] = testCase.cache.lookup(request, uri);
+            testCase.verifyEmpty(entry);
+        end
+
+        function testPurge(testCase)
+            [request, uri] = ResponseCacheTest.request(1);
+            testCase.cache.store(request, uri, ResponseCacheTest.response(200, 'Cache-Control', 'max-age=60'), 200, "pet");
+            testCase.cache.lookup(request, uri);
+            testCase.cache.purge();
+            testCase.verifyEqual(testCase.cache.Count, 0);
+            testCase.verifyEqual([testCase.cache.Hits testCase.cache.Revalidations testCase.cache.Misses], [0 0 0]);
+        end
+    end
+
+    methods (Static, Access=private)
+        function [request, uri] = request(id, varargin)
+            % REQUEST returns a GET request for pet id, with header fields
+            % given as name value pairs
+            uri = matlab.net.URI("http://localhost/pets/" + id);
+            request = matlab.net.http.RequestMessage("GET", ResponseCacheTest.fields(varargin{:}));
+        end
+
+        function response = response(status, varargin)
+            % RESPONSE returns a response with status code status, and
+            % header fields given as name value pairs
+            response = matlab.net.http.ResponseMessage;
+            response.StatusCode = matlab.net.http.StatusCode(status);
+            response.Header = ResponseCacheTest.fields(varargin{:});
+        end
+
+        function fields = fields(varargin)
+            fields = matlab.net.http.field.GenericField.empty;
+            for i = 1:2:numel(varargin)
+                fields(end+1) = matlab.net.http.field.GenericField(varargin{i}, varargin{i+1}); %#ok<AGROW>
+            end
+        end
+    end
+end
@@ -35,6 +35,44 @@ classdef TestServerGen < matlab.unittest.TestCase
             % TODO try to further verify something valid was generated
         end
 
+        function testBasePath(testCase)
+            % Generates a server for a spec whose server URL has a base
+            % path (/api/v3) and verifies that requests under the base path
+            % are routed to the generated operations.
+            disp('Running testBasePath');
+            if strcmpi(getenv('OPENAPI_KEEP_OUTPUT'), 'true')
+                tmpFolder = fullfile(tempdir, 'OpenAPITests', ['BasePath-', char(datetime('now', 'Format','yyyyMMdd''T''HHmmss'))]);
+                fprintf("Saving output to: %s\n", tmpFolder);
+            else
+                tmpFolder = tempname;
+                mkdir(tmpFolder);
+                % Remove the output only after it was removed from the path
+                testCase.addTeardown(@rmdir,tmpFolder,"s");
+            end
+            c = openapi.build.Server;
+            c.packageName = "BasePath";
+            c.inputSpec = "https://raw.githubusercontent.com/swagger-api/swagger-petstore/refs/heads/master/src/main/resources/openapi.yaml";
+            c.output = fullfile(tmpFolder,"BasePath");
+            c.build;
+
+            % Call the generated server in-process, the same way MATLAB
+            % Production Server would
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture(c.output));
+            % server keeps the application in a persistent variable
+            testCase.addTeardown(@clear,'server');
+            clear server
+
+            % Operations are generated as not implemented yet
+            testCase.verifyEqual(TestServerGen.send("GET","/api/v3/store/inventory").HttpCode,501);
+            testCase.verifyEqual(TestServerGen.send("GET","/api/v3/pet/findByStatus?status=available").HttpCode,501);
+            testCase.verifyEqual(TestServerGen.send("GET","/api/v3/pet/123").HttpCode,501);
+            testCase.verifyEqual(TestServerGen.send("DELETE","/api/v3/pet/123").HttpCode,501);
+            testCase.verifyEqual(TestServerGen.send("GET","/api/v3/openapi.json").HttpCode,200);
+            % Without the base path nothing matches
+            testCase.verifyEqual(TestServerGen.send("GET","/store/inventory").HttpCode,404);
+            testCase.verifyEqual(TestServerGen.send("GET","/api/v3/unknown").HttpCode,404);
+        end
+
         function testSnowflake(testCase)
             % This tests generates a server based on API specs for
             % Snowflake.
@@ -87,4 +125,15 @@ classdef TestServerGen < matlab.unittest.TestCase
         end
 
     end
+
+    methods (Static, Access=private)
+        function response = send(method,path)
+            % SEND lets the generated server handle a request
+            response = server(struct( ...
+                Method=char(method), ...
+                Path=char(path), ...
+                Headers={{}}, ...
+                Body=uint8.empty));
+        end
+    end
 end
@@ -0,0 +1,133 @@
+classdef (SharedTestFixtures={testServerFixture}) asyncTests < matlab.unittest.TestCase
+    % asyncTests Verifies the asynchronous variants of operations which are
+    % generated with AsyncOperations, and the ResponseFuture they return.
+    % These require HttpTransport java.
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties
+        pkg string
+    end
+
+    methods (TestClassSetup)
+        function generateClient(testCase)
+            folder = tempname;
+            testCase.addTeardown(@rmdir,folder,'s');
+
+            c = openapi.build.Client;
+            c.packageName = "AsyncJava";
+            c.inputSpec = "http://localhost:3000/api-yaml";
+            c.output = folder;
+            c.additionalProperties = containers.Map( ...
+                {'AsyncOperations','HttpTransport'},{'true','java'});
+            c.build;
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture(folder));
+            % The client does not add its jar to the Java class path
+            jar = fullfile(folder, "+" + c.packageName, "MATLABClient.jar");
+            javaaddpath(jar);
+            testCase.addTeardown(@javarmpath, jar);
+            testCase.pkg = c.packageName;
+        end
+    end
+
+    methods (Test)
+        function testFetch(testCase)
+            client = testCase.client();
+            future = client.apppathMessageAsync("Hello World");
+            testCase.verifyClass(future, testCase.pkg + ".ResponseFuture");
+            [c, r, response] = future.fetch();
+            testCase.verifyEqual(c, matlab.net.http.StatusCode.OK);
+            testCase.verifyClass(r, testCase.pkg + ".models.HelloMessage");
+            testCase.verifyEqual(r.message, "Hello World");
+            testCase.verifyClass(response, 'matlab.net.http.ResponseMessage');
+            testCase.verifyEqual(future.State, "finished");
+            testCase.verifyTrue(future.wait(0));
+
+            % Fetching again returns the same outputs
+            [c2, r2] = future.fetch();
+            testCase.verifyEqual(c2, c);
+            testCase.verifyEqual(r2.message, r.message);
+        end
+
+        function testSeveralInFlight(testCase)
+            client = testCase.client();
+            messages = "Message " + (1:5);
+            futures = cell(1, numel(messages));
+            for i = 1:numel(messages)
+                futures{i} = client.apppathMessageAsync(messages(i));
+            end
+            % Fetched in a different order than sent
+            for i = numel(messages):-1:1
+                [c, r] = futures{i}.fetch();
+                testCase.verifyEqual(c, matlab.net.http.StatusCode.OK);
+                testCase.verifyEqual(r.message, messages(i));
+            end
+        end
+
+        function testUnreachableServer(testCase)
+            client = testCase.client("serverUri", "http://localhost:1");
+            % Sent in the background, the error is thrown by every fetch
+            future = client.apppathMessageAsync("Hello");
+            testCase.verifyTrue(future.wait(30));
+            testCase.verifyError(@() future.fetch(), ?MException);
+            testCase.verifyError(@() future.fetch(), ?MException);
+        end
+
+        function testUnsupportedOptionsWarn(testCase)
+            client = testCase.client();
+            % The Java client does not know the proxy of the preferences,
+            % the request is sent right away by MATLAB
+            client.httpOptions.UseProxy = true;
+            future = testCase.verifyWarning(@() client.apppathMessageAsync("Hello"), ...
+                'HttpTransport:Synchronous');
+            testCase.verifyEqual(future.State, "finished");
+            [c, r] = future.fetch();
+            testCase.verifyEqual(c, matlab.net.http.StatusCode.OK);
+            testCase.verifyEqual(r.message, "Hello");
+        end
+
+        function testRequiresJavaTransport(testCase)
+            c = openapi.build.Client;
+            c.packageName = "AsyncMatlab";
+            c.inputSpec = "http://localhost:3000/api-yaml";
+            folder = testCase.applyFixture(matlab.unittest.fixtures.TemporaryFolderFixture).Folder;
+            c.output = fullfile(folder, c.packageName);
+            c.additionalProperties = containers.Map( ...
+                {'AsyncOperations','HttpTransport'},{'true','matlab'});
+            testCase.verifyError(@() c.build, 'Client:build');
+        end
+
+        function testPending(testCase)
+            % A request which does not finish, which can be cancelled
+            pending.await = @(timeout) false;
+            pending.cancel = @() [];
+            future = feval(testCase.pkg + ".ResponseFuture", pending, ...
+                @() deal([], []), @(response, history) deal(1, 2, 3));
+            testCase.verifyEqual(future.State, "running");
+            testCase.verifyFalse(future.wait(0));
+            future.cancel();
+            testCase.verifyEqual(future.State, "cancelled");
+            testCase.verifyTrue(future.wait());
+            testCase.verifyError(@() future.fetch(), 'ResponseFuture:Cancelled');
+        end
+
+        function testCompleteFails(testCase)
+            % Errors decoding the response are kept and thrown by every
+            % fetch, without handling the response again
+            future = feval(testCase.pkg + ".ResponseFuture", [], ...
+                @() deal([], []), @(response, history) error('asyncTests:decode', 'Cannot decode'));
+            testCase.verifyEqual(future.State, "finished");
+            testCase.verifyError(@() future.fetch(), 'asyncTests:decode');
+            testCase.verifyError(@() future.fetch(), 'asyncTests:decode');
+        end
+    end
+
+    methods (Access=private)
+        function client = client(testCase, varargin)
+            client = feval(testCase.pkg + ".api.App", varargin{:});
+            % Connect directly, the Java transport does not know the proxy
+            % of the preferences and would fall back to the MATLAB one
+            client.httpOptions.UseProxy = false;
+        end
+    end
+end
@@ -0,0 +1,126 @@
+classdef (SharedTestFixtures={testServerFixture}) batchTests < matlab.unittest.TestCase
+    % batchTests Verifies the batch variants of operations which are
+    % generated with BatchOperations. These require HttpTransport java.
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties
+        pkg string
+    end
+
+    methods (TestClassSetup)
+        function generateClient(testCase)
+            folder = tempname;
+            testCase.addTeardown(@rmdir,folder,'s');
+
+            c = openapi.build.Client;
+            c.packageName = "BatchJava";
+            c.inputSpec = "http://localhost:3000/api-yaml";
+            c.output = folder;
+            c.additionalProperties = containers.Map( ...
+                {'BatchOperations','HttpTransport'},{'true','java'});
+            c.build;
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture(folder));
+            % The client does not add its jar to the Java class path
+            jar = fullfile(folder, "+" + c.packageName, "MATLABClient.jar");
+            javaaddpath(jar);
+            testCase.addTeardown(@javarmpath, jar);
+            testCase.pkg = c.packageName;
+        end
+    end
+
+    methods (Test)
+        function testOrder(testCase)
+            client = testCase.client();
+            messages = "Message " + (1:5);
+            params = struct(testCase.paramName("apppathMessage"), num2cell(messages));
+            [codes, results, responses, errors] = client.apppathMessageBatch(params, MaxInFlight=2);
+            testCase.verifyEqual(codes, repmat(double(matlab.net.http.StatusCode.OK),1,5));
+            testCase.verifyEqual(cellfun(@(r) string(r.message), results), messages);
+            testCase.verifyTrue(all(cellfun(@(r) isa(r,'matlab.net.http.ResponseMessage'), responses)));
+            testCase.verifyTrue(all(cellfun(@isempty, errors)));
+
+            % Same results as the operation itself
+            [c, r] = client.apppathMessage(messages(3));
+            testCase.verifyEqual(codes(3), double(c));
+            testCase.verifyEqual(results{3}.message, r.message);
+        end
+
+        function testFailedRequest(testCase)
+            client = testCase.client();
+            hello = @(varargin) feval(testCase.pkg + ".models.HelloMessage", varargin{:});
+            % The second message lacks its required message property
+            params = struct(testCase.paramName("appechoMessage"), ...
+                {hello("message","Hi"), hello(), hello("message","Bye")});
+            [codes, results, ~, errors] = client.appechoMessageBatch(params);
+            testCase.verifyEqual(codes([1 3]), repmat(double(matlab.net.http.StatusCode.OK),1,2));
+            testCase.verifyTrue(isnan(codes(2)));
+            testCase.verifyEqual(errors{2}.identifier, 'JSONMAPPER:ERROR');
+            testCase.verifyEmpty(results{2});
+            % The other requests are not affected
+            testCase.verifyEqual(results{1}.message, "Hi");
+            testCase.verifyEqual(results{3}.message, "Bye");
+            testCase.verifyEmpty(errors{1});
+            testCase.verifyEmpty(errors{3});
+        end
+
+        function testUnreachableServer(testCase)
+            client = testCase.client("serverUri", "http://localhost:1");
+            params = struct(testCase.paramName("apppathMessage"), {"a", "b"});
+            [codes, results, ~, errors] = client.apppathMessageBatch(params);
+            testCase.verifyTrue(all(isnan(codes)));
+            testCase.verifyTrue(all(cellfun(@isempty, results)));
+            testCase.verifyTrue(all(cellfun(@(e) isa(e,'MException'), errors)));
+        end
+
+        function testEmpty(testCase)
+            client = testCase.client();
+            params = struct(testCase.paramName("apppathMessage"), {});
+            [codes, results, responses, errors] = client.apppathMessageBatch(params);
+            testCase.verifySize(codes, [1 0]);
+            testCase.verifySize(results, [1 0]);
+            testCase.verifySize(responses, [1 0]);
+            testCase.verifySize(errors, [1 0]);
+        end
+
+        function testUnsupportedOptionsWarn(testCase)
+            client = testCase.client();
+            % The Java client does not know the proxy of the preferences,
+            % the requests are sent one after another by MATLAB
+            client.httpOptions.UseProxy = true;
+            params = struct(testCase.paramName("apppathMessage"), {"a", "b"});
+            [codes, results] = testCase.verifyWarning(@() client.apppathMessageBatch(params), ...
+                'HttpTransport:Sequential');
+            testCase.verifyEqual(codes, repmat(double(matlab.net.http.StatusCode.OK),1,2));
+            testCase.verifyEqual(cellfun(@(r) string(r.message), results), ["a" "b"]);
+        end
+
+        function testRequiresJavaTransport(testCase)
+            c = openapi.build.Client;
+            c.packageName = "BatchMatlab";
+            c.inputSpec = "http://localhost:3000/api-yaml";
+            folder = testCase.applyFixture(matlab.unittest.fixtures.TemporaryFolderFixture).Folder;
+            c.output = fullfile(folder, c.packageName);
+            c.additionalProperties = containers.Map( ...
+                {'BatchOperations','HttpTransport'},{'true','matlab'});
+            testCase.verifyError(@() c.build, 'Client:build');
+        end
+    end
+
+    methods (Access=private)
+        function client = client(testCase, varargin)
+            client = feval(testCase.pkg + ".api.App", varargin{:});
+            % Connect directly, the Java transport does not know the proxy
+            % of the preferences and would fall back to the MATLAB one
+            client.httpOptions.UseProxy = false;
+        end
+
+        function name = paramName(testCase, method)
+            % PARAMNAME returns the name of the first parameter of method,
+            % which is the field name of the batch parameters
+            mc = meta.class.fromName(testCase.pkg + ".api.App");
+            m = mc.MethodList(strcmp({mc.MethodList.Name}, method));
+            name = m(1).InputNames{2};
+        end
+    end
+end
@@ -21,5 +21,44 @@ classdef (SharedTestFixtures={testServerFixture})  cookieTests < matlab.unittest
             code = client.cookiecheckCookie;
             testCase.verifyEqual(code,matlab.net.http.StatusCode.OK);
         end
+
+        function testCookieJarWriteBehind(testCase)
+            client = Test.api.Cookies;
+            client.cookies.purge;
+            client.cookiegetCookie;
+            c = load(fullfile(client.cookies.path,'cookies.mat'),'cookies');
+            cookies = c.cookies.values;
+            uri = matlab.net.URI("http://" + cookies{1}.Domain + cookies{1}.Path);
+
+            % With a flush interval, cookies are not saved right away
+            folder = tempname;
+            jar = Test.CookieJar(folder,flushInterval=3600);
+            testCase.addTeardown(@rmdir,folder,'s');
+            jar.setCookies([cookies{:}]);
+            testCase.verifyFalse(isfile(fullfile(folder,'cookies.mat')));
+            testCase.verifyNotEmpty(jar.getCookies(uri));
+
+            % But they are when the jar is deleted
+            delete(jar);
+            testCase.verifyTrue(isfile(fullfile(folder,'cookies.mat')));
+            jar = Test.CookieJar(folder);
+            testCase.verifyNotEmpty(jar.getCookies(uri));
+        end
+
+        function testCookieJarDeleteWarns(testCase)
+            client = Test.api.Cookies;
+            client.cookies.purge;
+            client.cookiegetCookie;
+            c = load(fullfile(client.cookies.path,'cookies.mat'),'cookies');
+            cookies = c.cookies.values;
+
+            % Cookies which cannot be saved when the jar is deleted are
+            % reported as warning rather than lost silently
+            folder = tempname;
+            jar = Test.CookieJar(folder,flushInterval=3600);
+            jar.setCookies([cookies{:}]);
+            rmdir(folder,'s');
+            testCase.verifyWarning(@()delete(jar),'CookieJar:SaveFailed');
+        end
     end
 end
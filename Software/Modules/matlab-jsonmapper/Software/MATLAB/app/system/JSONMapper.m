@@ -46,7 +46,7 @@ classdef (Abstract) JSONMapper < handle
     %   doNotDecode    - For text properties specifies that the value should not
     %                    be decoded using a JSON parser.
     
-    % Copyright 2022-2023 The MathWorks, Inc.
+    % Copyright 2022-2026 The MathWorks, Inc.
 
     properties (Access=private)
         MATLABProperties JSONPropertyInfo
@@ -313,6 +313,16 @@ classdef (Abstract) JSONMapper < handle
                 end
     
                 if isstring(json) || ischar(json)
+                    % If enabled and supported for this class, decode the
+                    % whole document at once using jsondecode rather than
+                    % field by field using Gson
+                    if obj(1).useJSONDecode() && JSONMapper.supportsJSONDecode(obj(1))
+                        data = jsondecode(json);
+                        if isDecodedObjectArray(data)
+                            obj = obj.fromDecoded(data);
+                            return
+                        end
+                    end
                     json = com.google.gson.JsonParser().parse(json);
                 end
 
@@ -665,6 +675,129 @@ classdef (Abstract) JSONMapper < handle
             nameMap = containers.Map(jNames, mNames);
         end
     end
+
+    methods (Access=protected)
+        function tf = useJSONDecode(~)
+            % USEJSONDECODE Derived classes can override this method to
+            % return true, in which case fromJSON decodes JSON text using
+            % a single call to jsondecode and then assigns the properties
+            % of all array elements at once. This has not been verified
+            % against decoding with Gson yet. It is only used if the class
+            % and all nested classes can be deserialized this way without
+            % loss of information, otherwise fromJSON falls back to Gson.
+            tf = false;
+        end
+
+        function obj = fromDecoded(obj,data)
+            % FROMDECODED Fills the object (array) with the output of
+            % jsondecode, i.e. a struct (array) or a cell array of structs
+            % if the elements have different fields.
+            N = numel(data);
+            if N == 0
+                obj = obj.empty;
+                return
+            end
+            % Create all array elements at once
+            if numel(obj) < N
+                obj(N) = feval(class(obj));
+            end
+            for currProp = obj(1).MATLABProperties
+                % Collect the values of this field for all elements,
+                % missing fields and null both result in []
+                fn = char(currProp.jName);
+                vals = cell(1,N);
+                if isstruct(data)
+                    if isfield(data,fn)
+                        vals = {data.(fn)};
+                    end
+                else
+                    for i = 1:N
+                        if isfield(data{i},fn)
+                            vals{i} = data{i}.(fn);
+                        end
+                    end
+                end
+                present = ~cellfun(@(v) isnumeric(v) && isempty(v),vals);
+                % Convert the values based on the data type specified on
+                % the MATLAB end
+                switch currProp.dataType
+                    case {?datetime}
+                        vals(present) = cellfun(@(v) arrayfun(currProp.dtConversionFunction,decodedText(v)), ...
+                            vals(present),'UniformOutput',false);
+                    case {?string,?char}
+                        vals(present) = cellfun(@string,vals(present),'UniformOutput',false);
+                    case {?single,?double,?int8,?uint8,?int16,?uint16,?int32,?uint32,?logical,?meta.class}
+                        % Assigned as is, the property type declaration
+                        % takes care of any further conversion
+                    otherwise
+                        if currProp.dataType.Enumeration
+                            enumObj = obj(1).(currProp.mName);
+                            vals(present) = cellfun(@(v) arrayfun(@(x)enumObj.fromJSON(x),string(v)), ...
+                                vals(present),'UniformOutput',false);
+                        else
+                            vals(present) = cellfun(@(v) feval(currProp.dataType.Name).fromDecoded(v), ...
+                                vals(present),'UniformOutput',false);
+                        end
+                end
+                % Like fromJSON, explicitly set properties which are not
+                % present to empty of the correct class
+                vals(~present) = {eval([currProp.dataType.Name '.empty'])};
+                % Assign the property of all elements at once
+                [obj(1:N).(currProp.mName)] = vals{:};
+            end
+        end
+    end
+
+    methods (Static, Access=private)
+        function tf = supportsJSONDecode(obj)
+            % SUPPORTSJSONDECODE Determines whether objects of the class of
+            % obj, including all nested classes, can be deserialized from
+            % the output of jsondecode without loss of information. This
+            % is not the case for (u)int64 properties (precision),
+            % containers.Map and JSONMapperMap properties (jsondecode
+            % alters the keys), doNotDecode properties (the original text
+            % is not retained), discriminators and JSON names which
+            % jsondecode would alter. The result is cached per class.
+            persistent cache
+            if isempty(cache)
+                cache = containers.Map('KeyType','char','ValueType','logical');
+            end
+            className = class(obj);
+            if isKey(cache,className)
+                tf = cache(className);
+                return
+            end
+            unsupported = [?int64,?uint64,?containers.Map,?JSONMapperMap];
+            primitive = [?datetime,?single,?double,?int8,?uint8,?int16,?uint16,?int32,?uint32,?logical,?string,?char,?meta.class];
+            % Check all classes reachable from this class
+            tf = true;
+            seen = string(className);
+            pending = {obj};
+            while tf && ~isempty(pending)
+                cur = pending{end};
+                pending(end) = [];
+                for currProp = cur.MATLABProperties
+                    dt = currProp.dataType;
+                    if ~isvarname(currProp.jName) || currProp.isDiscriminator || currProp.doNotDecode || any(dt == unsupported)
+                        tf = false;
+                        break
+                    end
+                    if any(dt == primitive) || dt.Enumeration
+                        continue
+                    end
+                    if ~(dt < ?JSONMapper)
+                        tf = false;
+                        break
+                    end
+                    if ~any(seen == dt.Name)
+                        seen(end+1) = dt.Name; %#ok<AGROW>
+                        pending{end+1} = feval(dt.Name); %#ok<AGROW>
+                    end
+                end
+            end
+            cache(className) = tf;
+        end
+    end
 end
 
 function out = getJSONScalarOrArray(val,forceArray)
@@ -678,6 +811,25 @@ function out = getJSONScalarOrArray(val,forceArray)
     end
 end
 
+function tf = isDecodedObjectArray(data)
+    % ISDECODEDOBJECTARRAY Helper function which verifies that jsondecode
+    % returned an object, an array of objects or an empty array.
+    tf = isstruct(data) || (isnumeric(data) && isempty(data)) || ...
+        (iscell(data) && all(cellfun(@isstruct,data)));
+end
+
+function val = decodedText(val)
+    % DECODEDTEXT Helper function which returns a value returned by
+    % jsondecode as string, in the same form as Gson would have returned
+    % it. Numbers are formatted with full precision and without exponent
+    % for integers, such that epochDatetime can parse them.
+    if isnumeric(val)
+        val = compose("%.17g",val);
+    else
+        val = string(val);
+    end
+end
+
 function val = getScalarOrArray(curVal,type,options)
     % GETSCALARORARRAY Helper function which can return MATLAB datatypes
     % from an JsonArray as well as JsonObject.
@@ -1,7 +1,7 @@
 classdef JSONPropertyInfo < handle
     % JSONPROPERTYINFO class used by JSONMapper internally
 
-    % Copyright 2022-2023 The MathWorks, Inc.
+    % Copyright 2022-2026 The MathWorks, Inc.
 
     properties
         mName string
@@ -15,11 +15,34 @@ classdef JSONPropertyInfo < handle
     end
 
 
-    methods (Access=private)
-    
-    end
     methods (Static)
         function props = getPropertyInfo(obj)
+            % GETPROPERTYINFO returns the property information of the class
+            % of obj. This information only depends on the class definition
+            % and is therefore determined once per class and then cached,
+            % rather than for every single instance.
+            persistent cache
+            if isempty(cache)
+                cache = containers.Map('KeyType','char','ValueType','any');
+            end
+            className = class(obj);
+            mc = metaclass(obj);
+            if isKey(cache,className)
+                entry = cache(className);
+                % Only use the cached information if the class has not
+                % been redefined in the meantime
+                if entry.metaClass == mc
+                    props = entry.props;
+                    return
+                end
+            end
+            props = JSONPropertyInfo.determinePropertyInfo(obj);
+            cache(className) = struct('metaClass',mc,'props',props);
+        end
+    end
+
+    methods (Static, Access=private)
+        function props = determinePropertyInfo(obj)
             % For all public properties
             ps = properties(obj);
             N = length(ps);
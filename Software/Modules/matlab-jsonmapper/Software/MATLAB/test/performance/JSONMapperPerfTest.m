@@ -0,0 +1,56 @@
+classdef JSONMapperPerfTest < matlab.perftest.TestCase
+    % JSONMapperPerfTest Compares deserialization using Gson with
+    % deserialization using jsondecode on a large array of objects.
+    %
+    % Run using:
+    %
+    %   results = runperf('JSONMapperPerfTest');
+    %   sampleSummary(results)
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (TestParameter)
+        N = {100, 10000}
+    end
+
+    properties
+        item
+    end
+
+    methods (TestClassSetup)
+        function addUnitTests(testCase)
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture( ...
+                fullfile(fileparts(mfilename('fullpath')),'..','unit')));
+        end
+
+        function readJSON(testCase)
+            % Two petstore-style objects with nested objects
+            testCase.item = strtrim(fileread(fullfile( ...
+                fileparts(mfilename('fullpath')),'..','unit','example4.json')));
+            testCase.item = testCase.item(2:end-1);
+        end
+    end
+
+    methods (Test)
+        function gson(testCase,N)
+            json = testCase.createJSON(N);
+            while testCase.keepMeasuring
+                myClass2().fromJSON(json);
+            end
+        end
+
+        function jsondecode(testCase,N)
+            json = testCase.createJSON(N);
+            while testCase.keepMeasuring
+                myClass2Bulk().fromJSON(json);
+            end
+        end
+    end
+
+    methods (Access=private)
+        function json = createJSON(testCase,N)
+            % Array of N objects
+            json = ['[' strjoin(repmat({testCase.item},1,N/2),',') ']'];
+        end
+    end
+end
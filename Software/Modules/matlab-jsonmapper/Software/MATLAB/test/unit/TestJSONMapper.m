@@ -90,6 +90,38 @@ classdef TestJSONMapper < matlab.unittest.TestCase
             obj = myClass1;
             obj = obj.fromJSON(fileread('actualarray.json')); %#ok<NASGU>
         end
+
+        function testPropertyInfoCached(testCase)
+            % Property information is determined once per class
+            p1 = JSONPropertyInfo.getPropertyInfo(myClass1);
+            p2 = JSONPropertyInfo.getPropertyInfo(myClass1);
+            testCase.verifyNotEmpty(p1);
+            testCase.verifySameHandle(p1(1),p2(1));
+        end
+    end
+
+    % BulkDecode is off by default and has not been verified in MATLAB yet,
+    % exclude these tests using runtests('TestJSONMapper','ExcludeTag','BulkDecode')
+    methods(Test, TestTags={'BulkDecode'})
+        function testJSONDecode(testCase)
+            % Deserializing using jsondecode gives the same results as
+            % deserializing using Gson
+            json = fileread('example4.json');
+            expected = myClass2().fromJSON(json);
+            actual = myClass2Bulk().fromJSON(json);
+            testCase.verifyClass(actual,'myClass2Bulk');
+            testCase.verifySize(actual,size(expected));
+            for p = string(properties(expected))'
+                testCase.verifyEqual({actual.(p)},{expected.(p)},p);
+            end
+        end
+
+        function testJSONDecodeUnsupported(testCase)
+            % myClass1 has int64 properties, these are still deserialized
+            % without loss of precision
+            obj = myClass1Bulk().fromJSON(fileread('example1.json'));
+            testCase.verifyEqual(obj.i64, sscanf('9223372036854775805','%ld'))
+        end
     end
 
 end
\ No newline at end of file
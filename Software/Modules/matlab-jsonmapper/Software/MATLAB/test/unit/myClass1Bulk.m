@@ -0,0 +1,9 @@
+classdef myClass1Bulk < myClass1
+    % Same as myClass1 but with jsondecode enabled, which is not supported
+    % for this class
+    methods (Access=protected)
+        function tf = useJSONDecode(~)
+            tf = true;
+        end
+    end
+end
@@ -0,0 +1,24 @@
+classdef myClass2 < JSONMapper
+    properties
+        d double
+        i32 int32
+        l logical
+        s string
+        c char
+        dtp datetime {JSONMapper.epochDatetime}
+        dts datetime {JSONMapper.stringDatetime(dts,'yyyy-MM-dd')}
+        e myEnum
+        a double {JSONMapper.JSONArray}
+        n string {JSONMapper.fieldName(n,"full_name")}
+        mc myClass2
+    end
+    methods
+        function obj = myClass2(s,inputs)
+            arguments
+                s {JSONMapper.ConstructorArgument} = []
+                inputs.?myClass2
+            end
+            obj = obj.initialize(s,inputs);
+        end
+    end
+end
@@ -0,0 +1,8 @@
+classdef myClass2Bulk < myClass2
+    % Same as myClass2 but deserializes using jsondecode
+    methods (Access=protected)
+        function tf = useJSONDecode(~)
+            tf = true;
+        end
+    end
+end
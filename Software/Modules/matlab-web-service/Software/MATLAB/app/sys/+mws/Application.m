@@ -2,14 +2,25 @@ classdef Application < dynamicprops
     % APPLICATION main class for implementing MATLAB based API Servers
     % using the MATLAB Web Service
 
-    % Copyright 2025 The MathWorks, Inc.
+    % Copyright 2025-2026 The MathWorks, Inc.
     properties
        Debug = false
     end    
     properties (Access=private)
         routes cell
+        % Index of the routes, a trie of the literal path segments at the
+        % start of the routes per http method. Each node is stored under
+        % the method and its path, e.g. "GET /store", and lists the routes
+        % which have this literal prefix, followed by the literal start
+        % of the next segment (if any).
+        index containers.Map
+        % Routes which cannot be indexed and have to be tried for every
+        % request, e.g. middleware added with use
+        unindexed double = zeros(1,0)
 
         currentIndex
+        currentCandidates
+        currentPath
         currentRes
         currentReq
     end
@@ -23,6 +34,7 @@ classdef Application < dynamicprops
             for p = string(fieldnames(config))'
                 app.(p) = config.(p);
             end
+            app.index = containers.Map('KeyType','char','ValueType','any');
         end
         function app = use(app,path,func)
             % USE add a generic handler for all http methods.
@@ -37,26 +49,71 @@ classdef Application < dynamicprops
                 % for all http methods
                 app.routes{end+1} = {".*? " + path,func};
             end
+            app.unindexed(end+1) = length(app.routes);
         end
         function app = get(app,path,func)
             % GET add a get handler to the router
-            app.routes{end+1} = {"GET " + app.processPath(path),func};
+            app = app.addRoute("GET",app.processPath(path),func);
         end
         function app = post(app,path,func)
             % POST add a post handler to the router
-            app.routes{end+1} = {"POST " + app.processPath(path),func};
+            app = app.addRoute("POST",app.processPath(path),func);
         end
         function app = put(app,path,func)
             % PUT add a put handler to the router
-            app.routes{end+1} = {"PUT " + app.processPath(path),func};
+            app = app.addRoute("PUT",app.processPath(path),func);
         end
         function app = patch(app,path,func)
             % PATCH add a patch handler to the router
-            app.routes{end+1} = {"PATCH " + app.processPath(path),func};
+            app = app.addRoute("PATCH",app.processPath(path),func);
         end
         function app = del(app,path,func)
             % DEL add a del handler to the router
-            app.routes{end+1} = {"DELETE " + app.processPath(path),func};
+            app = app.addRoute("DELETE",app.processPath(path),func);
+        end
+
+        function app = addRoute(app,method,path,func)
+            % ADDROUTE add a handler for a specific http method to the
+            % router, where path is the regular expression which the
+            % path has to match, i.e. as returned by processPath. Used by
+            % the generated server to avoid processing all paths when it
+            % starts.
+            %
+            % Example:
+            %
+            %   app.addRoute("GET","/pet[/]?(?<petId>[^/]*)$",@getPetById);
+            path = string(path);
+            app.routes{end+1} = {method + " " + path,func};
+            i = length(app.routes);
+
+            % Literal prefix of the route, i.e. up to the first character
+            % which has special meaning in a regular expression
+            prefix = regexp(path,'^[^.\[\]()?*+{}|^$\\]*','match','once');
+            % A quantifier applies to the character before it, which is then
+            % not necessarily part of the path, e.g. /items? matches /item
+            if strlength(prefix) > 0 && strlength(prefix) < strlength(path) ...
+                    && any(extractBetween(path,strlength(prefix)+1,strlength(prefix)+1) == ["?" "*" "+" "{"])
+                prefix = extractBefore(prefix,strlength(prefix));
+            end
+            % Alternatives at the top level do not share the prefix of the
+            % first alternative, e.g. /pet|/store
+            if ~startsWith(prefix,"/") || app.hasAlternatives(path)
+                app.unindexed(end+1) = i;
+                return
+            end
+            % All but the last segment of the prefix are complete segments,
+            % the last segment is only the start of a segment
+            segments = split(extractAfter(prefix,1),"/");
+            key = method + " ";
+            app.getNode(key);
+            for segment = segments(1:end-1)'
+                key = key + "/" + segment;
+                app.getNode(key);
+            end
+            node = app.getNode(key);
+            node.Routes(end+1) = i;
+            node.Starts(end+1) = segments(end);
+            app.index(char(key)) = node;
         end
 
         function response = handleRequest(app,s)
@@ -70,6 +127,16 @@ classdef Application < dynamicprops
             app.currentRes = mws.Response();
             % If anything fails here, return a 500 error
             try 
+                % Preprocess the current Path for the request.
+                % Split off query parameters
+                p = split(s.Path,"?");
+                % Remove trailing slashes
+                p = strip(string(p(1)),"right","/");
+                % Determine the routes whose literal prefix matches the
+                % path, no other routes can match
+                app.currentCandidates = app.candidates(upper(s.Method),p);
+                % Add request method
+                app.currentPath = upper(s.Method) + " " + p;
                 % Call next to start going through the routes. Next may
                 % call itself recursively to achieve a whole chain of
                 % function with middleware being called
@@ -98,6 +165,65 @@ classdef Application < dynamicprops
     end
 
     methods (Access=private)
+        function node = getNode(app,key)
+            % GETNODE returns the node with the specified key, creates the node
+            % if it does not exist yet.
+            key = char(key);
+            if isKey(app.index,key)
+                node = app.index(key);
+            else
+                node = struct('Routes',zeros(1,0),'Starts',strings(1,0));
+                app.index(key) = node;
+            end
+        end
+        function tf = hasAlternatives(~,path)
+            % HASALTERNATIVES returns whether the regular expression path
+            % has alternatives at the top level, i.e. a | which is not
+            % escaped, in a character class or in a group.
+            path = regexprep(path,'\\.','');
+            path = regexprep(path,'\[\^?\]?[^\]]*\]','');
+            stripped = "";
+            while stripped ~= path
+                stripped = path;
+                path = regexprep(path,'\([^()]*\)','');
+            end
+            tf = contains(path,"|");
+        end
+        function c = candidates(app,method,path)
+            % CANDIDATES returns the indices of the routes which may match
+            % the path in the order in which they were added.
+            if path == ""
+                segments = strings(0,1);
+            elseif startsWith(path,"/") && ~contains(path," ")
+                segments = split(extractAfter(path,1),"/");
+            else
+                % The regular expressions are not anchored at the start,
+                % for such paths they could match elsewhere
+                c = 1:length(app.routes);
+                return
+            end
+            c = app.unindexed;
+            % Walk down the trie along the segments of the path
+            key = method + " ";
+            for d = 1:length(segments)+1
+                if ~isKey(app.index,char(key))
+                    break
+                end
+                node = app.index(char(key));
+                if d <= length(segments)
+                    segment = segments(d);
+                else
+                    segment = "";
+                end
+                for j = 1:length(node.Routes)
+                    if startsWith(segment,node.Starts(j))
+                        c(end+1) = node.Routes(j); %#ok<AGROW>
+                    end
+                end
+                key = key + "/" + segment;
+            end
+            c = sort(c);
+        end
         function path = processPath(~,path)
             % PROCESSPATH replaces route parameters with the correct MATLAB
             % regular expressions such that they can be matched as named
@@ -134,25 +260,15 @@ classdef Application < dynamicprops
             % (Continue) going through the routes to see what needs to
             % be called
             
-            % The current Path has to be preprocessed just once, do
-            % this before the loop.
-                        
-            % Split off query parameters
-            p = split(s.Path,"?");
-            % Remove trailing slashes
-            p = strip(p(1),"right","/");
-            % Add request method
-            p = upper(s.Method) + " " + p;
-            
             % Use regexp to see whether there is a match (and if
             % there is to also immediately parse route parameters
-            % into a struct).
-            for i = app.currentIndex+1:length(app.routes)
+            % into a struct). Only the candidate routes can match.
+            for i = app.currentCandidates(app.currentCandidates > app.currentIndex)
                 app.currentIndex = i;
 
                 route = app.routes{i}{1};
 
-                match = regexp(p,route,"names");
+                match = regexp(app.currentPath,route,"names");
                 
                 if ~isempty(match)
                     % If matched, call the function
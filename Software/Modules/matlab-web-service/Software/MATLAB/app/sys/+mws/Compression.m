@@ -0,0 +1,127 @@
+classdef Compression < handle
+    % COMPRESSION Middleware which decodes compressed request bodies and
+    % compresses response bodies
+    %
+    % Request bodies with Content-Encoding gzip or deflate are decoded
+    % before the next handlers are called, other encodings are rejected
+    % with 415 - Unsupported Media Type. Response bodies of at least
+    % Threshold bytes are gzip encoded if the client accepts gzip and the
+    % Content-Type of the response is one of ContentTypes. Add it before
+    % all other routes:
+    %
+    %   app.use(mws.Compression.newHandler(Threshold=1024));
+
+    % Copyright 2026 The MathWorks, Inc.
+    properties
+        % Minimum size in bytes of response bodies which are compressed,
+        % smaller bodies do not gain enough to be worth the CPU time
+        Threshold (1,1) double {mustBeNonnegative} = 1024
+        % Response Content-Types which are compressed, responses whose
+        % Content-Type contains any of these are compressed
+        ContentTypes string = ["text/", "json", "xml", "javascript", "yaml"]
+    end
+    methods (Access=private)
+        function obj = Compression(config)
+            arguments
+                config.?mws.Compression
+            end
+            for p = string(fieldnames(config))'
+                obj.(p) = config.(p);
+            end
+        end
+
+        function handleRequest(obj,req,res,next)
+            % Decode the request body
+            encoding = lower(strtrim(getField(req.Headers,"Content-Encoding")));
+            if encoding ~= "" && encoding ~= "identity"
+                switch encoding
+                    case {"gzip","x-gzip"}
+                        in = java.util.zip.GZIPInputStream(java.io.ByteArrayInputStream(req.Body));
+                    case "deflate"
+                        in = java.util.zip.InflaterInputStream(java.io.ByteArrayInputStream(req.Body));
+                    otherwise
+                        res.SendStatus(415);
+                        return
+                end
+                try
+                    req.Body = readAll(in);
+                catch
+                    res.SendStatus(400);
+                    return
+                end
+                req.Headers = req.Headers.removeFields("Content-Encoding");
+            end
+
+            next();
+
+            % Compress the response body
+            if numel(res.Body) < obj.Threshold || ...
+                    getField(res.Headers,"Content-Encoding") ~= "" || ...
+                    ~contains(getField(res.Headers,"Content-Type"),obj.ContentTypes,"IgnoreCase",true) || ...
+                    ~acceptsGzip(getField(req.Headers,"Accept-Encoding"))
+                return
+            end
+            bytes = java.io.ByteArrayOutputStream();
+            zip = java.util.zip.GZIPOutputStream(bytes);
+            zip.write(typecast(res.Body(:)','int8'));
+            zip.close();
+            res.Body = typecast(bytes.toByteArray()','uint8');
+            res.Set("Content-Encoding","gzip");
+            res.Set("Vary","Accept-Encoding");
+        end
+
+    end
+    methods (Static)
+        function handler = newHandler(config)
+            arguments
+                config.?mws.Compression
+            end
+            cfg = namedargs2cell(config);
+            instance = mws.Compression(cfg{:});
+            handler = @instance.handleRequest;
+        end
+    end
+end
+
+function value = getField(headers,name)
+    % GETFIELD returns the value of the header field, "" if not set
+    value = "";
+    if isempty(headers)
+        return
+    end
+    field = headers.getFields(name);
+    if ~isempty(field)
+        value = string(field(1).Value);
+    end
+end
+
+function tf = acceptsGzip(acceptEncoding)
+    % ACCEPTSGZIP returns whether the Accept-Encoding header value accepts
+    % gzip, i.e. lists gzip or * without q=0
+    tf = false;
+    for coding = strtrim(split(acceptEncoding,","))'
+        parts = strtrim(split(coding,";"));
+        if ~any(lower(parts(1)) == ["gzip","x-gzip","*"])
+            continue
+        end
+        q = regexp(coding,"q\s*=\s*([\d.]+)","tokens","once");
+        tf = isempty(q) || str2double(q{1}) > 0;
+        return
+    end
+end
+
+function bytes = readAll(in)
+    % READALL reads the Java input stream as uint8, through a buffer
+    % which stays in Java such that this does not copy chunks to MATLAB
+    out = java.io.ByteArrayOutputStream();
+    source = java.nio.channels.Channels.newChannel(in);
+    target = java.nio.channels.Channels.newChannel(out);
+    buffer = java.nio.ByteBuffer.allocate(65536);
+    while source.read(buffer) >= 0
+        buffer.flip();
+        target.write(buffer);
+        buffer.clear();
+    end
+    in.close();
+    bytes = typecast(out.toByteArray()','uint8');
+end
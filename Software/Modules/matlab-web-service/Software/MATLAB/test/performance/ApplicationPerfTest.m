@@ -0,0 +1,69 @@
+classdef ApplicationPerfTest < matlab.perftest.TestCase
+    % ApplicationPerfTest Measures the latency of handling requests with
+    % a large number of routes, similar to a server generated from a spec
+    % with many operations. No results of this test have been recorded
+    % yet.
+    %
+    % Run using:
+    %
+    %   results = runperf('ApplicationPerfTest');
+    %   sampleSummary(results)
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (TestParameter)
+        % Number of resources, each with 6 operations
+        N = {10, 100}
+        % Request for the first, a middle or the last resource
+        Position = {"first", "middle", "last"}
+    end
+
+    methods (TestClassSetup)
+        function addApplication(testCase)
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture( ...
+                fullfile(fileparts(mfilename('fullpath')),'..','..','app','sys')));
+        end
+    end
+
+    methods (Test)
+        function handleRequest(testCase,N,Position)
+            app = ApplicationPerfTest.createApplication(N);
+            switch Position
+                case "first"
+                    k = 1;
+                case "middle"
+                    k = ceil(N/2);
+                case "last"
+                    k = N;
+            end
+            request = struct( ...
+                Method='GET', ...
+                Path=sprintf('/v3/resource%d/123/items/456?limit=10',k), ...
+                Headers={{}}, ...
+                Body=uint8.empty);
+
+            while testCase.keepMeasuring
+                response = app.handleRequest(request);
+            end
+            testCase.verifyEqual(response.HttpCode,200);
+        end
+    end
+
+    methods (Static, Access=private)
+        function app = createApplication(N)
+            app = mws.Application();
+            % Middleware
+            app.use(@(~,~,next) next());
+            handler = @(~,res,~) res.SendStatus(200);
+            for k = 1:N
+                base = sprintf("/v3/resource%d",k);
+                app.get(base,handler);
+                app.post(base,handler);
+                app.get(base + "/{id}",handler);
+                app.put(base + "/{id}",handler);
+                app.del(base + "/{id}",handler);
+                app.get(base + "/{id}/items/{itemId}",handler);
+            end
+        end
+    end
+end
@@ -0,0 +1,98 @@
+classdef CompressionPerfTest < matlab.perftest.TestCase
+    % CompressionPerfTest Measures the latency which the Compression
+    % middleware adds to handling requests with JSON bodies of different
+    % sizes, i.e. the time spent compressing responses and decoding
+    % compressed requests. The size of the bodies with and without
+    % compression is logged.
+    %
+    % Run using:
+    %
+    %   results = runperf('CompressionPerfTest');
+    %   sampleSummary(results)
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    properties (TestParameter)
+        % Number of pets in the body, about 100 bytes each
+        N = {10, 1000, 10000}
+        % Without middleware, with middleware and a threshold above the
+        % size of the body, with middleware compressing the body
+        Compression = {"none", "below", "gzip"}
+    end
+
+    methods (TestClassSetup)
+        function addApplication(testCase)
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture( ...
+                fullfile(fileparts(mfilename('fullpath')),'..','..','app','sys')));
+        end
+    end
+
+    methods (Test)
+        function compressResponse(testCase,N,Compression)
+            body = CompressionPerfTest.pets(N);
+            app = CompressionPerfTest.createApplication(Compression,body);
+            request = struct( ...
+                Method='GET', ...
+                Path='/v3/pets', ...
+                Headers={{'Accept-Encoding','gzip, deflate'}}, ...
+                Body=uint8.empty);
+
+            while testCase.keepMeasuring
+                response = app.handleRequest(request);
+            end
+            testCase.verifyEqual(response.HttpCode,200);
+            testCase.log(1,sprintf('%d bytes, %d bytes sent',numel(body),numel(response.Body)));
+        end
+
+        function decodeRequest(testCase,N,Compression)
+            body = CompressionPerfTest.pets(N);
+            app = CompressionPerfTest.createApplication(Compression,uint8.empty);
+            headers = {'Content-Type','application/json'};
+            if Compression == "gzip"
+                bytes = java.io.ByteArrayOutputStream();
+                zip = java.util.zip.GZIPOutputStream(bytes);
+                zip.write(typecast(body,'int8'));
+                zip.close();
+                body = typecast(bytes.toByteArray()','uint8');
+                headers = [headers; {'Content-Encoding','gzip'}];
+            end
+            request = struct( ...
+                Method='POST', ...
+                Path='/v3/pets', ...
+                Headers={headers}, ...
+                Body=body);
+
+            while testCase.keepMeasuring
+                response = app.handleRequest(request);
+            end
+            testCase.verifyEqual(response.HttpCode,200);
+            testCase.log(1,sprintf('%d bytes received',numel(body)));
+        end
+    end
+
+    methods (Static, Access=private)
+        function app = createApplication(compression,body)
+            app = mws.Application();
+            switch compression
+                case "below"
+                    app.use(mws.Compression.newHandler(Threshold=numel(body)+1));
+                case "gzip"
+                    app.use(mws.Compression.newHandler(Threshold=0));
+            end
+            app.get("/v3/pets",@(~,res,~) res.Set("Content-Type","application/json").Status(200).Send(body));
+            % Parse the body like a generated operation would
+            app.post("/v3/pets",@(req,res,~) res.Status(200).Send(string(numel(jsondecode(native2unicode(req.Body,"UTF-8"))))));
+        end
+
+        function body = pets(n)
+            % JSON array of n pets, each about 100 bytes
+            pets = struct( ...
+                id=num2cell(1:n), ...
+                name=num2cell(compose("pet%d",1:n)), ...
+                tag=repmat({'dog'},1,n), ...
+                status=repmat({'available'},1,n), ...
+                photoUrls=repmat({{'https://example.com/photo.png'}},1,n));
+            body = unicode2native(jsonencode(pets),"UTF-8");
+        end
+    end
+end
@@ -0,0 +1,149 @@
+classdef ApplicationTest < matlab.unittest.TestCase
+    % ApplicationTest Verifies that requests are routed to the right
+    % handlers, in particular for routes which the index of the routes
+    % has to handle specially.
+    %
+    % Run using:
+    %
+    %   results = runtests('ApplicationTest');
+
+    % Copyright 2026 The MathWorks, Inc.
+
+    methods (TestClassSetup)
+        function addApplication(testCase)
+            testCase.applyFixture(matlab.unittest.fixtures.PathFixture( ...
+                fullfile(fileparts(mfilename('fullpath')),'..','..','app','sys')));
+        end
+    end
+
+    methods (Test)
+        function testBasePath(testCase)
+            app = mws.Application();
+            app.get("/api/v3/store/inventory",ApplicationTest.handler("inventory"));
+            app.get("/api/v3/pet/{petId}",ApplicationTest.handler("pet"));
+            app.post("/api/v3/pet",ApplicationTest.handler("addPet"));
+
+            testCase.verifyRoute(app,"GET","/api/v3/store/inventory","inventory");
+            testCase.verifyRoute(app,"GET","/api/v3/store/inventory/","inventory");
+            testCase.verifyRoute(app,"GET","/api/v3/pet/123?status=sold","pet");
+            testCase.verifyRoute(app,"POST","/api/v3/pet","addPet");
+            testCase.verifyNotFound(app,"GET","/api/v3/store");
+            testCase.verifyNotFound(app,"DELETE","/api/v3/pet/123");
+            testCase.verifyNotFound(app,"GET","/v3/store/inventory");
+        end
+
+        function testPathParameters(testCase)
+            app = mws.Application();
+            app.get("/api/v3/pet/{petId}/photos/{photoId}", ...
+                @(req,res,~) res.SendText(req.Params.petId + "/" + req.Params.photoId));
+
+            testCase.verifyRoute(app,"GET","/api/v3/pet/12/photos/34","12/34");
+        end
+
+        function testQuantifiedLiterals(testCase)
+            app = mws.Application();
+            app.addRoute("GET","/items?$",ApplicationTest.handler("items"));
+            app.addRoute("GET","/colou?r$",ApplicationTest.handler("color"));
+            app.addRoute("GET","/zo+m$",ApplicationTest.handler("zoom"));
+            app.addRoute("GET","/ab{2}$",ApplicationTest.handler("abb"));
+
+            testCase.verifyRoute(app,"GET","/item","items");
+            testCase.verifyRoute(app,"GET","/items","items");
+            testCase.verifyRoute(app,"GET","/color","color");
+            testCase.verifyRoute(app,"GET","/colour","color");
+            testCase.verifyRoute(app,"GET","/zom","zoom");
+            testCase.verifyRoute(app,"GET","/zooom","zoom");
+            testCase.verifyRoute(app,"GET","/abb","abb");
+            testCase.verifyNotFound(app,"GET","/itemss");
+        end
+
+        function testAlternatives(testCase)
+            app = mws.Application();
+            app.addRoute("GET","/cats$|/dogs$",ApplicationTest.handler("animals"));
+            app.addRoute("GET","/(red|blue)/paint$",ApplicationTest.handler("paint"));
+            app.addRoute("GET","/a[|]b$",ApplicationTest.handler("pipe"));
+
+            testCase.verifyRoute(app,"GET","/cats","animals");
+            testCase.verifyRoute(app,"GET","/dogs","animals");
+            testCase.verifyRoute(app,"GET","/red/paint","paint");
+            testCase.verifyRoute(app,"GET","/blue/paint","paint");
+            testCase.verifyRoute(app,"GET","/a|b","pipe");
+            testCase.verifyNotFound(app,"GET","/birds");
+        end
+
+        function testMiddlewareOrder(testCase)
+            app = mws.Application();
+            app.use(@(req,res,next) ApplicationTest.trace(res,next,"first"));
+            app.get("/api/v3/pet/{petId}",@(req,res,next) ApplicationTest.trace(res,next,"pet"));
+            app.use("/api/v3/pet/.*",@(req,res,next) ApplicationTest.trace(res,next,"second"));
+            app.get("/api/v3/pet/{petId}",@(~,res,~) res.SendText(ApplicationTest.traced(res) + ",handler"));
+
+            % Routes are called in the order in which they were added, as
+            % long as every route calls next
+            testCase.verifyRoute(app,"GET","/api/v3/pet/1","first,pet,second,handler");
+            % Middleware is called for every request, also when no route
+            % matches in the end
+            response = app.handleRequest(ApplicationTest.request("GET","/api/v3/store"));
+            testCase.verifyEqual(response.HttpCode,404);
+            testCase.verifyEqual(string(response.Headers(strcmp(response.Headers(:,1),'X-Trace'),2)),"first");
+        end
+
+        function testStopsWithoutNext(testCase)
+            app = mws.Application();
+            app.get("/api/v3/pet/{petId}",ApplicationTest.handler("first"));
+            app.get("/api/v3/pet/{petId}",ApplicationTest.handler("second"));
+
+            testCase.verifyRoute(app,"GET","/api/v3/pet/1","first");
+        end
+    end
+
+    methods (Access=private)
+        function verifyRoute(testCase,app,method,path,expected)
+            response = app.handleRequest(ApplicationTest.request(method,path));
+            testCase.verifyEqual(response.HttpCode,200,method + " " + path);
+            if isfield(response,'Body')
+                testCase.verifyEqual(string(native2unicode(response.Body,"UTF-8")),expected,method + " " + path);
+            end
+        end
+
+        function verifyNotFound(testCase,app,method,path)
+            response = app.handleRequest(ApplicationTest.request(method,path));
+            testCase.verifyEqual(response.HttpCode,404,method + " " + path);
+        end
+    end
+
+    methods (Static, Access=private)
+        function s = request(method,path)
+            s = struct( ...
+                Method=char(method), ...
+                Path=char(path), ...
+                Headers={{}}, ...
+                Body=uint8.empty);
+        end
+
+        function h = handler(name)
+            h = @(~,res,~) res.SendText(name);
+        end
+
+        function trace(res,next,name)
+            % Adds name to the X-Trace header and continues with the next
+            % route
+            t = ApplicationTest.traced(res);
+            if t == ""
+                res.Set("X-Trace",name);
+            else
+                res.Set("X-Trace",t + "," + name);
+            end
+            next();
+        end
+
+        function t = traced(res)
+            field = res.Headers.getFields("X-Trace");
+            if isempty(field)
+                t = "";
+            else
+                t = string(field.Value);
+            end
+        end
+    end
+end